@@ -64,4 +64,5 @@ dependencies {
     implementation("gradle.plugin.com.google.cloud.tools:jib-gradle-plugin:3.1.2")
     implementation("net.saliman:gradle-properties-plugin:1.5.1")
     implementation("io.micronaut.gradle:micronaut-gradle-plugin:1.5.4")
+    implementation("me.champeau.jmh:jmh-gradle-plugin:0.6.6")
 }
@@ -35,5 +35,7 @@ object Micronaut {
     const val netty = "io.micronaut:micronaut-http-server-netty"
     const val testJUnit5 = "io.micronaut.test:micronaut-test-junit5"
     const val httpClient = "io.micronaut:micronaut-http-client"
+    const val management = "io.micronaut:micronaut-management"
+    const val micrometer = "io.micronaut.micrometer:micronaut-micrometer-core"
     const val annotationApi = "javax.annotation:javax.annotation-api"
 }
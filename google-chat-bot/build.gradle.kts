@@ -29,14 +29,17 @@ import io.micronaut.gradle.MicronautRuntime
 import io.micronaut.gradle.MicronautTestRuntime
 import io.spine.internal.dependency.Flogger
 import io.spine.internal.dependency.Gcp
+import io.spine.internal.dependency.Jmh
 import io.spine.internal.dependency.Log4j2
 import io.spine.internal.dependency.Micronaut
 import io.spine.internal.dependency.Spine
+import net.ltgt.gradle.errorprone.errorprone
 
 plugins {
     id("com.github.johnrengelman.shadow")
     id("com.google.cloud.tools.jib")
     id("io.micronaut.application")
+    id("me.champeau.jmh")
     spine
 }
 
@@ -57,6 +60,8 @@ dependencies {
     implementation(Micronaut.annotationApi)
     implementation(Micronaut.validation)
     implementation(Micronaut.runtime)
+    implementation(Micronaut.management)
+    implementation(Micronaut.micrometer)
 
     runtimeOnly(Log4j2.core)
     runtimeOnly(Log4j2.api)
@@ -81,6 +86,53 @@ dependencies {
     testImplementation(Micronaut.testJUnit5)
     testImplementation(Micronaut.httpClient)
     testImplementation(Spine.Test.server)
+
+    jmhImplementation(Spine.Test.server)
+}
+
+// The results are stored as JSON so that the runs could be compared against each other
+// to spot the performance regressions, e.g. with the JMH Visualizer.
+//
+// A subset of the benchmarks is selected with the `jmh.includes` property, e.g.
+// `./gradlew jmh -Pjmh.includes=RepoBuildBenchmark`.
+jmh {
+    jmhVersion.set(Jmh.version)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    findProperty("jmh.includes")?.let {
+        includes.set(listOf(it.toString()))
+    }
+}
+
+// JMH sources and the code generated out of them are not subject to the Error Prone checks.
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.errorprone.isEnabled.set(false)
+}
+
+tasks.named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone.isEnabled.set(false)
+}
+
+// Runs the end-to-end polling benchmark against the fake Travis CI and Google Chat servers.
+//
+// Accepts the benchmark arguments through `--args`, e.g.
+// `./gradlew pollingBenchmark --args="--rounds=10 --chat-latency=PT0.2S"`.
+tasks.register<JavaExec>("pollingBenchmark") {
+    group = "benchmark"
+    description = "Measures the repository build polling throughput against fake servers."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("io.spine.chatbot.PollingBenchmark")
+}
+
+// Sends the synthetic Google Chat events to the incoming events endpoint at a target rate.
+//
+// Accepts the generator arguments through `--args`, e.g.
+// `./gradlew incomingEventsLoad --args="--rate=500 --duration=PT1M"`.
+tasks.register<JavaExec>("incomingEventsLoad") {
+    group = "benchmark"
+    description = "Measures the latency of handling the incoming Google Chat events under load."
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("io.spine.chatbot.IncomingEventsLoadGenerator")
 }
 
 val appClassName = "io.spine.chatbot.Application"
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import com.google.common.io.Resources;
+
+import java.io.IOException;
+
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Loads the payloads used by the benchmarks from the classpath resources.
+ */
+public final class BenchmarkResources {
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private BenchmarkResources() {
+    }
+
+    /**
+     * Reads the resource with the specified {@code name} as a UTF-8 string.
+     */
+    public static String resourceText(String name) {
+        try {
+            var resource = Resources.getResource(name);
+            return Resources.toString(resource, UTF_8);
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to read the resource `%s`.", name);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.spine.chatbot.BeanFactory.PubsubPushRequestDeserializer;
+import io.spine.pubsub.PubsubPushRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.chatbot.BenchmarkResources.resourceText;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures the time of deserializing a Pub/Sub push request carrying a Google Chat event
+ * by the {@link PubsubPushRequestDeserializer}.
+ *
+ * <p>The request duplicates the message ID and the publish time in both the
+ * {@code lowerCamelCase} and {@code snake_case} notations as the real push requests do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PubsubPushRequestDeserializerBenchmark {
+
+    private static final String PUSH_REQUEST = """
+            {
+              "message": {
+                "attributes": {"origin": "chat"},
+                "data": "%s",
+                "messageId": "450292511223766",
+                "message_id": "450292511223766",
+                "publishTime": "2020-06-21T20:48:25.908Z",
+                "publish_time": "2020-06-21T20:48:25.908Z"
+              },
+              "subscription": "projects/spine-chat-bot/subscriptions/chat-events"
+            }
+            """;
+
+    private ObjectMapper mapper;
+    private String pushRequest;
+
+    @Setup
+    public void setUp() {
+        var module = new SimpleModule()
+                .addDeserializer(PubsubPushRequest.class, new PubsubPushRequestDeserializer());
+        mapper = new ObjectMapper().registerModule(module);
+        var chatEvent = resourceText("chat/chat_event.json");
+        var data = Base64.getEncoder()
+                         .encodeToString(chatEvent.getBytes(UTF_8));
+        pushRequest = format(PUSH_REQUEST, data);
+    }
+
+    @Benchmark
+    public PubsubPushRequest deserialize() throws JsonProcessingException {
+        return mapper.readValue(pushRequest, PubsubPushRequest.class);
+    }
+}
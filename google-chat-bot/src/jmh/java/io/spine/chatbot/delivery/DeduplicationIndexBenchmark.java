@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.delivery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the throughput of the {@link DeduplicationIndex} under concurrent access.
+ *
+ * <p>The unbounded concurrent set serves as a baseline which never forgets the keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class DeduplicationIndexBenchmark {
+
+    @Param({"1000", "100000"})
+    private int distinctKeys;
+
+    private String[] keys;
+    private DeduplicationIndex<String> index;
+    private Set<String> baseline;
+
+    @Setup
+    public void setUp() {
+        keys = IntStream.range(0, distinctKeys)
+                        .mapToObj(i -> "SpineEventEngine/repo-" + i)
+                        .toArray(String[]::new);
+        index = DeduplicationIndex.newInstance(Duration.ofSeconds(30));
+        baseline = ConcurrentHashMap.newKeySet();
+    }
+
+    @Benchmark
+    public boolean markIfAbsent(Cursor cursor) {
+        return index.markIfAbsent(cursor.next(keys));
+    }
+
+    @Benchmark
+    public boolean concurrentSetBaseline(Cursor cursor) {
+        return baseline.add(cursor.next(keys));
+    }
+
+    /**
+     * Iterates over the benchmark keys independently in each thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+
+        String next(String[] keys) {
+            position = (position + 1) % keys.length;
+            return keys[position];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.github;
+
+import io.spine.chatbot.google.chat.GoogleChatIdentifiers;
+import io.spine.chatbot.google.chat.MessageId;
+import io.spine.chatbot.google.chat.SpaceId;
+import io.spine.chatbot.google.chat.ThreadId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.chatbot.github.Slugs.newSlug;
+
+/**
+ * Measures the time of creating the identifiers and encoding the slugs, which happens
+ * for every checked repository and every Chat message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentifiersBenchmark {
+
+    private String organization = "SpineEventEngine";
+    private String repository = "SpineEventEngine/base";
+    private String space = "spaces/qpojdwpiq1241";
+    private String thread = "spaces/qpojdwpiq1241/threads/k2JaC1Lz";
+    private String message = "spaces/qpojdwpiq1241/messages/k2JaC1Lz.k2JaC1Lz";
+    private Slug slug = newSlug(repository);
+
+    @Benchmark
+    public String slugEncodedValue() {
+        return slug.encodedValue();
+    }
+
+    @Benchmark
+    public OrganizationId organizationId() {
+        return GitHubIdentifiers.organization(organization);
+    }
+
+    @Benchmark
+    public RepositoryId repositoryId() {
+        return GitHubIdentifiers.repository(repository);
+    }
+
+    @Benchmark
+    public SpaceId spaceId() {
+        return GoogleChatIdentifiers.space(space);
+    }
+
+    @Benchmark
+    public ThreadId threadId() {
+        return GoogleChatIdentifiers.thread(thread);
+    }
+
+    @Benchmark
+    public MessageId messageId() {
+        return GoogleChatIdentifiers.message(message);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.api.client.json.gson.GsonFactory;
+import io.spine.chatbot.github.Slug;
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.github.repository.build.Commit;
+import io.spine.chatbot.google.chat.thread.ThreadResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.chatbot.github.Slugs.newSlug;
+import static io.spine.chatbot.google.chat.BuildStateUpdates.buildStateMessage;
+import static io.spine.chatbot.google.chat.BuildStateUpdates.buildStateMessageJson;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+import static io.spine.chatbot.net.MoreUrls.githubUrlFor;
+import static io.spine.chatbot.net.MoreUrls.travisBuildUrlFor;
+import static io.spine.chatbot.server.google.chat.ThreadResources.threadResource;
+
+/**
+ * Measures the time of preparing a build state update message sent to Google Chat.
+ *
+ * <p>Compares building the message model and serializing it with the JSON factory of
+ * the Chat API client against rendering the message body from
+ * the {@linkplain BuildStateTemplate pre-serialized template}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildStateUpdatesBenchmark {
+
+    private static final Slug REPOSITORY = newSlug("SpineEventEngine/base");
+
+    @Param({"FAILED", "PASSED", "CANCELED"})
+    private Build.State state;
+
+    @Param({"true", "false"})
+    private boolean inThread;
+
+    private Build build;
+    private ThreadResource thread;
+
+    @Setup
+    public void setUp() {
+        var commit = Commit
+                .newBuilder()
+                .setSha("7f9f0ae1ab1a5fd6bbe3b8e3a2e6b7d4b8c4c01e")
+                .setAuthoredBy("Yuri Sergiichuk")
+                .setMessage("Merge pull request #546 from SpineEventEngine/validation-messages"
+                                    + "\n\nImprove the validation error messages")
+                .setCommittedAt("2020-07-03T12:40:57Z")
+                .setCompareUrl(githubUrlFor(REPOSITORY))
+                .vBuild();
+        build = Build
+                .newBuilder()
+                .setRepository(REPOSITORY)
+                .setNumber("1417")
+                .setBranch("master")
+                .setCreatedBy("yuri-sergiichuk")
+                .setLastCommit(commit)
+                .setTravisCiUrl(travisBuildUrlFor(REPOSITORY, 176783209L))
+                .setSpace(space("spaces/qpojdwpiq1241"))
+                .setState(state)
+                .vBuild();
+        thread = inThread
+                 ? threadResource("spaces/qpojdwpiq1241/threads/k2JaC1Lz")
+                 : ThreadResource.getDefaultInstance();
+    }
+
+    @Benchmark
+    public byte[] serializedMessage() throws IOException {
+        return GsonFactory.getDefaultInstance()
+                          .toByteArray(buildStateMessage(build, thread));
+    }
+
+    @Benchmark
+    public byte[] renderedTemplate() {
+        return buildStateMessageJson(build, thread);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.github;
+
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.google.chat.SpaceId;
+import io.spine.chatbot.travis.RepoBranchBuildResponse;
+import io.spine.json.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.chatbot.BenchmarkResources.resourceText;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+import static io.spine.chatbot.server.github.RepoBuildProcess.buildFrom;
+
+/**
+ * Measures the time of converting a Travis CI branch build into a {@link Build} and
+ * of determining the build state change performed by the {@link RepoBuildProcess} on
+ * every repository check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepoBuildBenchmark {
+
+    private static final SpaceId SPACE = space("spaces/qpojdwpiq1241");
+    private static final Build.State[] STATES = {
+            Build.State.PASSED, Build.State.FAILED, Build.State.ERRORED, Build.State.CANCELED
+    };
+
+    @Param({"PASSED", "FAILED", "CANCELED"})
+    private Build.State previousState;
+
+    private RepoBranchBuildResponse branchBuild;
+    private Build previous;
+    private Build[] current;
+
+    @Setup
+    public void setUp() {
+        branchBuild = Json.fromJson(resourceText("travis/repo_branch_build.json"),
+                                    RepoBranchBuildResponse.class);
+        var build = buildFrom(branchBuild, SPACE);
+        previous = withState(build, previousState);
+        current = new Build[STATES.length];
+        for (var i = 0; i < STATES.length; i++) {
+            current[i] = withState(build, STATES[i]);
+        }
+    }
+
+    private static Build withState(Build build, Build.State state) {
+        return build.toBuilder()
+                    .setState(state)
+                    .vBuild();
+    }
+
+    @Benchmark
+    public Build buildFromBranchBuild() {
+        return buildFrom(branchBuild, SPACE);
+    }
+
+    /**
+     * Determines the change from the {@linkplain #previousState previous state} to each of
+     * the possible build states.
+     */
+    @Benchmark
+    public void stateChangeFrom(Blackhole blackhole) {
+        for (var build : current) {
+            blackhole.consume(build.stateChangeFrom(previous));
+        }
+    }
+}
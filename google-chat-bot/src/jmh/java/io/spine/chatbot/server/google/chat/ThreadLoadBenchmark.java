@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.google.chat;
+
+import io.spine.chatbot.google.chat.SpaceId;
+import io.spine.chatbot.google.chat.ThreadId;
+import io.spine.chatbot.google.chat.event.MessageCreated;
+import io.spine.chatbot.google.chat.event.ThreadCreated;
+import io.spine.server.BoundedContext;
+import io.spine.testing.server.blackbox.BlackBoxContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.message;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.thread;
+import static io.spine.chatbot.server.google.chat.ThreadResources.threadResource;
+
+/**
+ * Measures the time of loading a {@link ThreadAggregate} depending on the number of messages
+ * added to the thread and the snapshot trigger of the {@link ThreadRepository}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadLoadBenchmark {
+
+    private static final ThreadId THREAD = thread("SpineEventEngine/base");
+    private static final SpaceId SPACE = space("spaces/qpojdwpiq1241");
+
+    @Param({"10", "100", "1000"})
+    private int messageCount;
+
+    @Param({"20", "100", "1000000"})
+    private int snapshotTrigger;
+
+    private ThreadRepository repository;
+    private BlackBoxContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new ThreadRepository(snapshotTrigger);
+        var builder = BoundedContext
+                .singleTenant("ThreadLoadBenchmark")
+                .add(repository);
+        context = BlackBoxContext.from(builder);
+        context.receivesEvent(threadCreated());
+        for (var i = 0; i < messageCount; i++) {
+            context.receivesEvent(messageCreated(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Loads the thread aggregate from the storage through its repository, i.e. reads
+     * the latest snapshot and replays the events stored after it.
+     */
+    @Benchmark
+    public Optional<ThreadAggregate> loadThread() {
+        return repository.find(THREAD);
+    }
+
+    private static ThreadCreated threadCreated() {
+        return ThreadCreated
+                .newBuilder()
+                .setThread(THREAD)
+                .setSpace(SPACE)
+                .setResource(threadResource("spaces/qpojdwpiq1241/threads/qwdojp12"))
+                .vBuild();
+    }
+
+    private static MessageCreated messageCreated(int number) {
+        return MessageCreated
+                .newBuilder()
+                .setMessage(message("spaces/qpojdwpiq1241/messages/" + number))
+                .setSpace(SPACE)
+                .setThread(THREAD)
+                .vBuild();
+    }
+}
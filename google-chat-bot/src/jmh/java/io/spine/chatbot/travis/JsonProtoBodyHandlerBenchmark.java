@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.travis;
+
+import com.google.protobuf.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static io.spine.chatbot.BenchmarkResources.resourceText;
+import static io.spine.chatbot.travis.JsonProtoBodyHandler.jsonBodyHandler;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures the time of converting the Travis CI API responses into Protobuf messages
+ * by the {@link JsonProtoBodyHandler}.
+ *
+ * <p>The payloads mirror the real Travis CI responses including the hypermedia attributes
+ * which are not mapped to the message fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonProtoBodyHandlerBenchmark {
+
+    private final JsonProtoBodyHandler<RepoBranchBuildResponse> branchBuildHandler =
+            jsonBodyHandler(RepoBranchBuildResponse.class);
+    private final JsonProtoBodyHandler<RepositoriesResponse> repositoriesHandler =
+            jsonBodyHandler(RepositoriesResponse.class);
+
+    private byte[] branchBuild;
+    private byte[] repositories;
+
+    @Setup
+    public void setUp() {
+        branchBuild = resourceText("travis/repo_branch_build.json").getBytes(UTF_8);
+        repositories = resourceText("travis/repositories.json").getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public RepoBranchBuildResponse branchBuild() {
+        return handle(branchBuildHandler, branchBuild);
+    }
+
+    @Benchmark
+    public RepositoriesResponse repositories() {
+        return handle(repositoriesHandler, repositories);
+    }
+
+    /**
+     * Feeds the {@code body} to the subscriber of the handler the same way
+     * the {@link HttpClient} does.
+     */
+    private static <T extends Message> T handle(JsonProtoBodyHandler<T> handler, byte[] body) {
+        var subscriber = handler.apply(OkResponse.INSTANCE);
+        subscriber.onSubscribe(NoOpSubscription.INSTANCE);
+        subscriber.onNext(List.of(ByteBuffer.wrap(body)));
+        subscriber.onComplete();
+        return subscriber.getBody()
+                         .toCompletableFuture()
+                         .join();
+    }
+
+    /**
+     * A successful response without headers.
+     */
+    private enum OkResponse implements ResponseInfo {
+
+        INSTANCE;
+
+        private static final HttpHeaders NO_HEADERS = HttpHeaders.of(Map.of(), (k, v) -> true);
+
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return NO_HEADERS;
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+
+    /**
+     * A subscription which delivers the whole body at once and thus ignores the demand.
+     */
+    private enum NoOpSubscription implements Flow.Subscription {
+
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+            // The body is pushed in full regardless of the demand.
+        }
+
+        @Override
+        public void cancel() {
+            // Nothing to cancel.
+        }
+    }
+}
@@ -27,6 +27,7 @@
 package io.spine.chatbot;
 
 import io.micronaut.runtime.Micronaut;
+import io.spine.chatbot.google.secret.Secret;
 import io.spine.chatbot.server.Server;
 import io.spine.chatbot.server.github.GitHubContext;
 import io.spine.chatbot.server.google.chat.GoogleChatContext;
@@ -39,11 +40,19 @@ import io.spine.logging.Logging;
  *
  * <ul>
  *     <li>{@code /chat/incoming/event} — handles incoming events from the Google Chat space;
- *     <li>{@code /repositories/check} — triggers checking of the repositories build statuses.
+ *     <li>{@code /repositories/check} — triggers checking of the repositories build statuses;
+ *     <li>{@code /repositories/builds/{state}} — lists the repositories which builds are
+ *     currently in the state;
+ *     <li>{@code /delivery/stats} — reports the signal delivery statistics;
+ *     <li>{@code /events/compact} — archives and removes the outdated events.
  * </ul>
  *
+ * <p>The application metrics are available through the {@code /metrics} endpoint.
+ *
  * @see IncomingEventsController
  * @see RepositoriesController
+ * @see DeliveryController
+ * @see EventsController
  **/
 public final class Application implements Logging {
 
@@ -60,8 +69,11 @@ public final class Application implements Logging {
     /**
      * Starts the application.
      *
-     * <p>Performs bounded contexts initialization, starts Spine {@link Server} and runs
-     * the {@link Micronaut}.
+     * <p>Starts fetching the application secrets in parallel, performs bounded contexts
+     * initialization, starts Spine {@link Server} and runs the {@link Micronaut}.
+     *
+     * <p>A failure to prefetch the secrets does not stop the application, as each secret is
+     * fetched once again when it is first used. The failure is logged though.
      */
     public static void main(String[] args) {
         var application = new Application();
@@ -69,6 +81,14 @@ public final class Application implements Logging {
     }
 
     private void start() {
+        _config().log("Prefetching application secrets.");
+        Secret.prefetchAll()
+              .whenComplete((ignored, error) -> {
+                  if (error != null) {
+                      _error().withCause(error)
+                              .log("Cannot prefetch the application secrets.");
+                  }
+              });
         Server.withContexts(GitHubContext.newInstance(), GoogleChatContext.newInstance())
               .start();
         _config().log("Starting Micronaut application.");
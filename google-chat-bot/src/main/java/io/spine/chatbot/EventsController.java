@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+import io.spine.chatbot.storage.EventArchivingStorageFactory;
+import io.spine.json.Json;
+import io.spine.logging.Logging;
+
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * A REST controller handling the maintenance of the event stores.
+ */
+@Controller("/events")
+final class EventsController implements Logging {
+
+    /**
+     * Archives and removes the outdated events and reports the result as JSON.
+     *
+     * @see EventArchivingStorageFactory#compactEvents()
+     */
+    @Post(value = "/compact", produces = APPLICATION_JSON)
+    String compact() {
+        _info().log("Compacting the event stores.");
+        var factory = EventArchivingStorageFactory
+                .inEnvironment()
+                .orElseThrow(() -> newIllegalStateException(
+                        "The event stores of the environment cannot be compacted."
+                ));
+        var report = factory.compactEvents();
+        return Json.toJson(report);
+    }
+}
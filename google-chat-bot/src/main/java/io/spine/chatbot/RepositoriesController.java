@@ -26,20 +26,78 @@
 
 package io.spine.chatbot;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Post;
 import io.spine.chatbot.client.Client;
+import io.spine.chatbot.config.Settings;
+import io.spine.chatbot.delivery.DeduplicationIndex;
+import io.spine.chatbot.delivery.DeliverySettings;
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.organization.Organization;
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.github.repository.build.ReposByBuildState;
 import io.spine.chatbot.github.repository.build.command.CheckRepositoryBuild;
+import io.spine.json.Json;
 import io.spine.logging.Logging;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
+
 /**
  * A REST controller handling Repository commands.
+ *
+ * <p>Overlapping build check triggers, e.g. a retried scheduler job, produce distinct
+ * commands for the same repository. Such repeated checks within
+ * the {@linkplain DeliverySettings#deduplicationWindow() deduplication window} are skipped.
+ * A check which command failed to be posted is not remembered, so it can be retried
+ * right away.
+ *
+ * <p>The build check commands are posted concurrently by up to
+ * {@code CHAT_BOT_BUILD_CHECK_PARALLELISM} threads, 8 by default, so that fetching the builds
+ * of one repository from Travis CI does not hold the checks of the others. The threads are
+ * stopped once the application context is closed.
+ *
+ * <p>The time to query the repositories and to post each check command is recorded by
+ * the {@code chatbot.repositories.check.query} and {@code chatbot.repositories.check.post}
+ * timers respectively.
  */
 @Controller("/repositories")
 final class RepositoriesController implements Logging {
 
+    private static final String BUILD_CHECK_PARALLELISM = "CHAT_BOT_BUILD_CHECK_PARALLELISM";
+    private static final int DEFAULT_BUILD_CHECK_PARALLELISM = 8;
+
+    private final ExecutorService checks = Executors.newFixedThreadPool(
+            Settings.intValue(BUILD_CHECK_PARALLELISM, DEFAULT_BUILD_CHECK_PARALLELISM),
+            runnable -> {
+                var thread = new Thread(runnable, "repository-build-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final DeduplicationIndex<RepositoryId> recentChecks =
+            DeduplicationIndex.newInstance(DeliverySettings.deduplicationWindow());
+
+    private final Timer queries = Timer
+            .builder("chatbot.repositories.check.query")
+            .description("The time to query the repositories to check.")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(Metrics.globalRegistry);
+
+    private final Timer posts = Timer
+            .builder("chatbot.repositories.check.post")
+            .description("The time to post a repository build check command.")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(Metrics.globalRegistry);
+
     /**
      * Sends {@link CheckRepositoryBuild} commands to all repositories registered in the system.
      */
@@ -47,20 +105,72 @@ final class RepositoriesController implements Logging {
     String checkBuildStatuses() {
         _debug().log("Checking repositories build statuses.");
         try (var client = Client.newInstance()) {
+            var posted = new ArrayList<CompletableFuture<Void>>();
+            var sample = Timer.start();
             var organizations = client.listOrganizations();
             for (var org : organizations) {
                 var repos = client.listOrgRepos(org.getId());
-                repos.forEach(repo -> checkBuildStatus(client, repo, org));
+                for (var repo : repos) {
+                    var check = CompletableFuture.runAsync(
+                            () -> checkBuildStatus(client, repo, org), checks
+                    );
+                    posted.add(check);
+                }
             }
+            sample.stop(queries);
+            CompletableFuture.allOf(posted.toArray(new CompletableFuture<?>[0]))
+                             .join();
             return "success";
         }
     }
 
+    /**
+     * Lists the repositories which builds are currently in the {@code state} as JSON.
+     *
+     * <p>The repositories are ordered from the most recently checked. The order is only
+     * accurate up to {@code CHAT_BOT_LAST_CHECKED_INTERVAL} (one hour by default).
+     *
+     * @see Client#listReposByBuildState(Build.State)
+     */
+    @Get(value = "/builds/{state}", produces = APPLICATION_JSON)
+    String reposByBuildState(Build.State state) {
+        _debug().log("Listing repositories with the build state `%s`.", state);
+        try (var client = Client.newInstance()) {
+            var repos = client.listReposByBuildState(state);
+            var result = ReposByBuildState
+                    .newBuilder()
+                    .setState(state)
+                    .addAllRepository(repos)
+                    .vBuild();
+            return Json.toJson(result);
+        }
+    }
+
+    /**
+     * Stops the build check threads once the controller is destroyed.
+     *
+     * <p>The checks already started are completed.
+     */
+    @PreDestroy
+    void stopChecks() {
+        checks.shutdown();
+    }
+
     private void checkBuildStatus(Client client, RepositoryId repo, Organization org) {
+        if (!recentChecks.markIfAbsent(repo)) {
+            _debug().log("The build of the repository `%s` was checked within the last `%s`.",
+                         repo.getValue(), recentChecks.window());
+            return;
+        }
         _debug().log("Sending `%s` command for the repository `%s`.",
                      CheckRepositoryBuild.class.getSimpleName(), repo.getValue());
         var checkRepositoryBuild = checkRepoBuildCommand(repo, org);
-        client.post(checkRepositoryBuild);
+        try {
+            posts.record(() -> client.post(checkRepositoryBuild));
+        } catch (RuntimeException e) {
+            recentChecks.remove(repo);
+            throw e;
+        }
     }
 
     private static CheckRepositoryBuild checkRepoBuildCommand(RepositoryId repo, Organization org) {
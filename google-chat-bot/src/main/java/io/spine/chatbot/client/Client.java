@@ -34,14 +34,20 @@ import io.spine.chatbot.github.OrganizationId;
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.organization.Organization;
 import io.spine.chatbot.github.organization.OrganizationRepositories;
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.github.repository.build.RepositoryBuild;
+import io.spine.chatbot.google.chat.ThreadId;
+import io.spine.chatbot.google.chat.thread.ThreadMessage;
 import io.spine.chatbot.server.Server;
 import io.spine.client.CommandRequest;
 import io.spine.client.Subscription;
 
 import java.util.concurrent.CountDownLatch;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.spine.util.Exceptions.newIllegalStateException;
 
 /**
@@ -94,6 +100,61 @@ public final class Client implements AutoCloseable {
         return ImmutableList.copyOf(repos.getRepositoryList());
     }
 
+    /**
+     * Returns the repositories which builds are currently in the {@code state}.
+     *
+     * <p>The repositories are queried by the indexed {@code current_state} column and are
+     * ordered from the most recently checked.
+     *
+     * <p>The order is approximate. A check which finds the build unchanged refreshes
+     * the {@code when_last_checked} time at most once per {@code CHAT_BOT_LAST_CHECKED_INTERVAL}
+     * (one hour by default), so the repositories checked within the same interval may come
+     * in any order relative to each other.
+     */
+    public ImmutableList<RepositoryId> listReposByBuildState(Build.State state) {
+        checkNotNull(state);
+        var query =
+                RepositoryBuild.query()
+                               .currentState().is(state)
+                               .sortDescendingBy(RepositoryBuild.Column.whenLastChecked())
+                               .build();
+        var builds = client.asGuest()
+                           .run(query);
+        return builds.stream()
+                     .map(RepositoryBuild::getRepository)
+                     .collect(toImmutableList());
+    }
+
+    /**
+     * Returns a page of messages posted to the {@code thread}.
+     *
+     * <p>The messages are ordered by their number within the thread. The page starts
+     * with the message following the message with the {@code afterNumber}. To read the thread
+     * from the beginning, pass {@code 0}.
+     *
+     * @param thread
+     *         the thread to read messages of
+     * @param afterNumber
+     *         the number of the last message of the previous page
+     * @param pageSize
+     *         the maximum number of messages to return
+     */
+    public ImmutableList<ThreadMessage>
+    listThreadMessages(ThreadId thread, int afterNumber, int pageSize) {
+        checkNotNull(thread);
+        checkArgument(afterNumber >= 0, "The message number must not be negative.");
+        checkArgument(pageSize > 0, "The page size must be positive.");
+        var query =
+                ThreadMessage.query()
+                             .thread().is(thread)
+                             .number().isGreaterThan(afterNumber)
+                             .sortAscendingBy(ThreadMessage.Column.number())
+                             .limit(pageSize)
+                             .build();
+        return client.asGuest()
+                     .run(query);
+    }
+
     @Override
     public void close() {
         this.client.close();
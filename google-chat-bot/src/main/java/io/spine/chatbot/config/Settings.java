@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.config;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalArgumentException;
+import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
+
+/**
+ * Provides access to the ChatBot application settings.
+ *
+ * <p>A setting is looked up among the system properties first and then among
+ * the environment variables. This way the settings supplied to the deployed application
+ * through the environment can be overridden locally or in tests.
+ */
+public final class Settings {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private Settings() {
+    }
+
+    /**
+     * Returns the value of the setting with the specified {@code name}, if set.
+     */
+    @SuppressWarnings({"AccessOfSystemProperties", "CallToSystemGetenv"} /* By design. */)
+    public static Optional<String> value(String name) {
+        checkNotEmptyOrBlank(name);
+        var property = System.getProperty(name);
+        if (property != null && !property.isBlank()) {
+            return Optional.of(property.trim());
+        }
+        var variable = System.getenv(name);
+        if (variable != null && !variable.isBlank()) {
+            return Optional.of(variable.trim());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the string value of the setting or the {@code defaultValue} if the setting
+     * is not set.
+     */
+    public static String stringValue(String name, String defaultValue) {
+        checkNotNull(defaultValue);
+        return value(name).orElse(defaultValue);
+    }
+
+    /**
+     * Returns the integer value of the setting or the {@code defaultValue} if the setting
+     * is not set.
+     *
+     * @throws IllegalArgumentException
+     *         if the setting value is not an integer
+     */
+    public static int intValue(String name, int defaultValue) {
+        var value = value(name);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.get());
+        } catch (NumberFormatException e) {
+            throw newIllegalArgumentException(
+                    e, "The setting `%s` value `%s` is not an integer.", name, value.get()
+            );
+        }
+    }
+
+    /**
+     * Returns the boolean value of the setting or the {@code defaultValue} if the setting
+     * is not set.
+     *
+     * <p>The value is expected to be either {@code true} or {@code false}, ignoring the case.
+     *
+     * @throws IllegalArgumentException
+     *         if the setting value is not a boolean
+     */
+    public static boolean booleanValue(String name, boolean defaultValue) {
+        var value = value(name);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        var text = value.get();
+        if ("true".equalsIgnoreCase(text)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(text)) {
+            return false;
+        }
+        throw newIllegalArgumentException(
+                "The setting `%s` value `%s` is not a boolean.", name, text
+        );
+    }
+
+    /**
+     * Returns the duration value of the setting or the {@code defaultValue} if the setting
+     * is not set.
+     *
+     * <p>The value is expected in the ISO-8601 duration format, e.g. {@code PT30S}.
+     *
+     * @throws IllegalArgumentException
+     *         if the setting value is not a valid ISO-8601 duration
+     */
+    public static Duration durationValue(String name, Duration defaultValue) {
+        checkNotNull(defaultValue);
+        var value = value(name);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Duration.parse(value.get());
+        } catch (DateTimeParseException e) {
+            throw newIllegalArgumentException(
+                    e, "The setting `%s` value `%s` is not an ISO-8601 duration.",
+                    name, value.get()
+            );
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.delivery;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An in-memory index of the recently seen keys used to detect duplicate signals.
+ *
+ * <p>The index keeps the keys for the configured time {@linkplain #window() window}. The keys
+ * are distributed across a number of independently locked shards by their hash codes. Within
+ * a shard, the keys are grouped into time buckets, so the expired keys are dropped
+ * bucket-by-bucket without scanning them.
+ *
+ * <p>Since the expiration happens per bucket, a key is remembered for at least
+ * {@code (BUCKETS_PER_WINDOW - 1) / BUCKETS_PER_WINDOW} of the window and at most
+ * for the whole window.
+ *
+ * @param <K>
+ *         the type of the indexed keys
+ */
+public final class DeduplicationIndex<K> {
+
+    private static final int BUCKETS_PER_WINDOW = 8;
+    private static final int DEFAULT_SHARDS = 16;
+
+    private final Duration window;
+    private final long bucketNanos;
+    private final Ticker ticker;
+    private final ImmutableList<Shard<K>> shards;
+
+    @VisibleForTesting
+    DeduplicationIndex(Duration window, int shards, Ticker ticker) {
+        checkNotNull(window);
+        checkArgument(!window.isNegative(), "The deduplication window must not be negative.");
+        checkArgument(shards > 0, "The number of shards must be positive.");
+        this.window = window;
+        this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS_PER_WINDOW);
+        this.ticker = checkNotNull(ticker);
+        this.shards = IntStream.range(0, shards)
+                               .mapToObj(i -> new Shard<K>())
+                               .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Creates a new index that remembers the keys for the specified {@code window}.
+     *
+     * <p>The zero window creates an index that does not remember any keys.
+     */
+    public static <K> DeduplicationIndex<K> newInstance(Duration window) {
+        return new DeduplicationIndex<>(window, DEFAULT_SHARDS, Ticker.systemTicker());
+    }
+
+    /**
+     * Remembers the {@code key} unless it was seen within the window.
+     *
+     * @return {@code true} if the key was not seen within the window and now is remembered,
+     *         {@code false} if the key is a duplicate
+     */
+    public boolean markIfAbsent(K key) {
+        checkNotNull(key);
+        if (window.isZero()) {
+            return true;
+        }
+        var bucket = currentBucket();
+        return shardFor(key).markIfAbsent(key, bucket, bucket - BUCKETS_PER_WINDOW);
+    }
+
+    /**
+     * Determines whether the {@code key} was seen within the window.
+     */
+    public boolean contains(K key) {
+        checkNotNull(key);
+        if (window.isZero()) {
+            return false;
+        }
+        var bucket = currentBucket();
+        return shardFor(key).contains(key, bucket - BUCKETS_PER_WINDOW);
+    }
+
+    /**
+     * Forgets the {@code key}, so it is no longer considered a duplicate.
+     *
+     * <p>Used to release the key of a signal that was not processed after all.
+     */
+    public void remove(K key) {
+        checkNotNull(key);
+        shardFor(key).remove(key);
+    }
+
+    /**
+     * Returns the time window for which the keys are remembered.
+     */
+    public Duration window() {
+        return window;
+    }
+
+    private long currentBucket() {
+        return ticker.read() / bucketNanos;
+    }
+
+    private Shard<K> shardFor(K key) {
+        var index = Math.floorMod(key.hashCode(), shards.size());
+        return shards.get(index);
+    }
+
+    /**
+     * A shard of the index holding the keys grouped into time buckets.
+     *
+     * <p>The buckets are ordered from the oldest to the newest.
+     */
+    private static final class Shard<K> {
+
+        private final Deque<Bucket<K>> buckets = new ArrayDeque<>();
+
+        private synchronized boolean markIfAbsent(K key, long bucket, long expiredBucket) {
+            evictUpTo(expiredBucket);
+            if (containsLive(key)) {
+                return false;
+            }
+            bucket(bucket).keys()
+                          .add(key);
+            return true;
+        }
+
+        private synchronized boolean contains(K key, long expiredBucket) {
+            evictUpTo(expiredBucket);
+            return containsLive(key);
+        }
+
+        private synchronized void remove(K key) {
+            for (var bucket : buckets) {
+                bucket.keys()
+                      .remove(key);
+            }
+        }
+
+        private boolean containsLive(K key) {
+            for (var bucket : buckets) {
+                if (bucket.keys()
+                          .contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void evictUpTo(long expiredBucket) {
+            while (!buckets.isEmpty() && buckets.peekFirst()
+                                                .index() <= expiredBucket) {
+                buckets.pollFirst();
+            }
+        }
+
+        private Bucket<K> bucket(long index) {
+            var newest = buckets.peekLast();
+            if (newest != null && newest.index() == index) {
+                return newest;
+            }
+            var bucket = new Bucket<K>(index, new HashSet<>());
+            buckets.addLast(bucket);
+            return bucket;
+        }
+    }
+
+    /**
+     * A set of keys seen within a single time bucket.
+     */
+    private record Bucket<K>(long index, Set<K> keys) {
+    }
+}
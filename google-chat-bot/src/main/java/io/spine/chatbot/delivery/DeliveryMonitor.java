@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.delivery;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Durations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.spine.base.Time;
+import io.spine.server.ServerEnvironment;
+import io.spine.server.delivery.ShardIndex;
+import io.spine.server.delivery.ShardedRecord;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Collects statistics of the signal delivery per shard.
+ *
+ * <p>The statistics are published as Micrometer meters tagged with the shard index and
+ * the ID of the server node:
+ *
+ * <ul>
+ *     <li>{@code chatbot.delivery.delivered} — the number of delivered messages;
+ *     <li>{@code chatbot.delivery.drain} — the duration of a shard drain;
+ *     <li>{@code chatbot.delivery.inbox.depth} — the number of messages the node has been
+ *     notified of, but not yet delivered.
+ * </ul>
+ *
+ * <p>The meters are registered in the {@linkplain Metrics#globalRegistry global registry}.
+ * The same statistics are available as a {@link DeliveryStatsView} snapshot.
+ *
+ * <p>The time a message waits in the inbox is not measured. The node is notified of
+ * a message synchronously with writing it to the inbox, while the delivery does not report
+ * the individual messages it starts to deliver.
+ */
+public final class DeliveryMonitor {
+
+    private static final DeliveryMonitor instance = new DeliveryMonitor(Metrics.globalRegistry);
+
+    private final MeterRegistry registry;
+    private final Map<Integer, ShardMeters> shards = new ConcurrentHashMap<>();
+
+    private DeliveryMonitor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Returns the delivery monitor of the current server node.
+     */
+    public static DeliveryMonitor instance() {
+        return instance;
+    }
+
+    /**
+     * Acknowledges that the {@code message} was put to the inbox and the node is about to
+     * deliver it.
+     */
+    void onNotified(ShardedRecord message) {
+        checkNotNull(message);
+        meters(message.shardIndex()).notified();
+    }
+
+    /**
+     * Acknowledges that the {@code shard} was drained delivering the {@code deliveredCount}
+     * messages within the {@code drainDuration}.
+     */
+    void onDrained(ShardIndex shard, int deliveredCount, Duration drainDuration) {
+        checkNotNull(shard);
+        checkNotNull(drainDuration);
+        meters(shard).drained(deliveredCount, drainDuration);
+    }
+
+    /**
+     * Returns the snapshot of the delivery statistics collected so far.
+     */
+    public DeliveryStatsView stats() {
+        var shardStats = shards
+                .values()
+                .stream()
+                .map(ShardMeters::stats)
+                .sorted(Comparator.comparingInt(ShardDeliveryStats::getIndex))
+                .collect(ImmutableList.toImmutableList());
+        return DeliveryStatsView
+                .newBuilder()
+                .setNodeId(nodeId())
+                .addAllShard(shardStats)
+                .vBuild();
+    }
+
+    private ShardMeters meters(ShardIndex shard) {
+        return shards.computeIfAbsent(shard.getIndex(), index -> new ShardMeters(shard, registry));
+    }
+
+    private static String nodeId() {
+        return ServerEnvironment
+                .instance()
+                .nodeId()
+                .getValue();
+    }
+
+    /**
+     * Meters of a single shard.
+     */
+    private static final class ShardMeters {
+
+        private final ShardIndex shard;
+        private final Counter delivered;
+        private final Timer drain;
+
+        private long deliveredTotal;
+        private int lastDeliveredCount;
+        private long inboxDepth;
+        private Duration lastDrain = Duration.ZERO;
+        private Duration maxDrain = Duration.ZERO;
+        private Timestamp whenLastDrained = Timestamp.getDefaultInstance();
+
+        private ShardMeters(ShardIndex shard, MeterRegistry registry) {
+            this.shard = shard;
+            var tags = Tags.of("shard", String.valueOf(shard.getIndex()),
+                               "node", nodeId());
+            this.delivered = Counter
+                    .builder("chatbot.delivery.delivered")
+                    .description("The number of messages delivered from the shard.")
+                    .tags(tags)
+                    .register(registry);
+            this.drain = Timer
+                    .builder("chatbot.delivery.drain")
+                    .description("The duration of the shard drain.")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("chatbot.delivery.inbox.depth", this, ShardMeters::inboxDepth)
+                 .description("The number of messages pending delivery.")
+                 .tags(tags)
+                 .register(registry);
+        }
+
+        private synchronized void notified() {
+            inboxDepth++;
+        }
+
+        private synchronized void drained(int deliveredCount, Duration drainDuration) {
+            deliveredTotal += deliveredCount;
+            lastDeliveredCount = deliveredCount;
+            inboxDepth = Math.max(0, inboxDepth - deliveredCount);
+            lastDrain = drainDuration;
+            if (drainDuration.compareTo(maxDrain) > 0) {
+                maxDrain = drainDuration;
+            }
+            whenLastDrained = Time.currentTime();
+            delivered.increment(deliveredCount);
+            drain.record(drainDuration.toNanos(), NANOSECONDS);
+        }
+
+        private synchronized double inboxDepth() {
+            return inboxDepth;
+        }
+
+        private synchronized ShardDeliveryStats stats() {
+            return ShardDeliveryStats
+                    .newBuilder()
+                    .setIndex(shard.getIndex())
+                    .setOfTotal(shard.getOfTotal())
+                    .setDeliveredTotal(deliveredTotal)
+                    .setLastDeliveredCount(lastDeliveredCount)
+                    .setLastDrainDuration(Durations.fromNanos(lastDrain.toNanos()))
+                    .setMaxDrainDuration(Durations.fromNanos(maxDrain.toNanos()))
+                    .setInboxDepth(inboxDepth)
+                    .setWhenLastDrained(whenLastDrained)
+                    .vBuild();
+        }
+    }
+}
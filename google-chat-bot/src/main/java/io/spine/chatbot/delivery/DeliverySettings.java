@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.delivery;
+
+import com.google.protobuf.util.Durations;
+import io.spine.chatbot.config.Settings;
+
+import java.time.Duration;
+
+/**
+ * Settings of the signal delivery.
+ */
+public final class DeliverySettings {
+
+    /**
+     * The name of the setting that configures the deduplication window.
+     */
+    static final String DEDUPLICATION_WINDOW = "CHAT_BOT_DEDUPLICATION_WINDOW";
+
+    private static final Duration DEFAULT_DEDUPLICATION_WINDOW = Duration.ofSeconds(30);
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private DeliverySettings() {
+    }
+
+    /**
+     * Returns the time window within which the repeated signals are considered duplicates.
+     *
+     * <p>Is configured through the {@code CHAT_BOT_DEDUPLICATION_WINDOW} setting using
+     * the ISO-8601 duration format. Defaults to 30 seconds. The zero window disables
+     * the deduplication.
+     */
+    public static Duration deduplicationWindow() {
+        return Settings.durationValue(DEDUPLICATION_WINDOW, DEFAULT_DEDUPLICATION_WINDOW);
+    }
+
+    /**
+     * Returns the {@linkplain #deduplicationWindow() deduplication window} as a Protobuf
+     * duration.
+     */
+    static com.google.protobuf.Duration deduplicationWindowProto() {
+        var window = deduplicationWindow();
+        return Durations.fromNanos(window.toNanos());
+    }
+}
@@ -54,7 +54,8 @@ final class DistributedDelivery {
      * Creates a new Datastore-based delivery using the supplied Datastore {@code storageFactory}.
      *
      * <p>Assigns the targets uniformly across shards. Configures the inbox storage
-     * to be single-tenant.
+     * to be single-tenant and uses the {@linkplain DeliverySettings#deduplicationWindow()
+     * configured} deduplication window.
      */
     public static Delivery instance(DatastoreStorageFactory storageFactory) {
         var workRegistry = new DsShardedWorkRegistry(
@@ -66,6 +67,7 @@ final class DistributedDelivery {
                 .setStrategy(UniformAcrossAllShards.forNumber(NUMBER_OF_SHARDS))
                 .setWorkRegistry(workRegistry)
                 .setInboxStorage(inboxStorage)
+                .setDeduplicationWindow(DeliverySettings.deduplicationWindowProto())
                 .build();
         return delivery;
     }
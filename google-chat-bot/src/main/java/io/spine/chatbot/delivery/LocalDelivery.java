@@ -26,7 +26,6 @@
 
 package io.spine.chatbot.delivery;
 
-import com.google.protobuf.util.Durations;
 import io.spine.server.delivery.Delivery;
 import io.spine.server.delivery.UniformAcrossAllShards;
 import io.spine.server.delivery.memory.InMemoryShardedWorkRegistry;
@@ -48,6 +47,9 @@ public final class LocalDelivery {
 
     /**
      * Creates a new instance of an in-memory local delivery.
+     *
+     * <p>Uses the {@linkplain DeliverySettings#deduplicationWindow() configured}
+     * deduplication window.
      */
     private static Delivery delivery() {
         var storages = InMemoryStorageFactory.newInstance();
@@ -57,7 +59,7 @@ public final class LocalDelivery {
                 .setCatchUpStorage(storages.createCatchUpStorage(false))
                 .setWorkRegistry(new InMemoryShardedWorkRegistry())
                 .setStrategy(UniformAcrossAllShards.singleShard())
-                .setDeduplicationWindow(Durations.fromSeconds(0))
+                .setDeduplicationWindow(DeliverySettings.deduplicationWindowProto())
                 .build();
         delivery.subscribe(ShardDelivery::deliver);
         return delivery;
@@ -26,6 +26,8 @@
 
 package io.spine.chatbot.delivery;
 
+import com.google.common.base.Stopwatch;
+import io.spine.chatbot.storage.WriteBehindStorageFactory;
 import io.spine.logging.Logging;
 import io.spine.server.ServerEnvironment;
 import io.spine.server.delivery.DeliveryStats;
@@ -40,6 +42,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <p>Wraps the {@link io.spine.server.delivery.Delivery#deliverMessagesFrom(ShardIndex)
  * Delivery#deliverMessagesFrom} with server environment-specific logging and provides helpers
  * that unifies the usage of the delivery.
+ *
+ * <p>Reports the delivery statistics to the {@link DeliveryMonitor}.
+ *
+ * <p>Once the shard is drained, {@linkplain WriteBehindStorageFactory#flushEnvironmentStorage()
+ * flushes} the writes buffered during the delivery pass. By then, the delivered messages are
+ * already removed from the inbox, so a failure to flush is not propagated: failing the delivery
+ * would not make the messages delivered again. The records that failed to be written stay
+ * buffered and are written by the next flush.
  */
 record ShardDelivery(ShardIndex shard) implements Logging {
 
@@ -48,6 +58,8 @@ record ShardDelivery(ShardIndex shard) implements Logging {
      */
     static void deliver(ShardedRecord message) {
         checkNotNull(message);
+        DeliveryMonitor.instance()
+                       .onNotified(message);
         deliverFrom(message.shardIndex());
     }
 
@@ -67,15 +79,34 @@ record ShardDelivery(ShardIndex shard) implements Logging {
         var indexValue = shard.getIndex();
         _trace().log("Delivering messages from the shard with index `%d`. NodeId=%s.",
                      indexValue, nodeId);
+        var stopwatch = Stopwatch.createStarted();
         var stats = server.delivery()
                           .deliverMessagesFrom(shard);
+        flushBufferedWrites();
+        var drainDuration = stopwatch.elapsed();
+        var deliveredCount = 0;
         if (stats.isPresent()) {
             DeliveryStats deliveryStats = stats.get();
-            _trace().log("`%d` messages delivered from the shard with index `%s`. NodeId=%s.",
-                         deliveryStats.deliveredCount(), indexValue, nodeId);
+            deliveredCount = deliveryStats.deliveredCount();
+            _trace().log("`%d` messages delivered from the shard with index `%s` in %d ms. " +
+                                 "NodeId=%s.",
+                         deliveredCount, indexValue, drainDuration.toMillis(), nodeId);
         } else {
             _trace().log("No messages delivered from the shard with index `%d`. NodeId=%s.",
                          indexValue, nodeId);
         }
+        DeliveryMonitor.instance()
+                       .onDrained(shard, deliveredCount, drainDuration);
+    }
+
+    private void flushBufferedWrites() {
+        try {
+            WriteBehindStorageFactory.flushEnvironmentStorage();
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to flush the writes buffered while delivering messages " +
+                                 "from the shard with index `%d`. Retrying on the next flush.",
+                         shard.getIndex());
+        }
     }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.api.services.chat.v1.HangoutsChat;
+import com.google.api.services.chat.v1.model.Message;
+import com.google.auth.Credentials;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.spine.chatbot.config.Settings;
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.google.chat.thread.ThreadResource;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.chatbot.google.chat.BuildStateUpdates.buildStateMessageJson;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * Google Chat API client which sends messages without blocking the calling thread.
+ *
+ * <p>The asynchronous requests are executed by a {@link HttpClient}. The message bodies are
+ * rendered from the {@linkplain BuildStateTemplate pre-serialized templates}. The messages are
+ * {@linkplain SendScheduler scheduled} within the Chat API write quotas, failures first.
+ * At most {@code CHAT_BOT_CHAT_SPACE_CONCURRENCY} messages, 10 by default, are in flight for
+ * a single space. The rest of the messages to the space wait for their turn. The total time
+ * to send a message is recorded by the {@code chatbot.chat.send} timer. A response to a message
+ * is awaited for the configured request timeout at most.
+ *
+ * <p>The synchronous requests are delegated to {@link GoogleChat}.
+ */
+final class AsyncGoogleChat implements GoogleChatClient, Logging {
+
+    private static final String SPACE_CONCURRENCY = "CHAT_BOT_CHAT_SPACE_CONCURRENCY";
+    private static final int DEFAULT_SPACE_CONCURRENCY = 10;
+
+    private final GoogleChat chat;
+    private final Credentials credentials;
+    private final HttpClient http;
+    private final Duration requestTimeout;
+    private final SpaceConcurrencyLimit limit;
+    private final SendScheduler scheduler;
+    private final Timer sends = Timer
+            .builder("chatbot.chat.send")
+            .description("The time to send a Chat message including the wait for the quota.")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(Metrics.globalRegistry);
+
+    AsyncGoogleChat(HangoutsChat chat,
+                    Credentials credentials,
+                    HttpClient http,
+                    Duration requestTimeout,
+                    SendScheduler scheduler) {
+        this.chat = new GoogleChat(checkNotNull(chat));
+        this.credentials = checkNotNull(credentials);
+        this.http = checkNotNull(http);
+        this.requestTimeout = checkNotNull(requestTimeout);
+        this.scheduler = checkNotNull(scheduler);
+        this.limit = new SpaceConcurrencyLimit(
+                Settings.intValue(SPACE_CONCURRENCY, DEFAULT_SPACE_CONCURRENCY)
+        );
+    }
+
+    @Override
+    public BuildStateUpdate sendBuildStateUpdate(Build build, ThreadResource thread) {
+        return chat.sendBuildStateUpdate(build, thread);
+    }
+
+    @Override
+    public CompletableFuture<BuildStateUpdate>
+    sendBuildStateUpdateAsync(Build build, ThreadResource thread) {
+        checkNotNull(build);
+        checkNotNull(thread);
+        var repo = build.getRepository();
+        _trace().log("Sending state update message for the repository `%s`.", repo);
+        var body = buildStateMessageJson(build, thread);
+        var space = build.getSpace();
+        var priority = SendScheduler.Priority.of(build);
+        var sample = Timer.start();
+        return scheduler
+                .submit(space, priority,
+                        () -> limit.submit(space, () -> sendMessage(space, body)))
+                .whenComplete((sentMessage, throwable) -> sample.stop(sends))
+                .thenApply(sentMessage -> GoogleChat.sentUpdate(build, sentMessage));
+    }
+
+    private CompletableFuture<Message> sendMessage(SpaceId space, byte[] body) {
+        HttpRequest request;
+        try {
+            request = createRequest(space, body);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(newIllegalStateException(
+                    e, "Unable to prepare a message to the space `%s`.", space
+            ));
+        }
+        return http.sendAsync(request, BodyHandlers.ofInputStream())
+                   .thenApply(response -> parse(space, response));
+    }
+
+    private HttpRequest createRequest(SpaceId space, byte[] body) throws IOException {
+        var uri = chat.chat()
+                      .spaces()
+                      .messages()
+                      .create(space.getValue(), new Message())
+                      .buildHttpRequestUrl()
+                      .toURI();
+        var request = HttpRequest
+                .newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .POST(BodyPublishers.ofByteArray(body));
+        authorize(request, uri);
+        return request.build();
+    }
+
+    private void authorize(HttpRequest.Builder request, URI uri) throws IOException {
+        var metadata = credentials.getRequestMetadata(uri);
+        metadata.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+    }
+
+    private Message parse(SpaceId space, HttpResponse<InputStream> response) {
+        try (var body = response.body()) {
+            var status = response.statusCode();
+            if (status >= 300) {
+                throw newIllegalStateException(
+                        "Unable to send message to the space `%s`. The response status is `%d`.",
+                        space, status
+                );
+            }
+            return chat.chat()
+                       .getJsonFactory()
+                       .fromInputStream(body, Message.class);
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to read the message sent to the space `%s`.", space
+            );
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import io.spine.chatbot.github.Slug;
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.github.repository.build.Commit;
+import io.spine.chatbot.google.chat.thread.ThreadResource;
+import io.spine.net.Url;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.chatbot.google.chat.BuildStateUpdates.stateMessage;
+import static io.spine.protobuf.Messages.isNotDefault;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A pre-serialized JSON body of the {@link Build} update message.
+ *
+ * <p>The template is created once per build state and thread presence by serializing
+ * a {@linkplain BuildStateUpdates#stateMessage message} in which the variable values are
+ * replaced with placeholders. Rendering the template only splices the escaped values between
+ * the static JSON chunks, so neither the card object graph is built nor the reflective
+ * serialization is performed for each message.
+ */
+final class BuildStateTemplate {
+
+    private static final String PLACEHOLDER_START = "{{";
+    private static final String PLACEHOLDER_END = "}}";
+
+    private static final Map<Build.State, BuildStateTemplate> NEW_THREAD = templates(false);
+    private static final Map<Build.State, BuildStateTemplate> IN_THREAD = templates(true);
+
+    /**
+     * The static JSON chunks, one more than the {@link #fields}.
+     */
+    private final ImmutableList<String> chunks;
+    private final ImmutableList<Field> fields;
+    private final int length;
+
+    private BuildStateTemplate(ImmutableList<String> chunks, ImmutableList<Field> fields) {
+        this.chunks = chunks;
+        this.fields = fields;
+        this.length = chunks.stream()
+                            .mapToInt(String::length)
+                            .sum();
+    }
+
+    /**
+     * Renders the JSON body of the update message for the {@code build} sent to
+     * the {@code thread}.
+     *
+     * <p>The {@code build} is expected to be validated by the caller.
+     *
+     * @see BuildStateUpdates#buildStateMessage(Build, ThreadResource)
+     */
+    static byte[] render(Build build, ThreadResource thread) {
+        checkNotNull(build);
+        checkNotNull(thread);
+        var templates = isNotDefault(thread) ? IN_THREAD : NEW_THREAD;
+        var template = templates.get(build.getState());
+        if (template == null) {
+            throw newIllegalStateException("Unsupported build state `%s`.", build.getState());
+        }
+        return template.renderWith(build, thread);
+    }
+
+    private byte[] renderWith(Build build, ThreadResource thread) {
+        var values = new Values(build, thread);
+        var json = new StringBuilder(length + 512);
+        for (var i = 0; i < fields.size(); i++) {
+            json.append(chunks.get(i));
+            var value = fields.get(i).value.apply(values);
+            appendEscaped(json, value);
+        }
+        json.append(chunks.get(fields.size()));
+        return json.toString()
+                   .getBytes(UTF_8);
+    }
+
+    /**
+     * Appends the {@code value} escaped as the contents of a JSON string.
+     */
+    private static void appendEscaped(StringBuilder json, String value) {
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < ' ' || c == '\u2028' || c == '\u2029') {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Map<Build.State, BuildStateTemplate> templates(boolean inThread) {
+        Map<Build.State, BuildStateTemplate> result = new EnumMap<>(Build.State.class);
+        for (var state : Build.State.values()) {
+            if (state != Build.State.UNRECOGNIZED) {
+                result.put(state, compile(state, inThread));
+            }
+        }
+        return Maps.immutableEnumMap(result);
+    }
+
+    /**
+     * Serializes the update message with placeholders and splits it into the static chunks.
+     */
+    private static BuildStateTemplate compile(Build.State state, boolean inThread) {
+        var thread = inThread
+                     ? ThreadResource.newBuilder()
+                                     .setName(placeholder(Field.THREAD))
+                                     .build()
+                     : ThreadResource.getDefaultInstance();
+        var message = stateMessage(placeholderBuild(state), thread);
+        String json;
+        try {
+            json = GsonFactory.getDefaultInstance()
+                              .toString(message);
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to serialize the update message template for `%s` builds.", state
+            );
+        }
+        var chunks = ImmutableList.<String>builder();
+        var fields = ImmutableList.<Field>builder();
+        var position = 0;
+        var start = json.indexOf(PLACEHOLDER_START);
+        while (start >= 0) {
+            var end = json.indexOf(PLACEHOLDER_END, start);
+            chunks.add(json.substring(position, start));
+            fields.add(Field.valueOf(json.substring(start + PLACEHOLDER_START.length(), end)));
+            position = end + PLACEHOLDER_END.length();
+            start = json.indexOf(PLACEHOLDER_START, position);
+        }
+        chunks.add(json.substring(position));
+        return new BuildStateTemplate(chunks.build(), fields.build());
+    }
+
+    private static Build placeholderBuild(Build.State state) {
+        var commit = Commit
+                .newBuilder()
+                .setSha(placeholder(Field.SHA))
+                .setMessage(placeholder(Field.COMMIT_MESSAGE))
+                .setAuthoredBy(placeholder(Field.AUTHOR))
+                .setCommittedAt(placeholder(Field.COMMITTED_AT))
+                .setCompareUrl(placeholderUrl(Field.COMPARE_URL));
+        var repository = Slug
+                .newBuilder()
+                .setValue(placeholder(Field.REPOSITORY));
+        return Build
+                .newBuilder()
+                .setRepository(repository)
+                .setNumber(placeholder(Field.NUMBER))
+                .setLastCommit(commit)
+                .setTravisCiUrl(placeholderUrl(Field.BUILD_URL))
+                .setState(state)
+                .build();
+    }
+
+    private static Url placeholderUrl(Field field) {
+        return Url.newBuilder()
+                  .setSpec(placeholder(field))
+                  .build();
+    }
+
+    private static String placeholder(Field field) {
+        return PLACEHOLDER_START + field.name() + PLACEHOLDER_END;
+    }
+
+    /**
+     * The values spliced into the template.
+     */
+    private record Values(Build build, ThreadResource thread) {
+
+        private Commit commit() {
+            return build.getLastCommit();
+        }
+    }
+
+    /**
+     * A variable field of the update message.
+     */
+    private enum Field {
+
+        REPOSITORY(values -> values.build()
+                                   .getRepository()
+                                   .getValue()),
+        NUMBER(values -> values.build()
+                               .getNumber()),
+        SHA(values -> values.commit()
+                            .getSha()),
+        COMMIT_MESSAGE(values -> values.commit()
+                                       .getMessage()),
+        AUTHOR(values -> values.commit()
+                               .getAuthoredBy()),
+        COMMITTED_AT(values -> values.commit()
+                                     .getCommittedAt()),
+        COMPARE_URL(values -> values.commit()
+                                    .getCompareUrl()
+                                    .getSpec()),
+        BUILD_URL(values -> values.build()
+                                  .getTravisCiUrl()
+                                  .getSpec()),
+        THREAD(values -> values.thread()
+                               .getName());
+
+        private final Function<Values, String> value;
+
+        Field(Function<Values, String> value) {
+            this.value = value;
+        }
+    }
+}
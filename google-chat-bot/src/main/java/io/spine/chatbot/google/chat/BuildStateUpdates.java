@@ -77,6 +77,26 @@ final class BuildStateUpdates {
     static Message buildStateMessage(Build build, ThreadResource thread) {
         checkValid(build);
         checkNotNull(thread);
+        return stateMessage(build, thread);
+    }
+
+    /**
+     * Renders the JSON body of the {@link Build} update message.
+     *
+     * <p>The result is equivalent to the serialized
+     * {@linkplain #buildStateMessage(Build, ThreadResource) message}, but is produced from
+     * a {@linkplain BuildStateTemplate pre-serialized template}.
+     */
+    static byte[] buildStateMessageJson(Build build, ThreadResource thread) {
+        checkValid(build);
+        checkNotNull(thread);
+        return BuildStateTemplate.render(build, thread);
+    }
+
+    /**
+     * Creates a new {@link Build} update message without validating the {@code build}.
+     */
+    static Message stateMessage(Build build, ThreadResource thread) {
         var headerIcon = headerIconUrl(build);
         var cardHeader = new CardHeader()
                 .setTitle(build.getRepository()
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.spine.chatbot.config.Settings;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Refreshes the access token of the Google Chat credentials in the background.
+ *
+ * <p>The first token is requested as soon as the refresher {@linkplain #start starts}, so
+ * the first message sent after the application start does not wait for the OAuth round trip.
+ * Each following token is requested {@code CHAT_BOT_CHAT_TOKEN_REFRESH_MARGIN}, five minutes
+ * by default, before the current one expires. A failed refresh is retried after
+ * {@code CHAT_BOT_CHAT_TOKEN_RETRY_DELAY}, ten seconds by default.
+ *
+ * <p>The duration of the refreshes is recorded by the {@code chatbot.chat.token.refresh}
+ * timer. The failed refreshes are counted by the {@code chatbot.chat.token.refresh.failures}
+ * counter.
+ */
+final class CredentialsRefresher implements Logging {
+
+    private static final String REFRESH_MARGIN = "CHAT_BOT_CHAT_TOKEN_REFRESH_MARGIN";
+    private static final Duration DEFAULT_REFRESH_MARGIN = Duration.ofMinutes(5);
+    private static final String RETRY_DELAY = "CHAT_BOT_CHAT_TOKEN_RETRY_DELAY";
+    private static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(10);
+
+    /**
+     * The shortest delay between the refreshes.
+     */
+    private static final Duration MIN_REFRESH_DELAY = Duration.ofSeconds(1);
+
+    private final GoogleCredentials credentials;
+    private final Duration margin;
+    private final Duration retryDelay;
+    private final ScheduledExecutorService timer;
+    private final Timer refreshes;
+    private final Counter failures;
+
+    @VisibleForTesting
+    CredentialsRefresher(GoogleCredentials credentials,
+                         Duration margin,
+                         Duration retryDelay,
+                         ScheduledExecutorService timer) {
+        this.credentials = checkNotNull(credentials);
+        this.margin = checkNotNull(margin);
+        this.retryDelay = checkNotNull(retryDelay);
+        this.timer = checkNotNull(timer);
+        this.refreshes = Timer
+                .builder("chatbot.chat.token.refresh")
+                .description("The duration of refreshing the Google Chat access token.")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(Metrics.globalRegistry);
+        this.failures = Counter
+                .builder("chatbot.chat.token.refresh.failures")
+                .description("The number of failed Google Chat access token refreshes.")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Starts refreshing the access token of the {@code credentials} in the background.
+     */
+    static CredentialsRefresher start(GoogleCredentials credentials) {
+        var timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "google-chat-token-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var refresher = new CredentialsRefresher(
+                credentials,
+                Settings.durationValue(REFRESH_MARGIN, DEFAULT_REFRESH_MARGIN),
+                Settings.durationValue(RETRY_DELAY, DEFAULT_RETRY_DELAY),
+                timer
+        );
+        timer.execute(refresher::refresh);
+        return refresher;
+    }
+
+    /**
+     * Requests a new access token and schedules the next refresh.
+     */
+    @VisibleForTesting
+    void refresh() {
+        var sample = Timer.start();
+        try {
+            credentials.refresh();
+            sample.stop(refreshes);
+            var delay = refreshDelay(credentials.getAccessToken(), Instant.now(), margin);
+            _debug().log("The Google Chat access token is refreshed. Next refresh in `%s`.",
+                         delay);
+            schedule(delay);
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            _warn().withCause(e)
+                   .log("Unable to refresh the Google Chat access token. Retrying in `%s`.",
+                        retryDelay);
+            schedule(retryDelay);
+        }
+    }
+
+    private void schedule(Duration delay) {
+        timer.schedule(this::refresh, delay.toMillis(), MILLISECONDS);
+    }
+
+    /**
+     * Calculates the delay before the {@code token} is to be refreshed.
+     *
+     * <p>If the token has no expiration time, it is refreshed once the {@code margin} passes.
+     */
+    @VisibleForTesting
+    static Duration refreshDelay(AccessToken token, Instant now, Duration margin) {
+        var expiration = token.getExpirationTime();
+        if (expiration == null) {
+            return margin;
+        }
+        var delay = Duration.between(now, expiration.toInstant())
+                            .minus(margin);
+        return delay.compareTo(MIN_REFRESH_DELAY) < 0 ? MIN_REFRESH_DELAY : delay;
+    }
+}
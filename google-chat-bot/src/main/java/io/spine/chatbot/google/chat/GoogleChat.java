@@ -61,13 +61,21 @@ record GoogleChat(HangoutsChat chat) implements GoogleChatClient, Logging {
         var message = buildStateMessage(build, thread);
         _trace().log("Sending state update message for the repository `%s`.", repo);
         var sentMessage = sendMessage(build.getSpace(), message);
-        var messageName = sentMessage.getName();
-        var messageThread = sentMessage.getThread();
         _trace().log(
                 "Build state update message with ID `%s` " +
                         "for the repository `%s` sent to the thread `%s`.",
-                messageName, repo, messageThread.getName()
+                sentMessage.getName(), repo, sentMessage.getThread().getName()
         );
+        return sentUpdate(build, sentMessage);
+    }
+
+    /**
+     * Creates the build state update out of the message sent to the Chat.
+     */
+    static BuildStateUpdate sentUpdate(Build build, Message sentMessage) {
+        var repo = build.getRepository();
+        var messageName = sentMessage.getName();
+        var messageThread = sentMessage.getThread();
         return BuildStateUpdate
                 .newBuilder()
                 .setMessage(message(messageName))
@@ -30,6 +30,8 @@ import com.google.api.services.chat.v1.HangoutsChat;
 import io.spine.chatbot.github.repository.build.Build;
 import io.spine.chatbot.google.chat.thread.ThreadResource;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A client to the Google Chat server.
  *
@@ -47,12 +49,31 @@ public interface GoogleChatClient {
      */
     BuildStateUpdate sendBuildStateUpdate(Build build, ThreadResource thread);
 
+    /**
+     * Sends {@link Build} state update message to the related space and thread without
+     * blocking the calling thread.
+     *
+     * <p>By default, sends the message {@linkplain #sendBuildStateUpdate(Build, ThreadResource)
+     * synchronously} and returns an already completed future.
+     *
+     * @return a future of the sent build state update message
+     */
+    default CompletableFuture<BuildStateUpdate>
+    sendBuildStateUpdateAsync(Build build, ThreadResource thread) {
+        try {
+            return CompletableFuture.completedFuture(sendBuildStateUpdate(build, thread));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Creates a new Google Chat client.
      *
-     * <p>The client is backed by {@link HangoutsChat} API.
+     * <p>The client is backed by {@link HangoutsChat} API. The asynchronous messages are sent
+     * through a non-blocking HTTP client.
      */
     static GoogleChatClient newInstance() {
-        return new GoogleChat(HangoutsChatFactory.newInstance());
+        return HangoutsChatFactory.newAsyncClient();
     }
 }
@@ -43,7 +43,6 @@ import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
 final class GoogleChatKey extends Secret {
 
     private static final String CHAT_BOT_SCOPE = "https://www.googleapis.com/auth/chat.bot";
-    private static final String CHAT_SERVICE_ACCOUNT = "ChatServiceAccount";
 
     private final String value;
 
@@ -31,19 +31,36 @@ import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.chat.v1.HangoutsChat;
 import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.common.annotations.VisibleForTesting;
+import io.spine.chatbot.config.Settings;
+import io.spine.chatbot.net.JdkHttpTransport;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.chatbot.google.chat.GoogleChatKey.chatServiceAccountKey;
 import static io.spine.util.Exceptions.newIllegalStateException;
 
 /**
  * Provides fully-configured {@link HangoutsChat chat} client.
+ *
+ * <p>The HTTP transport of the client is chosen by the {@code CHAT_BOT_CHAT_TRANSPORT}
+ * setting. With the {@code jdk} value, the {@linkplain JdkHttpTransport pooled HTTP/2 transport}
+ * is used. Otherwise, the default {@code HttpURLConnection}-based transport is used.
+ *
+ * <p>The asynchronous requests are always sent with the JDK client.
+ *
+ * <p>The API root URL is configured by the {@code CHAT_BOT_CHAT_ROOT_URL} setting, so that
+ * the client may be pointed at a fake Chat server during the load tests.
  */
 final class HangoutsChatFactory {
 
     private static final String BOT_NAME = "Spine ChatBot";
+    private static final String TRANSPORT = "CHAT_BOT_CHAT_TRANSPORT";
+    private static final String JDK_TRANSPORT = "jdk";
+    private static final String ROOT_URL = "CHAT_BOT_CHAT_ROOT_URL";
 
     /**
      * Prevents direct instantiation of the utility class.
@@ -52,20 +69,54 @@ final class HangoutsChatFactory {
     }
 
     /**
-     * Creates a new instance of the {@link HangoutsChat} client.
+     * Creates a new Google Chat client which can send messages asynchronously.
+     *
+     * <p>Both synchronous and asynchronous requests share the same credentials. The access
+     * token of the credentials is {@linkplain CredentialsRefresher refreshed} in
+     * the background.
      */
-    static HangoutsChat newInstance() {
+    static GoogleChatClient newAsyncClient() {
         var credentials = chatServiceAccountKey().toCredentials();
+        CredentialsRefresher.start(credentials);
+        var rootUrl = Settings.stringValue(ROOT_URL, HangoutsChat.DEFAULT_ROOT_URL);
+        return newAsyncClient(credentials, rootUrl);
+    }
+
+    /**
+     * Creates a new Google Chat client with the specified {@code credentials} which sends
+     * the requests to the API at the {@code rootUrl}.
+     */
+    @VisibleForTesting
+    static GoogleChatClient newAsyncClient(GoogleCredentials credentials, String rootUrl) {
+        checkNotNull(credentials);
+        checkNotNull(rootUrl);
+        var jdkTransport = JdkHttpTransport.newInstance();
+        var transport = JDK_TRANSPORT.equals(Settings.stringValue(TRANSPORT, ""))
+                        ? jdkTransport
+                        : newTrustedTransport();
+        return new AsyncGoogleChat(newInstance(credentials, transport, rootUrl),
+                                   credentials,
+                                   jdkTransport.client(),
+                                   jdkTransport.requestTimeout(),
+                                   SendScheduler.newInstance());
+    }
+
+    /**
+     * Creates a new instance of the {@link HangoutsChat} client.
+     */
+    private static HangoutsChat newInstance(GoogleCredentials credentials,
+                                            HttpTransport transport,
+                                            String rootUrl) {
         var credentialsAdapter = new HttpCredentialsAdapter(credentials);
-        var chat = chatWithCredentials(credentialsAdapter)
+        var chat = chatWithCredentials(credentialsAdapter, transport)
                 .setApplicationName(BOT_NAME)
+                .setRootUrl(rootUrl)
                 .build();
         return chat;
     }
 
     private static HangoutsChat.Builder
-    chatWithCredentials(HttpCredentialsAdapter credentialsAdapter) {
-        var transport = newTrustedTransport();
+    chatWithCredentials(HttpCredentialsAdapter credentialsAdapter, HttpTransport transport) {
         var jacksonFactory = GsonFactory.getDefaultInstance();
         return new HangoutsChat.Builder(transport, jacksonFactory, credentialsAdapter);
     }
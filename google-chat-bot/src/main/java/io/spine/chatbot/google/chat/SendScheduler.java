@@ -0,0 +1,365 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ascii;
+import com.google.common.base.Ticker;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.spine.chatbot.config.Settings;
+import io.spine.chatbot.github.repository.build.Build;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Schedules sending of messages to the Google Chat within the API write quotas.
+ *
+ * <p>Each space has its own token bucket refilled at {@code CHAT_BOT_CHAT_SPACE_RATE} writes
+ * per second, 1 by default, and holding up to {@code CHAT_BOT_CHAT_SPACE_BURST} tokens, 5 by
+ * default. All the spaces also share the project-wide bucket refilled at
+ * {@code CHAT_BOT_CHAT_PROJECT_RATE} writes per second, 50 by default, and holding up to
+ * {@code CHAT_BOT_CHAT_PROJECT_BURST} tokens, 100 by default.
+ *
+ * <p>A message which cannot be sent right away waits in the queue of its space. The waiting
+ * messages are sent in the order of their {@linkplain Priority priority}, and in the order of
+ * submission within the same priority. Messages are never dropped, only delayed.
+ *
+ * <p>The time a message spends in the queue is recorded by the
+ * {@code chatbot.chat.send.queue.wait} timer tagged with the message priority.
+ */
+final class SendScheduler {
+
+    private static final String SPACE_RATE = "CHAT_BOT_CHAT_SPACE_RATE";
+    private static final int DEFAULT_SPACE_RATE = 1;
+    private static final String SPACE_BURST = "CHAT_BOT_CHAT_SPACE_BURST";
+    private static final int DEFAULT_SPACE_BURST = 5;
+    private static final String PROJECT_RATE = "CHAT_BOT_CHAT_PROJECT_RATE";
+    private static final int DEFAULT_PROJECT_RATE = 50;
+    private static final String PROJECT_BURST = "CHAT_BOT_CHAT_PROJECT_BURST";
+    private static final int DEFAULT_PROJECT_BURST = 100;
+
+    private final double spaceRate;
+    private final int spaceBurst;
+    private final TokenBucket project;
+    private final Ticker ticker;
+    private final ScheduledExecutorService timer;
+    private final Map<SpaceId, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Priority, Timer> queueWait = new EnumMap<>(Priority.class);
+
+    @VisibleForTesting
+    SendScheduler(double spaceRate,
+                  int spaceBurst,
+                  double projectRate,
+                  int projectBurst,
+                  Ticker ticker,
+                  ScheduledExecutorService timer) {
+        checkArgument(spaceRate > 0, "The space rate must be positive.");
+        checkArgument(spaceBurst > 0, "The space burst must be positive.");
+        this.spaceRate = spaceRate;
+        this.spaceBurst = spaceBurst;
+        this.ticker = checkNotNull(ticker);
+        this.project = new TokenBucket(projectRate, projectBurst, ticker.read());
+        this.timer = checkNotNull(timer);
+        for (var priority : Priority.values()) {
+            var waitTimer = Timer
+                    .builder("chatbot.chat.send.queue.wait")
+                    .description("The time a Chat message waits for the write quota.")
+                    .tag("priority", priority.tag())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(Metrics.globalRegistry);
+            queueWait.put(priority, waitTimer);
+        }
+    }
+
+    /**
+     * Creates a new scheduler with the quotas configured through the environment.
+     */
+    static SendScheduler newInstance() {
+        var timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "google-chat-send-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new SendScheduler(Settings.intValue(SPACE_RATE, DEFAULT_SPACE_RATE),
+                                 Settings.intValue(SPACE_BURST, DEFAULT_SPACE_BURST),
+                                 Settings.intValue(PROJECT_RATE, DEFAULT_PROJECT_RATE),
+                                 Settings.intValue(PROJECT_BURST, DEFAULT_PROJECT_BURST),
+                                 Ticker.systemTicker(),
+                                 timer);
+    }
+
+    /**
+     * Starts the operation writing to the {@code space} as soon as the quotas allow.
+     *
+     * @return the future completed with the result of the operation
+     */
+    <T> CompletableFuture<T>
+    submit(SpaceId space, Priority priority, Supplier<CompletableFuture<T>> operation) {
+        checkNotNull(space);
+        checkNotNull(priority);
+        checkNotNull(operation);
+        var result = new CompletableFuture<T>();
+        var waiting = new Waiting(priority, sequence.getAndIncrement(), ticker.read(), () -> {
+            CompletableFuture<T> started;
+            try {
+                started = operation.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        var lane = lanes.computeIfAbsent(space, s -> new Lane());
+        lane.enqueue(waiting);
+        lane.drain();
+        return result;
+    }
+
+    /**
+     * Returns the number of operations waiting for the quota of the {@code space}.
+     */
+    int waiting(SpaceId space) {
+        var lane = lanes.get(space);
+        return lane == null ? 0 : lane.size();
+    }
+
+    /**
+     * The priority of a message.
+     *
+     * <p>The declaration order defines the order of sending.
+     */
+    enum Priority {
+
+        /**
+         * A build failure.
+         */
+        FAILURE,
+
+        /**
+         * A build recovery.
+         */
+        RECOVERY,
+
+        /**
+         * A build cancellation.
+         */
+        CANCELLATION,
+
+        /**
+         * Any other message.
+         */
+        OTHER;
+
+        /**
+         * Returns the priority of a message about the {@code build}.
+         */
+        static Priority of(Build build) {
+            if (build.failed()) {
+                return FAILURE;
+            }
+            if (build.canceled()) {
+                return CANCELLATION;
+            }
+            if (build.getState() == Build.State.PASSED) {
+                return RECOVERY;
+            }
+            return OTHER;
+        }
+
+        private String tag() {
+            return Ascii.toLowerCase(name());
+        }
+    }
+
+    /**
+     * An operation waiting for the quota.
+     */
+    private final class Waiting {
+
+        private final Priority priority;
+        private final long sequence;
+        private final long enqueuedAt;
+        private final Runnable operation;
+
+        private Waiting(Priority priority, long sequence, long enqueuedAt, Runnable operation) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+            this.operation = operation;
+        }
+
+        private void start() {
+            queueWait.get(priority)
+                     .record(ticker.read() - enqueuedAt, NANOSECONDS);
+            operation.run();
+        }
+    }
+
+    /**
+     * The queue of operations writing to a single space.
+     */
+    private final class Lane {
+
+        private final TokenBucket bucket = new TokenBucket(spaceRate, spaceBurst, ticker.read());
+
+        @GuardedBy("this")
+        private final PriorityQueue<Waiting> queue = new PriorityQueue<>(
+                Comparator.<Waiting, Priority>comparing(waiting -> waiting.priority)
+                          .thenComparingLong(waiting -> waiting.sequence)
+        );
+
+        @GuardedBy("this")
+        private boolean wakeUpScheduled;
+
+        private synchronized void enqueue(Waiting waiting) {
+            queue.add(waiting);
+        }
+
+        private synchronized int size() {
+            return queue.size();
+        }
+
+        /**
+         * Starts the waiting operations for which there are tokens.
+         *
+         * <p>If an operation still waits, schedules the next attempt at the time the missing
+         * token is expected.
+         */
+        private void drain() {
+            var ready = new ArrayList<Waiting>();
+            synchronized (this) {
+                var wait = 0L;
+                while (!queue.isEmpty()) {
+                    wait = acquire();
+                    if (wait > 0) {
+                        break;
+                    }
+                    ready.add(queue.poll());
+                }
+                if (wait > 0 && !wakeUpScheduled) {
+                    wakeUpScheduled = true;
+                    timer.schedule(this::wakeUp, wait, NANOSECONDS);
+                }
+            }
+            ready.forEach(Waiting::start);
+        }
+
+        private void wakeUp() {
+            synchronized (this) {
+                wakeUpScheduled = false;
+            }
+            drain();
+        }
+
+        /**
+         * Takes a token from both the space and the project buckets.
+         *
+         * @return {@code 0} if the tokens are taken, or the nanoseconds to wait for them
+         */
+        private long acquire() {
+            var now = ticker.read();
+            var wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                return wait;
+            }
+            wait = project.tryAcquire(now);
+            if (wait > 0) {
+                bucket.refund();
+            }
+            return wait;
+        }
+    }
+
+    /**
+     * A token bucket refilled at a constant rate.
+     */
+    private static final class TokenBucket {
+
+        private final double tokensPerNano;
+        private final int capacity;
+
+        @GuardedBy("this")
+        private double tokens;
+
+        @GuardedBy("this")
+        private long lastRefill;
+
+        private TokenBucket(double tokensPerSecond, int capacity, long now) {
+            checkArgument(tokensPerSecond > 0, "The rate must be positive.");
+            checkArgument(capacity > 0, "The capacity must be positive.");
+            this.tokensPerNano = tokensPerSecond / SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        /**
+         * Takes a token if there is one.
+         *
+         * @return {@code 0} if the token is taken, or the nanoseconds until the next token
+         */
+        private synchronized long tryAcquire(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+
+        /**
+         * Returns a previously taken token.
+         */
+        private synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Limits the number of asynchronous operations running concurrently for a single space.
+ *
+ * <p>An operation submitted over the limit is not rejected, but waits until one of
+ * the running operations for the same space completes. The waiting does not block
+ * the calling thread.
+ *
+ * <p>The waiting operations are started in a loop by the thread which frees a permit, so
+ * a long queue of operations completing right away does not grow the stack. The space is
+ * forgotten once it has no running or waiting operations.
+ */
+final class SpaceConcurrencyLimit {
+
+    private final int permits;
+    private final Map<SpaceId, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new limit allowing {@code permits} concurrent operations per space.
+     */
+    SpaceConcurrencyLimit(int permits) {
+        checkArgument(permits > 0, "The number of permits must be positive.");
+        this.permits = permits;
+    }
+
+    /**
+     * Starts the operation for the {@code space} as soon as the limit allows.
+     *
+     * @return the future completed with the result of the operation
+     */
+    <T> CompletableFuture<T> submit(SpaceId space, Supplier<CompletableFuture<T>> operation) {
+        checkNotNull(space);
+        checkNotNull(operation);
+        var result = new CompletableFuture<T>();
+        var submitted = false;
+        while (!submitted) {
+            var lane = lanes.computeIfAbsent(space, Lane::new);
+            submitted = lane.submit(() -> start(operation, lane, result));
+        }
+        return result;
+    }
+
+    private static <T> void
+    start(Supplier<CompletableFuture<T>> operation, Lane lane, CompletableFuture<T> result) {
+        CompletableFuture<T> started;
+        try {
+            started = operation.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            lane.release();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of operations waiting for the {@code space}.
+     */
+    int waiting(SpaceId space) {
+        var lane = lanes.get(space);
+        return lane == null ? 0 : lane.waiting();
+    }
+
+    /**
+     * Returns the number of spaces which have running or waiting operations.
+     */
+    int activeSpaces() {
+        return lanes.size();
+    }
+
+    /**
+     * Operations of a single space.
+     */
+    private final class Lane {
+
+        private final SpaceId space;
+
+        @GuardedBy("this")
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+
+        @GuardedBy("this")
+        private int running;
+
+        /**
+         * Tells if a thread is starting the waiting operations of the lane.
+         */
+        @GuardedBy("this")
+        private boolean draining;
+
+        /**
+         * Tells if the lane is removed from the limit and accepts no more operations.
+         */
+        @GuardedBy("this")
+        private boolean closed;
+
+        private Lane(SpaceId space) {
+            this.space = space;
+        }
+
+        /**
+         * Queues the operation and starts the waiting operations if the limit allows.
+         *
+         * @return {@code false} if the lane is already closed and the operation is not queued
+         */
+        private boolean submit(Runnable operation) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                waiting.add(operation);
+                if (draining) {
+                    return true;
+                }
+                draining = true;
+            }
+            drain();
+            return true;
+        }
+
+        private void release() {
+            synchronized (this) {
+                running--;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            drain();
+        }
+
+        /**
+         * Starts the waiting operations one after another while the permits are available.
+         *
+         * <p>An operation which completes right away releases its permit without starting
+         * the next one, so the next one is started by the next iteration of the loop.
+         */
+        private void drain() {
+            while (true) {
+                Runnable next;
+                synchronized (this) {
+                    if (running >= permits || waiting.isEmpty()) {
+                        draining = false;
+                        closeIfIdle();
+                        return;
+                    }
+                    next = waiting.poll();
+                    running++;
+                }
+                next.run();
+            }
+        }
+
+        @GuardedBy("this")
+        private void closeIfIdle() {
+            if (running == 0 && waiting.isEmpty()) {
+                closed = true;
+                lanes.remove(space, this);
+            }
+        }
+
+        private synchronized int waiting() {
+            return waiting.size();
+        }
+    }
+}
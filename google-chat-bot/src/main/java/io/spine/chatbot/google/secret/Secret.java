@@ -26,22 +26,32 @@
 
 package io.spine.chatbot.google.secret;
 
-import com.google.cloud.secretmanager.v1.SecretManagerServiceClient;
-import com.google.cloud.secretmanager.v1.SecretVersionName;
+import com.google.common.collect.ImmutableSet;
 
-import java.io.IOException;
-
-import static io.spine.util.Exceptions.newIllegalStateException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The abstract base for utilities that access application secrets stored in Google Secret Manager.
  *
+ * <p>The secrets are {@linkplain SecretProvider cached} and refreshed in the background, so
+ * the rotated secrets are picked up without restarting the application.
+ *
  * @see <a href="https://cloud.google.com/secret-manager">Google Secret Manager</a>
  */
 public abstract class Secret {
 
-    @SuppressWarnings("CallToSystemGetenv")
-    private static final String PROJECT_ID = System.getenv("GCP_PROJECT_ID");
+    /**
+     * The name of the Travis CI API token secret.
+     */
+    protected static final String TRAVIS_API_TOKEN = "TravisApiToken";
+
+    /**
+     * The name of the Google Chat service account key secret.
+     */
+    protected static final String CHAT_SERVICE_ACCOUNT = "ChatServiceAccount";
+
+    private static final ImmutableSet<String> KNOWN_SECRETS =
+            ImmutableSet.of(TRAVIS_API_TOKEN, CHAT_SERVICE_ACCOUNT);
 
     protected Secret() {
     }
@@ -49,19 +59,21 @@ public abstract class Secret {
     /**
      * Retrieves the secret with the specified {@code name}.
      *
-     * <p>The latest version of the secret available in the current {@link #PROJECT_ID project}
-     * is retrieved.
+     * <p>The latest version of the secret available in the current project is retrieved.
      */
     protected static String retrieveSecret(String name) {
-        try (SecretManagerServiceClient client = SecretManagerServiceClient.create()) {
-            var secretVersion = SecretVersionName.of(PROJECT_ID, name, "latest");
-            var secret = client.accessSecretVersion(secretVersion)
-                               .getPayload()
-                               .getData()
-                               .toStringUtf8();
-            return secret;
-        } catch (IOException e) {
-            throw newIllegalStateException(e, "Unable to retrieve secret `%s`.", name);
-        }
+        return SecretProvider.instance()
+                             .get(name);
+    }
+
+    /**
+     * Starts fetching all the secrets known to the application in parallel.
+     *
+     * <p>The secrets retrieved after the returned future completes are served from the cache.
+     * The future completes exceptionally if any of the secrets cannot be fetched.
+     */
+    public static CompletableFuture<Void> prefetchAll() {
+        return SecretProvider.instance()
+                             .prefetch(KNOWN_SECRETS);
     }
 }
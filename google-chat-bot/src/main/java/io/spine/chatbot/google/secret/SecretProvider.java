@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.secret;
+
+import com.google.cloud.secretmanager.v1.SecretManagerServiceClient;
+import com.google.cloud.secretmanager.v1.SecretVersionName;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.spine.chatbot.config.Settings;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Provides the values of the application secrets.
+ *
+ * <p>The secrets are fetched from Google Secret Manager with a single long-lived
+ * {@link SecretManagerServiceClient} and cached in memory. Once the secret is cached for
+ * longer than {@code CHAT_BOT_SECRET_TTL}, one hour by default, it is refetched in
+ * the background while the cached value is still served. If the refetch fails, the cached
+ * value stays in use until the next attempt.
+ */
+final class SecretProvider {
+
+    private static final String TTL = "CHAT_BOT_SECRET_TTL";
+    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    private static final int THREADS = 2;
+
+    @SuppressWarnings("CallToSystemGetenv")
+    private static final String PROJECT_ID = System.getenv("GCP_PROJECT_ID");
+
+    private static final Supplier<SecretProvider> instance =
+            Suppliers.memoize(SecretProvider::newInstance);
+
+    private final LoadingCache<String, String> cache;
+    private final Executor executor;
+
+    @VisibleForTesting
+    SecretProvider(Function<String, String> fetch,
+                   Duration ttl,
+                   Ticker ticker,
+                   Executor executor) {
+        checkNotNull(fetch);
+        checkNotNull(ttl);
+        checkNotNull(ticker);
+        this.executor = checkNotNull(executor);
+        var loader = CacheLoader.asyncReloading(CacheLoader.from(fetch::apply), executor);
+        this.cache = CacheBuilder
+                .newBuilder()
+                .refreshAfterWrite(ttl.toMillis(), MILLISECONDS)
+                .ticker(ticker)
+                .build(loader);
+    }
+
+    private static SecretProvider newInstance() {
+        var executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            var thread = new Thread(runnable, "secret-provider");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var fetcher = new SecretFetcher();
+        return new SecretProvider(fetcher, Settings.durationValue(TTL, DEFAULT_TTL),
+                                  Ticker.systemTicker(), executor);
+    }
+
+    /**
+     * Returns the application-wide secret provider.
+     */
+    static SecretProvider instance() {
+        return instance.get();
+    }
+
+    /**
+     * Returns the value of the secret with the specified {@code name}.
+     *
+     * <p>If the secret is not cached yet, blocks until it is fetched. If the secret is being
+     * {@linkplain #prefetch prefetched}, waits for the prefetch to complete rather than
+     * fetching the secret once again.
+     */
+    String get(String name) {
+        checkNotNull(name);
+        try {
+            return cache.getUnchecked(name);
+        } catch (UncheckedExecutionException e) {
+            throw newIllegalStateException(e.getCause(), "Unable to retrieve secret `%s`.", name);
+        }
+    }
+
+    /**
+     * Fetches the secrets with the specified {@code names} in parallel.
+     *
+     * <p>The returned future completes once all the secrets are cached.
+     */
+    CompletableFuture<Void> prefetch(Collection<String> names) {
+        checkNotNull(names);
+        var fetches = names
+                .stream()
+                .map(name -> CompletableFuture.supplyAsync(() -> get(name), executor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(fetches);
+    }
+
+    /**
+     * Fetches the latest versions of the secrets available in the current project.
+     */
+    private static final class SecretFetcher implements Function<String, String>, Logging {
+
+        private final SecretManagerServiceClient client = newClient();
+
+        private static SecretManagerServiceClient newClient() {
+            try {
+                var client = SecretManagerServiceClient.create();
+                Runtime.getRuntime()
+                       .addShutdownHook(new Thread(client::close));
+                return client;
+            } catch (IOException e) {
+                throw newIllegalStateException(e, "Unable to create Secret Manager client.");
+            }
+        }
+
+        @Override
+        public String apply(String name) {
+            _debug().log("Fetching secret `%s`.", name);
+            var secretVersion = SecretVersionName.of(PROJECT_ID, name, "latest");
+            var secret = client.accessSecretVersion(secretVersion)
+                               .getPayload()
+                               .getData()
+                               .toStringUtf8();
+            return secret;
+        }
+    }
+}
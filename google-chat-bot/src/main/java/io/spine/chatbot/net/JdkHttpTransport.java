@@ -0,0 +1,316 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.net;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.spine.chatbot.config.Settings;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * An {@link HttpTransport} backed by the JDK {@link HttpClient}.
+ *
+ * <p>Unlike the {@code HttpURLConnection}-based transport, the client negotiates HTTP/2 and
+ * keeps the connections alive between the requests, so the TLS handshake is not repeated
+ * for every request to the same host.
+ *
+ * <p>The transport is configured through the environment:
+ *
+ * <ul>
+ *     <li>{@code CHAT_BOT_HTTP_CONNECT_TIMEOUT} — the timeout of establishing a connection,
+ *     10 seconds by default;
+ *     <li>{@code CHAT_BOT_HTTP_REQUEST_TIMEOUT} — the timeout of waiting for a response,
+ *     30 seconds by default;
+ *     <li>{@code CHAT_BOT_HTTP_THREADS} — the number of threads serving the client,
+ *     4 by default.
+ * </ul>
+ *
+ * <p>The size of the connection pool of the JDK client is controlled by
+ * the {@code jdk.httpclient.connectionPoolSize} system property.
+ */
+public final class JdkHttpTransport extends HttpTransport {
+
+    private static final String CONNECT_TIMEOUT = "CHAT_BOT_HTTP_CONNECT_TIMEOUT";
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final String REQUEST_TIMEOUT = "CHAT_BOT_HTTP_REQUEST_TIMEOUT";
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String THREADS = "CHAT_BOT_HTTP_THREADS";
+    private static final int DEFAULT_THREADS = 4;
+
+    /**
+     * The headers which are set by the JDK client itself and may not be set by a caller.
+     */
+    private static final ImmutableSet<String> RESTRICTED_HEADERS =
+            ImmutableSet.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    private JdkHttpTransport(HttpClient client, Duration requestTimeout) {
+        super();
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Creates a new transport configured through the environment.
+     */
+    public static JdkHttpTransport newInstance() {
+        var threads = Settings.intValue(THREADS, DEFAULT_THREADS);
+        var executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "jdk-http-transport");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var client = HttpClient
+                .newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Settings.durationValue(CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT))
+                .executor(executor)
+                .build();
+        return new JdkHttpTransport(
+                client, Settings.durationValue(REQUEST_TIMEOUT, DEFAULT_REQUEST_TIMEOUT)
+        );
+    }
+
+    /**
+     * Creates a new transport executing requests with the supplied {@code client}.
+     */
+    public static JdkHttpTransport over(HttpClient client, Duration requestTimeout) {
+        checkNotNull(client);
+        checkNotNull(requestTimeout);
+        return new JdkHttpTransport(client, requestTimeout);
+    }
+
+    /**
+     * Returns the timeout of waiting for a response to a request.
+     *
+     * <p>The timeout is applied to the requests sent through the {@linkplain #client() client}
+     * directly as well.
+     */
+    public Duration requestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Returns the JDK client executing the requests.
+     *
+     * <p>The client may be shared with the code sending the requests directly.
+     */
+    public HttpClient client() {
+        return client;
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        return true;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new Request(method, URI.create(url));
+    }
+
+    /**
+     * A request buffering its content before sending.
+     */
+    private final class Request extends LowLevelHttpRequest {
+
+        private final HttpRequest.Builder request;
+        private final String method;
+
+        private Request(String method, URI uri) {
+            super();
+            this.method = method;
+            this.request = HttpRequest
+                    .newBuilder(uri)
+                    .timeout(requestTimeout);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                request.header(name, value);
+            }
+        }
+
+        /**
+         * Keeps the configured request timeout.
+         *
+         * <p>The Google HTTP client sets its own timeouts, 20 seconds by default, to every
+         * request, so they would always override the timeout configured for the transport.
+         * The connect timeout is a property of the JDK client and cannot be set per request.
+         */
+        @Override
+        public void setTimeout(int connectTimeout, int readTimeout) {
+            // Do nothing.
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            var publisher = BodyPublishers.noBody();
+            var content = getStreamingContent();
+            if (content != null) {
+                var body = new ByteArrayOutputStream();
+                content.writeTo(body);
+                publisher = BodyPublishers.ofByteArray(body.toByteArray());
+                addContentHeader("Content-Type", getContentType());
+                addContentHeader("Content-Encoding", getContentEncoding());
+            }
+            request.method(method, publisher);
+            try {
+                var response = client.send(request.build(), BodyHandlers.ofInputStream());
+                return new Response(response);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                var interrupted = new InterruptedIOException("The HTTP request is interrupted.");
+                interrupted.initCause(e);
+                throw interrupted;
+            }
+        }
+
+        private void addContentHeader(String name, @Nullable String value) {
+            if (value != null) {
+                request.setHeader(name, value);
+            }
+        }
+    }
+
+    /**
+     * A response streaming its content from the JDK client.
+     */
+    private static final class Response extends LowLevelHttpResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final ImmutableList<Map.Entry<String, String>> headers;
+
+        private Response(HttpResponse<InputStream> response) {
+            super();
+            this.response = response;
+            this.headers = response
+                    .headers()
+                    .map()
+                    .entrySet()
+                    .stream()
+                    .flatMap(header -> header.getValue()
+                                             .stream()
+                                             .map(value -> Map.entry(header.getKey(), value)))
+                    .collect(toImmutableList());
+        }
+
+        @Override
+        public InputStream getContent() {
+            return response.body();
+        }
+
+        @Override
+        public @Nullable String getContentEncoding() {
+            return header("Content-Encoding");
+        }
+
+        @Override
+        public long getContentLength() {
+            return response.headers()
+                           .firstValueAsLong("Content-Length")
+                           .orElse(-1);
+        }
+
+        @Override
+        public @Nullable String getContentType() {
+            return header("Content-Type");
+        }
+
+        @Override
+        public String getStatusLine() {
+            var version = response.version() == HttpClient.Version.HTTP_2
+                          ? "HTTP/2"
+                          : "HTTP/1.1";
+            return version + ' ' + response.statusCode();
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public @Nullable String getReasonPhrase() {
+            return null;
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return headers.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return headers.get(index)
+                          .getKey();
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return headers.get(index)
+                          .getValue();
+        }
+
+        @Override
+        public void disconnect() throws IOException {
+            response.body()
+                    .close();
+        }
+
+        private @Nullable String header(String name) {
+            return response.headers()
+                           .firstValue(name)
+                           .orElse(null);
+        }
+    }
+}
@@ -25,7 +25,7 @@
  */
 
 /**
- * This package contains utilities for working with {@link io.spine.net.Url URL}s.
+ * This package contains utilities for working with {@link io.spine.net.Url URL}s and HTTP.
  */
 @CheckReturnValue
 @ParametersAreNonnullByDefault
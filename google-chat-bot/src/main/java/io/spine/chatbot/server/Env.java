@@ -27,28 +27,55 @@
 package io.spine.chatbot.server;
 
 import com.google.cloud.datastore.DatastoreOptions;
+import io.spine.chatbot.config.Settings;
 import io.spine.chatbot.delivery.LocalDelivery;
+import io.spine.chatbot.storage.CachingStorageFactory;
+import io.spine.chatbot.storage.EventArchivingStorageFactory;
+import io.spine.chatbot.storage.FileStorageFactory;
+import io.spine.chatbot.storage.MeteredStorageFactory;
+import io.spine.chatbot.storage.WriteBehindStorageFactory;
 import io.spine.environment.Environment;
 import io.spine.environment.EnvironmentType;
 import io.spine.environment.Production;
+import io.spine.environment.Tests;
 import io.spine.server.ServerEnvironment;
 import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.datastore.DatastoreStorageFactory;
 import io.spine.server.storage.memory.InMemoryStorageFactory;
 import io.spine.server.transport.memory.InMemoryTransportFactory;
 
+import java.nio.file.Path;
+
 /**
  * Initializes the {@link ServerEnvironment}.
  *
  * <p>Configures the {@link StorageFactory} depending on the current
  * {@linkplain Environment environment}.
  * Uses the Datastore storage factory for the production mode and in-memory storage for tests.
+ * In the production mode, the entity and event writes are
+ * {@linkplain WriteBehindStorageFactory batched}. If the deployment is limited to a single
+ * instance, the entity records may also be {@linkplain CachingStorageFactory#isEnabled()
+ * cached} in memory.
+ *
+ * <p>Outside of the production and the tests, the storage is selected through
+ * the {@code CHAT_BOT_STORAGE} setting: {@code memory} (the default) or {@code file}.
+ * The {@linkplain FileStorageFactory file storage} keeps the data in the directory
+ * configured through the {@code CHAT_BOT_STORAGE_DIR} setting.
+ *
+ * <p>In any environment, the event stores can be {@linkplain EventArchivingStorageFactory
+ * compacted} and the written records are {@linkplain MeteredStorageFactory counted}.
  *
  * <p>Configures the inbox delivery through the Datastore work registry while
  * in Production environment, otherwise uses local synchronous delivery.
  */
 final class Env {
 
+    static final String STORAGE = "CHAT_BOT_STORAGE";
+    static final String STORAGE_DIR = "CHAT_BOT_STORAGE_DIR";
+
+    private static final String FILE_STORAGE = "file";
+    private static final String DEFAULT_STORAGE_DIR = "chat-bot-data";
+
     /**
      * Prevents instantiation of this utility class.
      */
@@ -72,7 +99,21 @@ final class Env {
 
     private static StorageFactory determineStorage(Class<? extends EnvironmentType> env) {
         if (Production.class.equals(env)) {
-            return dsStorageFactory();
+            StorageFactory datastore = dsStorageFactory();
+            var cached = CachingStorageFactory.isEnabled()
+                         ? CachingStorageFactory.wrap(datastore)
+                         : datastore;
+            var archiving = EventArchivingStorageFactory.wrap(cached);
+            return MeteredStorageFactory.wrap(WriteBehindStorageFactory.wrap(archiving));
+        }
+        var archiving = EventArchivingStorageFactory.wrap(localStorageFactory(env));
+        return MeteredStorageFactory.wrap(archiving);
+    }
+
+    private static StorageFactory localStorageFactory(Class<? extends EnvironmentType> env) {
+        if (!Tests.class.equals(env) && FILE_STORAGE.equals(Settings.stringValue(STORAGE, ""))) {
+            var directory = Settings.stringValue(STORAGE_DIR, DEFAULT_STORAGE_DIR);
+            return FileStorageFactory.in(Path.of(directory));
         }
         return InMemoryStorageFactory.newInstance();
     }
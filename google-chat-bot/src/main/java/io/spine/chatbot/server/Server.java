@@ -28,6 +28,7 @@ package io.spine.chatbot.server;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.concurrent.LazyInit;
+import io.spine.chatbot.storage.WriteBehindStorageFactory;
 import io.spine.logging.Logging;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
@@ -114,7 +115,10 @@ public final class Server implements Logging {
     }
 
     /**
-     * Gracefully stops the {@link #server}.
+     * Gracefully stops the {@link #server} and then flushes the buffered storage writes.
+     *
+     * <p>The writes are flushed after the server is stopped, so the writes made while
+     * the server shuts down are flushed as well.
      */
     private record ShutdownHook(io.spine.server.Server server) implements Runnable, Logging {
 
@@ -127,6 +131,8 @@ public final class Server implements Logging {
         public void run() {
             _info().log("Shutting down the GRPC server.");
             server.shutdown();
+            _info().log("Flushing the buffered storage writes.");
+            WriteBehindStorageFactory.flushEnvironmentStorage();
         }
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server;
+
+import io.spine.chatbot.config.Settings;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
+
+/**
+ * Configures the number of events between the aggregate snapshots.
+ */
+public final class SnapshotTriggers {
+
+    /**
+     * The snapshot trigger used unless configured otherwise.
+     */
+    public static final int DEFAULT_SNAPSHOT_TRIGGER = 100;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private SnapshotTriggers() {
+    }
+
+    /**
+     * Returns the snapshot trigger configured through the {@code setting} or
+     * the {@linkplain #DEFAULT_SNAPSHOT_TRIGGER default} one.
+     *
+     * @throws IllegalArgumentException
+     *         if the configured value is not a positive integer
+     */
+    public static int snapshotTrigger(String setting) {
+        return snapshotTrigger(setting, DEFAULT_SNAPSHOT_TRIGGER);
+    }
+
+    /**
+     * Returns the snapshot trigger configured through the {@code setting} or
+     * the {@code defaultValue}.
+     *
+     * @throws IllegalArgumentException
+     *         if the configured value is not a positive integer
+     */
+    public static int snapshotTrigger(String setting, int defaultValue) {
+        checkNotEmptyOrBlank(setting);
+        var result = Settings.intValue(setting, defaultValue);
+        checkArgument(result > 0,
+                      "The setting `%s` value `%s` must be positive.", setting, result);
+        return result;
+    }
+}
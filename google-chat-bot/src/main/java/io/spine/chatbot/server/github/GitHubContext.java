@@ -62,11 +62,13 @@ public final class GitHubContext implements ContextBuilderAware {
     private static BoundedContextBuilder configureBuilder(TravisClient client) {
         return BoundedContext
                 .singleTenant(GIT_HUB_CONTEXT_NAME)
-                .add(OrganizationAggregate.class)
-                .add(RepositoryAggregate.class)
+                .add(new OrganizationRepository())
+                .add(new RepoRepository())
                 .add(new OrgReposRepository())
                 .add(new SpineOrgInitRepository(client))
-                .add(new RepoBuildRepository(client))
+                .add(new RepoBuildRepository())
+                .addCommandDispatcher(new RepoBuildChecker(client))
+                .addCommandDispatcher(new RepositoryImporter())
                 .addEventDispatcher(new DiagnosticEventLogger());
     }
 
@@ -30,9 +30,15 @@ import io.spine.chatbot.github.OrganizationId;
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.organization.OrganizationRepositories;
 import io.spine.chatbot.github.organization.event.OrganizationRegistered;
+import io.spine.chatbot.github.organization.event.RepositoriesImported;
+import io.spine.chatbot.github.repository.ImportedRepository;
 import io.spine.chatbot.github.repository.event.RepositoryRegistered;
 import io.spine.core.Subscribe;
 import io.spine.server.projection.Projection;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Organization repositories projection.
@@ -40,10 +46,20 @@ import io.spine.server.projection.Projection;
  * <p>Repositories are only referenced by their identifiers.
  * See {@link io.spine.chatbot.github.repository.Repository Repository} for the details
  * on each repository.
+ *
+ * <p>The registered repositories are indexed in memory once the projection handles
+ * a repository, so registering a repository does not scan the repository list.
  */
 final class OrgReposProjection
         extends Projection<OrganizationId, OrganizationRepositories, OrganizationRepositories.Builder> {
 
+    /**
+     * The index of the repositories registered in the state.
+     *
+     * <p>Is built lazily from the state of the loaded projection.
+     */
+    private @MonotonicNonNull Set<RepositoryId> registered;
+
     /**
      * Registers the organization to watch the repositories for.
      */
@@ -57,15 +73,30 @@ final class OrgReposProjection
      */
     @Subscribe
     void on(RepositoryRegistered e) {
-        var newRepo = e.getRepository();
-        if (!hasRepository(newRepo)) {
-            builder().addRepository(newRepo);
+        addRepository(e.getRepository());
+    }
+
+    /**
+     * Registers the organization repositories imported in bulk.
+     */
+    @Subscribe
+    void on(RepositoriesImported e) {
+        e.getRepositoryList()
+         .stream()
+         .map(ImportedRepository::getId)
+         .forEach(this::addRepository);
+    }
+
+    private void addRepository(RepositoryId repo) {
+        if (registered().add(repo)) {
+            builder().addRepository(repo);
         }
     }
 
-    private boolean hasRepository(RepositoryId repo) {
-        return builder()
-                .getRepositoryList()
-                .contains(repo);
+    private Set<RepositoryId> registered() {
+        if (registered == null) {
+            registered = new HashSet<>(builder().getRepositoryList());
+        }
+        return registered;
     }
 }
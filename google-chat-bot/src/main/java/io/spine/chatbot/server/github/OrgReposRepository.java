@@ -29,6 +29,7 @@ package io.spine.chatbot.server.github;
 import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
 import io.spine.chatbot.github.OrganizationId;
 import io.spine.chatbot.github.organization.OrganizationRepositories;
+import io.spine.chatbot.github.organization.event.RepositoriesImported;
 import io.spine.chatbot.github.repository.event.RepositoryRegistered;
 import io.spine.server.projection.ProjectionRepository;
 import io.spine.server.route.EventRouting;
@@ -50,6 +51,7 @@ final class OrgReposRepository
         routing.route(RepositoryRegistered.class, (event, context) ->
                 isNotDefault(event.organization())
                 ? withId(event.organization())
-                : noTargets());
+                : noTargets())
+               .unicast(RepositoriesImported.class, RepositoriesImported::getOrganization);
     }
 }
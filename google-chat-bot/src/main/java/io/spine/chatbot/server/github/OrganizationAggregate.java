@@ -28,8 +28,10 @@ package io.spine.chatbot.server.github;
 
 import io.spine.chatbot.github.OrganizationId;
 import io.spine.chatbot.github.organization.Organization;
+import io.spine.chatbot.github.organization.command.ImportRepositories;
 import io.spine.chatbot.github.organization.command.RegisterOrganization;
 import io.spine.chatbot.github.organization.event.OrganizationRegistered;
+import io.spine.chatbot.github.organization.event.RepositoriesImported;
 import io.spine.logging.Logging;
 import io.spine.server.aggregate.Aggregate;
 import io.spine.server.aggregate.Apply;
@@ -62,4 +64,24 @@ final class OrganizationAggregate
     private void on(OrganizationRegistered e) {
         builder().setHeader(e.getHeader());
     }
+
+    /**
+     * Imports the organization repositories in bulk.
+     */
+    @Assign
+    RepositoriesImported handle(ImportRepositories c) {
+        _info().log("Importing `%d` repositories of organization `%s`.",
+                    c.getRepositoryCount(), idAsString());
+        return RepositoriesImported
+                .newBuilder()
+                .setOrganization(c.getId())
+                .addAllRepository(c.getRepositoryList())
+                .vBuild();
+    }
+
+    @Apply
+    @SuppressWarnings("unused") // The repositories are tracked by `OrgReposProjection`.
+    private void on(RepositoriesImported e) {
+        // Does not change the organization state.
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.github;
+
+import io.spine.chatbot.github.repository.build.command.CheckRepositoryBuild;
+import io.spine.chatbot.github.repository.build.command.RecordRepositoryBuild;
+import io.spine.chatbot.github.repository.build.rejection.NoBuildsFound;
+import io.spine.chatbot.travis.BuildsQuery;
+import io.spine.chatbot.travis.TravisClient;
+import io.spine.logging.Logging;
+import io.spine.server.command.AbstractCommander;
+import io.spine.server.command.Command;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.chatbot.github.Slugs.repoSlug;
+import static io.spine.protobuf.Messages.isDefault;
+
+/**
+ * Fetches the latest builds of repositories from Travis CI.
+ *
+ * <p>Transforms a {@link CheckRepositoryBuild} command into a {@link RecordRepositoryBuild}
+ * command which carries the fetched build. The commander is not an entity, so the HTTP round
+ * trip to Travis happens outside of the {@link RepoBuildProcess} delivery and the checks of
+ * different repositories are free to run concurrently.
+ *
+ * <p>If the repository builds cannot be retrieved, throws {@link NoBuildsFound} rejection.
+ */
+final class RepoBuildChecker extends AbstractCommander implements Logging {
+
+    private final TravisClient client;
+
+    RepoBuildChecker(TravisClient client) {
+        super();
+        this.client = checkNotNull(client);
+    }
+
+    /**
+     * Fetches the last build of the repository and passes it on to the {@link RepoBuildProcess}.
+     */
+    @Command
+    RecordRepositoryBuild on(CheckRepositoryBuild c) throws NoBuildsFound {
+        var repo = c.getRepository();
+        _info().log("Checking build status for the repository `%s`.", repo.getValue());
+        var branchBuild = client.execute(BuildsQuery.forRepo(repoSlug(repo)));
+        if (isDefault(branchBuild.getLastBuild())) {
+            _warn().log("No builds found for the repository `%s`.", repo.getValue());
+            throw NoBuildsFound.newBuilder()
+                    .setRepository(repo)
+                    .build();
+        }
+        return RecordRepositoryBuild
+                .newBuilder()
+                .setRepository(repo)
+                .setOrganization(c.getOrganization())
+                .setSpace(c.getSpace())
+                .setBranchBuild(branchBuild)
+                .vBuild();
+    }
+}
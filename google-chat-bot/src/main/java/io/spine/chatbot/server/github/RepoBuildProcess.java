@@ -27,33 +27,34 @@
 package io.spine.chatbot.server.github;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.errorprone.annotations.concurrent.LazyInit;
-import io.spine.base.Time;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.spine.chatbot.config.Settings;
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.repository.build.Build;
 import io.spine.chatbot.github.repository.build.BuildStateChange;
 import io.spine.chatbot.github.repository.build.BuildStateMixin;
 import io.spine.chatbot.github.repository.build.Commit;
 import io.spine.chatbot.github.repository.build.RepositoryBuild;
-import io.spine.chatbot.github.repository.build.command.CheckRepositoryBuild;
+import io.spine.chatbot.github.repository.build.command.RecordRepositoryBuild;
 import io.spine.chatbot.github.repository.build.event.BuildCanceled;
 import io.spine.chatbot.github.repository.build.event.BuildFailed;
 import io.spine.chatbot.github.repository.build.event.BuildRecovered;
 import io.spine.chatbot.github.repository.build.event.BuildSucceededAgain;
-import io.spine.chatbot.github.repository.build.rejection.NoBuildsFound;
 import io.spine.chatbot.google.chat.SpaceId;
-import io.spine.chatbot.travis.BuildsQuery;
 import io.spine.chatbot.travis.RepoBranchBuildResponse;
-import io.spine.chatbot.travis.TravisClient;
+import io.spine.core.CommandContext;
 import io.spine.net.Urls;
 import io.spine.server.command.Assign;
+import io.spine.server.model.Nothing;
 import io.spine.server.procman.ProcessManager;
-import io.spine.server.tuple.EitherOf4;
-import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import io.spine.server.tuple.EitherOf5;
+
+import java.time.Duration;
 
-import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.chatbot.github.Slugs.newSlug;
-import static io.spine.chatbot.github.Slugs.repoSlug;
 import static io.spine.chatbot.net.MoreUrls.travisBuildUrlFor;
 import static io.spine.protobuf.Messages.isDefault;
 import static io.spine.util.Exceptions.newIllegalStateException;
@@ -61,7 +62,8 @@ import static io.spine.util.Exceptions.newIllegalStateException;
 /**
  * Verifies a status of a build of a repository.
  *
- * <p>Performs repository build checks and acknowledges the state of the repository builds.
+ * <p>Acknowledges the state of the repository builds fetched by the {@link RepoBuildChecker}.
+ * The process does not perform any I/O, so handling of a build is a pure state transition.
  * As a result, emits build status events such as:
  *
  * <ul>
@@ -73,34 +75,61 @@ import static io.spine.util.Exceptions.newIllegalStateException;
  *     {@code passing} previously or is {@code canceled} multiple times consecutive.
  * </ul>
  *
- * Or, if the repository builds cannot be retrieved, throws {@link NoBuildsFound} rejection.
+ * <p>If the last build is the one already known to the process, and its state is unchanged,
+ * {@link Nothing} is emitted and the known build is left intact. In this case,
+ * the {@code when_last_checked} time is refreshed at most once per
+ * {@code CHAT_BOT_LAST_CHECKED_INTERVAL} (one hour by default), so that idle repositories
+ * do not cause a state write on every poll.
+ *
+ * <p>The handling time is recorded by the {@code chatbot.build.record} timer.
  */
 @SuppressWarnings("OverlyCoupledClass" /* OK for a complex process. */)
 final class RepoBuildProcess
         extends ProcessManager<RepositoryId, RepositoryBuild, RepositoryBuild.Builder> {
 
-    @LazyInit
-    private @MonotonicNonNull TravisClient client;
+    private static final String LAST_CHECKED_INTERVAL = "CHAT_BOT_LAST_CHECKED_INTERVAL";
+    private static final Duration DEFAULT_LAST_CHECKED_INTERVAL = Duration.ofHours(1);
+    private static final Duration lastCheckedInterval =
+            Settings.durationValue(LAST_CHECKED_INTERVAL, DEFAULT_LAST_CHECKED_INTERVAL);
+    private static final Timer records = Timer
+            .builder("chatbot.build.record")
+            .description("The time to handle a fetched repository build.")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(Metrics.globalRegistry);
 
     /**
-     * Checks the repository build state and propagates the respective events.
+     * Acknowledges the fetched repository build and propagates the respective events.
+     *
+     * <p>The time of the check is taken from the command, so that the outcome depends solely
+     * on the command and the current state of the process.
      *
-     * <p>If the repository build state cannot be retrieved, throws {@link NoBuildsFound} rejection.
+     * <p>If the build is not changed since the previous check, returns {@link #nothing() nothing}.
      */
     @Assign
-    EitherOf4<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled>
-    handle(CheckRepositoryBuild c) throws NoBuildsFound {
-        var repo = c.getRepository();
-        _info().log("Checking build status for the repository `%s`.", repo.getValue());
-        var branchBuild = client.execute(BuildsQuery.forRepo(repoSlug(repo)));
-        if (isDefault(branchBuild.getLastBuild())) {
-            _warn().log("No builds found for the repository `%s`.", repo.getValue());
-            throw NoBuildsFound.newBuilder()
-                    .setRepository(repo)
-                    .build();
+    EitherOf5<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled, Nothing>
+    handle(RecordRepositoryBuild c, CommandContext context) {
+        var sample = Timer.start();
+        try {
+            return record(c, context);
+        } finally {
+            sample.stop(records);
         }
+    }
+
+    private EitherOf5<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled, Nothing>
+    record(RecordRepositoryBuild c, CommandContext context) {
+        var repo = c.getRepository();
+        var whenChecked = context.getActorContext()
+                                 .getTimestamp();
+        var branchBuild = c.getBranchBuild();
         var build = buildFrom(branchBuild, c.getSpace());
-        builder().setWhenLastChecked(Time.currentTime())
+        if (isUnchanged(build)) {
+            _debug().log("The build `%s` of the repository `%s` is unchanged.",
+                         build.getNumber(), repo.getValue());
+            refreshWhenLastChecked(whenChecked);
+            return EitherOf5.withE(nothing());
+        }
+        builder().setWhenLastChecked(whenChecked)
                  .setBuild(build)
                  .setCurrentState(build.getState());
         var stateChange = BuildStateChange.newBuilder()
@@ -111,7 +140,29 @@ final class RepoBuildProcess
         return result;
     }
 
-    private EitherOf4<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled>
+    /**
+     * Determines whether the supplied build is the same build in the same state as the one
+     * already known to the process.
+     */
+    private boolean isUnchanged(Build build) {
+        var known = state().getBuild();
+        return !isDefault(known)
+                && known.getNumber().equals(build.getNumber())
+                && known.getState() == build.getState();
+    }
+
+    /**
+     * Updates the time of the last check if it is older than the configured interval.
+     */
+    private void refreshWhenLastChecked(Timestamp whenChecked) {
+        var lastChecked = state().getWhenLastChecked();
+        var sinceLastCheck = Timestamps.toMillis(whenChecked) - Timestamps.toMillis(lastChecked);
+        if (sinceLastCheck >= lastCheckedInterval.toMillis()) {
+            builder().setWhenLastChecked(whenChecked);
+        }
+    }
+
+    private EitherOf5<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled, Nothing>
     determineOutcome(RepositoryId repo, BuildStateChange stateChange) {
         var newBuildState = stateChange.getNewValue();
         var previousBuildState = stateChange.getPreviousValue();
@@ -135,27 +186,27 @@ final class RepoBuildProcess
         }
     }
 
-    private EitherOf4<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled>
+    private EitherOf5<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled, Nothing>
     onStable(RepositoryId repo, BuildStateChange stateChange) {
         _info().log("The build for the repository `%s` is stable.", repo.getValue());
         var buildSucceededAgain = BuildSucceededAgain.newBuilder()
                 .setRepository(repo)
                 .setChange(stateChange)
                 .vBuild();
-        return EitherOf4.withC(buildSucceededAgain);
+        return EitherOf5.withC(buildSucceededAgain);
     }
 
-    private EitherOf4<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled>
+    private EitherOf5<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled, Nothing>
     onRecovered(RepositoryId repo, BuildStateChange stateChange) {
         _info().log("The build for the repository `%s` is recovered.", repo.getValue());
         var buildRecovered = BuildRecovered.newBuilder()
                 .setRepository(repo)
                 .setChange(stateChange)
                 .vBuild();
-        return EitherOf4.withB(buildRecovered);
+        return EitherOf5.withB(buildRecovered);
     }
 
-    private EitherOf4<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled>
+    private EitherOf5<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled, Nothing>
     onFailed(RepositoryId repo, BuildStateChange stateChange) {
         var newBuildState = stateChange.getNewValue();
         _info().log("A build for the repository `%s` failed with the status `%s`.",
@@ -164,17 +215,17 @@ final class RepoBuildProcess
                 .setRepository(repo)
                 .setChange(stateChange)
                 .vBuild();
-        return EitherOf4.withA(buildFailed);
+        return EitherOf5.withA(buildFailed);
     }
 
-    private EitherOf4<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled>
+    private EitherOf5<BuildFailed, BuildRecovered, BuildSucceededAgain, BuildCanceled, Nothing>
     onCanceled(RepositoryId repo, BuildStateChange stateChange) {
         _info().log("A build for the repository `%s` is canceled.", repo.getValue());
         var buildCanceled = BuildCanceled.newBuilder()
                 .setRepository(repo)
                 .setChange(stateChange)
                 .vBuild();
-        return EitherOf4.withD(buildCanceled);
+        return EitherOf5.withD(buildCanceled);
     }
 
     @VisibleForTesting
@@ -207,14 +258,4 @@ final class RepoBuildProcess
                 .setCompareUrl(Urls.create(commit.getCompareUrl()))
                 .vBuild();
     }
-
-    /**
-     * Sets {@link #client} to be used during handling of signals.
-     *
-     * @implNote the method is intended to be used as part of the entity configuration
-     *         done through the repository
-     */
-    void setClient(TravisClient client) {
-        this.client = checkNotNull(client);
-    }
 }
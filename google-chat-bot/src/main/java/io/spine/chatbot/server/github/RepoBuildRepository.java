@@ -28,27 +28,11 @@ package io.spine.chatbot.server.github;
 
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.repository.build.RepositoryBuild;
-import io.spine.chatbot.travis.TravisClient;
 import io.spine.server.procman.ProcessManagerRepository;
 
-import static com.google.common.base.Preconditions.checkNotNull;
-
 /**
  * The repository for {@link RepoBuildProcess}es.
  */
 final class RepoBuildRepository
         extends ProcessManagerRepository<RepositoryId, RepoBuildProcess, RepositoryBuild> {
-
-    private final TravisClient client;
-
-    RepoBuildRepository(TravisClient client) {
-        super();
-        this.client = checkNotNull(client);
-    }
-
-    @Override
-    protected void configure(RepoBuildProcess processManager) {
-        super.configure(processManager);
-        processManager.setClient(client);
-    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.github;
+
+import io.spine.chatbot.github.RepositoryId;
+import io.spine.chatbot.github.repository.Repository;
+import io.spine.server.aggregate.AggregateRepository;
+
+import static io.spine.chatbot.server.SnapshotTriggers.snapshotTrigger;
+
+/**
+ * The repository for {@link RepositoryAggregate}s.
+ *
+ * <p>The number of events between the repository snapshots is configured through
+ * the {@code CHAT_BOT_REPOSITORY_SNAPSHOT_TRIGGER} setting.
+ */
+final class RepoRepository
+        extends AggregateRepository<RepositoryId, RepositoryAggregate, Repository> {
+
+    static final String SNAPSHOT_TRIGGER = "CHAT_BOT_REPOSITORY_SNAPSHOT_TRIGGER";
+
+    RepoRepository() {
+        setSnapshotTrigger(snapshotTrigger(SNAPSHOT_TRIGGER));
+    }
+}
@@ -28,7 +28,9 @@ package io.spine.chatbot.server.github;
 
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.repository.Repository;
+import io.spine.chatbot.github.repository.command.ImportRepository;
 import io.spine.chatbot.github.repository.command.RegisterRepository;
+import io.spine.chatbot.github.repository.event.RepositoryImported;
 import io.spine.chatbot.github.repository.event.RepositoryRegistered;
 import io.spine.logging.Logging;
 import io.spine.server.aggregate.Aggregate;
@@ -62,4 +64,24 @@ final class RepositoryAggregate extends Aggregate<RepositoryId, Repository, Repo
     private void on(RepositoryRegistered e) {
         builder().setHeader(e.getHeader());
     }
+
+    /**
+     * Registers the repository imported along with the other organization repositories.
+     */
+    @Assign
+    RepositoryImported handle(ImportRepository c) {
+        var repository = c.getId();
+        _info().log("Importing repository `%s`.", repository.getValue());
+        var result = RepositoryImported
+                .newBuilder()
+                .setRepository(repository)
+                .setHeader(c.getHeader())
+                .vBuild();
+        return result;
+    }
+
+    @Apply
+    private void on(RepositoryImported e) {
+        builder().setHeader(e.getHeader());
+    }
 }
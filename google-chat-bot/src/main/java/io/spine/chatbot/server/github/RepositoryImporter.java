@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.github;
+
+import io.spine.chatbot.github.organization.event.RepositoriesImported;
+import io.spine.chatbot.github.repository.command.ImportRepository;
+import io.spine.logging.Logging;
+import io.spine.server.command.AbstractCommander;
+import io.spine.server.command.Command;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+/**
+ * Registers the repositories imported to an organization in bulk.
+ *
+ * <p>Issues an {@link ImportRepository} command for each of the {@linkplain RepositoriesImported
+ * imported} repositories, so that the {@link RepositoryAggregate} of each of them is created.
+ * Unlike the repositories registered one by one, the imported ones are not added to
+ * the {@link OrgReposProjection} repository by repository, since the import adds all
+ * of them at once. This way, the import is linear in the number of the repositories.
+ */
+final class RepositoryImporter extends AbstractCommander implements Logging {
+
+    /**
+     * Issues the commands to register each of the imported repositories.
+     */
+    @Command
+    Iterable<ImportRepository> on(RepositoriesImported e) {
+        _info().log("Registering `%d` repositories imported to the organization `%s`.",
+                    e.getRepositoryCount(), e.getOrganization().getValue());
+        return e.getRepositoryList()
+                .stream()
+                .map(repo -> ImportRepository
+                        .newBuilder()
+                        .setId(repo.getId())
+                        .setHeader(repo.getHeader())
+                        .vBuild())
+                .collect(toImmutableList());
+    }
+}
@@ -32,10 +32,11 @@ import com.google.errorprone.annotations.concurrent.LazyInit;
 import io.spine.base.CommandMessage;
 import io.spine.chatbot.github.OrganizationId;
 import io.spine.chatbot.github.organization.OrgHeader;
+import io.spine.chatbot.github.organization.command.ImportRepositories;
 import io.spine.chatbot.github.organization.command.RegisterOrganization;
 import io.spine.chatbot.github.organization.init.OrganizationInit;
+import io.spine.chatbot.github.repository.ImportedRepository;
 import io.spine.chatbot.github.repository.RepoHeader;
-import io.spine.chatbot.github.repository.command.RegisterRepository;
 import io.spine.chatbot.google.chat.SpaceId;
 import io.spine.chatbot.google.chat.event.SpaceRegistered;
 import io.spine.chatbot.travis.ReposQuery;
@@ -47,6 +48,7 @@ import io.spine.server.command.Command;
 import io.spine.server.procman.ProcessManager;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.spine.chatbot.github.GitHubIdentifiers.organization;
 import static io.spine.chatbot.github.GitHubIdentifiers.repository;
 import static io.spine.chatbot.github.Slugs.newSlug;
@@ -81,6 +83,9 @@ final class SpineOrgInitProcess
      *
      * <p>If a particular repository is not available in Travis, it is then skipped
      * and not registered.
+     *
+     * <p>The repositories are {@linkplain ImportRepositories imported} in bulk, so that
+     * the organization repositories are updated once rather than once per repository.
      */
     @Command
     Iterable<CommandMessage> on(@External SpaceRegistered e) {
@@ -92,20 +97,24 @@ final class SpineOrgInitProcess
         _info().log("Starting Spine organization initialization process in the space `%s`.", space);
         var commands = ImmutableSet.<CommandMessage>builder();
         commands.add(registerOrgCommand(ORGANIZATION, space));
-        client.execute(ReposQuery.forOwner(orgSlug(ORGANIZATION)))
-              .getRepositoriesList()
-              .stream()
-              .filter(repository -> WATCHED_REPOS.contains(repository.getName()))
-              .map(repository -> registerRepoCommand(repository, ORGANIZATION))
-              .forEach(commands::add);
+        var repos = client
+                .execute(ReposQuery.forOwner(orgSlug(ORGANIZATION)))
+                .getRepositoriesList()
+                .stream()
+                .filter(repository -> WATCHED_REPOS.contains(repository.getName()))
+                .map(repository -> importedRepo(repository, ORGANIZATION))
+                .collect(toImmutableList());
+        if (!repos.isEmpty()) {
+            commands.add(importReposCommand(repos, ORGANIZATION));
+        }
         builder().setSpace(space)
                  .setInitialized(true);
         return commands.build();
     }
 
-    private RegisterRepository registerRepoCommand(Repository repo, OrganizationId org) {
+    private ImportedRepository importedRepo(Repository repo, OrganizationId org) {
         var slug = newSlug(repo.getSlug());
-        _info().log("Registering `%s` repository.", slug.getValue());
+        _info().log("Importing `%s` repository.", slug.getValue());
         var header = RepoHeader
                 .newBuilder()
                 .setOrganization(org)
@@ -113,13 +122,22 @@ final class SpineOrgInitProcess
                 .setName(repo.getName())
                 .setTravisProfile(travisUrlFor(slug))
                 .vBuild();
-        return RegisterRepository
+        return ImportedRepository
                 .newBuilder()
                 .setId(repository(slug.getValue()))
                 .setHeader(header)
                 .vBuild();
     }
 
+    private static ImportRepositories
+    importReposCommand(Iterable<ImportedRepository> repos, OrganizationId org) {
+        return ImportRepositories
+                .newBuilder()
+                .setId(org)
+                .addAllRepository(repos)
+                .vBuild();
+    }
+
     private RegisterOrganization registerOrgCommand(OrganizationId spineOrg, SpaceId space) {
         var slug = orgSlug(spineOrg);
         _info().log("Registering `%s` organization.", spineOrg.getValue());
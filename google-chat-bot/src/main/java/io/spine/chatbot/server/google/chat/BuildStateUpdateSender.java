@@ -0,0 +1,551 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.google.chat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
+import io.spine.base.Time;
+import io.spine.chatbot.config.Settings;
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.google.chat.BuildStateUpdate;
+import io.spine.chatbot.google.chat.GoogleChatClient;
+import io.spine.chatbot.google.chat.ThreadId;
+import io.spine.chatbot.google.chat.thread.ThreadResource;
+import io.spine.chatbot.google.chat.thread.command.ConfirmBuildStateUpdate;
+import io.spine.chatbot.google.chat.thread.event.BuildStateUpdateQueued;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.Subscribe;
+import io.spine.core.UserId;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.event.AbstractEventSubscriber;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.protobuf.Messages.isDefault;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Sends the queued build state updates to the Google Chat.
+ *
+ * <p>The updates are {@linkplain GoogleChatClient#sendBuildStateUpdateAsync sent
+ * asynchronously} and confirmed by a separate pool of workers, so the latency of the Chat API
+ * does not affect the delivery of signals to entities. The updates of different threads are
+ * in flight at the same time, while the updates of a single thread are sent one after another
+ * in the order they are queued. This way, the thread created by the first update is known to
+ * the following ones.
+ *
+ * <p>The updates of a thread queued within the coalescing window are coalesced. An update
+ * is sent only if it is the latest one of the window or it notifies about a failed build.
+ * The rest of the updates are confirmed as
+ * {@linkplain ConfirmBuildStateUpdate#getSupersededList() superseded} by the next sent one.
+ * This way, a burst of build state changes does not turn into a burst of Chat API calls, while
+ * a failure is never hidden by a later state, e.g. by the recovery following it. The updates
+ * are coalesced per thread, i.e. per repository, so the updates of several repositories of
+ * the same space are still sent as separate messages.
+ *
+ * <p>A failed send is retried up to {@code CHAT_BOT_CHAT_SEND_ATTEMPTS} times, 5 by default,
+ * with an exponential backoff starting at {@code CHAT_BOT_CHAT_SEND_BACKOFF}, one second by
+ * default. A sent update is confirmed to the {@link ThreadChatProcess} with
+ * the {@link ConfirmBuildStateUpdate} command. If the command bus does not acknowledge
+ * the confirmation, only the confirmation is retried in the same way, so the sent message is
+ * not sent once again. An update which is not sent or not confirmed stays in the outbox
+ * of the process and is queued once again later.
+ *
+ * <p>If an update of a thread which is not yet created fails to be sent, the following updates
+ * of the thread already scheduled for sending are not sent either, so that they do not create
+ * another thread. They stay in the outbox as well.
+ *
+ * <p>Every {@code CHAT_BOT_OUTBOX_SWEEP_PERIOD}, one minute by default, starting one period
+ * after the start of the application, the sender sweeps the outboxes of all the threads and
+ * sends the {@linkplain ThreadChatProcess#staleUpdates(Timestamp) stale} updates once again.
+ */
+final class BuildStateUpdateSender extends AbstractEventSubscriber {
+
+    private static final String SENDER_THREADS = "CHAT_BOT_CHAT_SENDER_THREADS";
+    private static final int DEFAULT_SENDER_THREADS = 4;
+    private static final String SEND_ATTEMPTS = "CHAT_BOT_CHAT_SEND_ATTEMPTS";
+    private static final int DEFAULT_SEND_ATTEMPTS = 5;
+    private static final String SEND_BACKOFF = "CHAT_BOT_CHAT_SEND_BACKOFF";
+    private static final Duration DEFAULT_SEND_BACKOFF = Duration.ofSeconds(1);
+    private static final String COALESCING_WINDOW = "CHAT_BOT_CHAT_COALESCING_WINDOW";
+    private static final Duration DEFAULT_COALESCING_WINDOW = Duration.ofSeconds(5);
+    private static final String SWEEP_PERIOD = "CHAT_BOT_OUTBOX_SWEEP_PERIOD";
+    private static final Duration DEFAULT_SWEEP_PERIOD = Duration.ofMinutes(1);
+
+    private static final UserId ACTOR = UserId
+            .newBuilder()
+            .setValue("google-chat-sender")
+            .vBuild();
+
+    private final GoogleChatClient client;
+    private final Function<Timestamp, ImmutableList<BuildStateUpdateQueued>> staleUpdates;
+    private final Executor workers;
+    private final ScheduledExecutorService timer;
+    private final int attempts;
+    private final Duration backoff;
+    private final Duration coalescingWindow;
+    private final Duration sweepPeriod;
+    private final ActorRequestFactory requests = ActorRequestFactory
+            .newBuilder()
+            .setActor(ACTOR)
+            .build();
+
+    /**
+     * The last scheduled send per thread resolving to the resource of the thread.
+     *
+     * <p>A send is removed once it is completed. The send is completed exceptionally if
+     * the update is not sent.
+     */
+    private final Map<ThreadId, CompletableFuture<ThreadResource>> lastSends =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The updates which are already scheduled for sending.
+     */
+    private final Set<UpdateKey> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The updates per thread waiting for the coalescing window to pass.
+     */
+    private final Map<ThreadId, Batch> batches = new ConcurrentHashMap<>();
+
+    private @MonotonicNonNull CommandBus commandBus;
+
+    /**
+     * Creates a new sender which uses the supplied {@code workers} to send the updates.
+     *
+     * @param client
+     *         the client to send the updates with
+     * @param staleUpdates
+     *         the source of the stale updates of all the threads as of the passed time
+     * @param workers
+     *         the executor to confirm the updates with
+     * @param timer
+     *         the timer to schedule the sending of the batches, the retries and the sweeps
+     * @param coalescingWindow
+     *         the time to collect the updates of a thread before sending the latest of them
+     */
+    BuildStateUpdateSender(GoogleChatClient client,
+                           Function<Timestamp, ImmutableList<BuildStateUpdateQueued>> staleUpdates,
+                           Executor workers,
+                           ScheduledExecutorService timer,
+                           Duration coalescingWindow) {
+        super();
+        this.client = checkNotNull(client);
+        this.staleUpdates = checkNotNull(staleUpdates);
+        this.workers = checkNotNull(workers);
+        this.timer = checkNotNull(timer);
+        this.coalescingWindow = checkNotNull(coalescingWindow);
+        this.attempts = Settings.intValue(SEND_ATTEMPTS, DEFAULT_SEND_ATTEMPTS);
+        this.backoff = Settings.durationValue(SEND_BACKOFF, DEFAULT_SEND_BACKOFF);
+        this.sweepPeriod = Settings.durationValue(SWEEP_PERIOD, DEFAULT_SWEEP_PERIOD);
+    }
+
+    /**
+     * Creates a new pool of daemon workers sized by {@code CHAT_BOT_CHAT_SENDER_THREADS}.
+     */
+    static Executor newWorkerPool() {
+        var threads = Settings.intValue(SENDER_THREADS, DEFAULT_SENDER_THREADS);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "google-chat-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a new daemon timer to schedule the delayed work of the sender.
+     */
+    static ScheduledExecutorService newTimer() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "google-chat-sender-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the coalescing window configured by {@code CHAT_BOT_CHAT_COALESCING_WINDOW},
+     * five seconds by default.
+     */
+    static Duration configuredCoalescingWindow() {
+        return Settings.durationValue(COALESCING_WINDOW, DEFAULT_COALESCING_WINDOW);
+    }
+
+    /**
+     * Registers the sender with the {@code context} and schedules the sweeps of the outboxes.
+     */
+    @Override
+    public void registerWith(BoundedContext context) {
+        super.registerWith(context);
+        this.commandBus = context.commandBus();
+        scheduleSweep();
+    }
+
+    private void scheduleSweep() {
+        CompletableFuture
+                .runAsync(this::sweep, after(sweepPeriod))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        _error().withCause(error)
+                                .log("Cannot sweep the outboxes of the threads.");
+                    }
+                    scheduleSweep();
+                });
+    }
+
+    /**
+     * Sends the stale updates of all the threads once again.
+     *
+     * <p>The updates which are still being sent are skipped.
+     */
+    private void sweep() {
+        var stale = staleUpdates.apply(Time.currentTime());
+        if (!stale.isEmpty()) {
+            _warn().log("Re-sending %d unconfirmed build state updates.", stale.size());
+        }
+        stale.forEach(this::on);
+    }
+
+    /**
+     * Collects the queued update into the batch of the thread.
+     *
+     * <p>The batch is sent after the coalescing window passes. If the window is zero,
+     * the update is sent right away.
+     */
+    @Subscribe
+    void on(BuildStateUpdateQueued e) {
+        var key = new UpdateKey(e.getThread(), e.getNumber());
+        if (!inFlight.add(key)) {
+            _debug().log("The update #%d for the thread `%s` is already being sent.",
+                         e.getNumber(), e.getThread().getValue());
+            return;
+        }
+        if (coalescingWindow.isZero()) {
+            send(new Batch(e));
+            return;
+        }
+        batches.compute(e.getThread(), (thread, batch) -> {
+            if (batch == null) {
+                after(coalescingWindow).execute(() -> flush(thread));
+                return new Batch(e);
+            }
+            batch.add(e);
+            return batch;
+        });
+    }
+
+    private void flush(ThreadId thread) {
+        var batch = batches.remove(thread);
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Schedules sending of the coalesced updates of the batch one after another.
+     */
+    private void send(Batch batch) {
+        batch.coalesce()
+             .forEach(this::send);
+    }
+
+    /**
+     * Schedules sending of the update after the previous updates of the thread.
+     */
+    private void send(Coalesced coalesced) {
+        var latest = coalesced.update();
+        var superseded = coalesced.superseded();
+        if (!superseded.isEmpty()) {
+            _debug().log("The updates %s for the thread `%s` are coalesced into the update #%d.",
+                         superseded, latest.getThread().getValue(), latest.getNumber());
+        }
+        var thread = latest.getThread();
+        var sent = new CompletableFuture<ThreadResource>();
+        var previous = lastSends.put(thread, sent);
+        var knownResource = previous != null
+                            ? previous
+                            : CompletableFuture.completedFuture(latest.getResource());
+        knownResource
+                .handle((known, error) -> error == null
+                                          ? Optional.of(known)
+                                          : Optional.<ThreadResource>empty())
+                .thenCompose(known -> sendAfter(known, latest, superseded))
+                .whenComplete((resource, error) -> {
+                    inFlight.remove(new UpdateKey(thread, latest.getNumber()));
+                    superseded.forEach(number -> inFlight.remove(new UpdateKey(thread, number)));
+                    lastSends.remove(thread, sent);
+                    if (error == null) {
+                        sent.complete(resource);
+                    } else {
+                        sent.completeExceptionally(error);
+                    }
+                });
+    }
+
+    /**
+     * Sends the update following the previous send of the thread.
+     *
+     * @param known
+     *         the resource of the thread known after the previous send, or empty if
+     *         the previous send failed
+     */
+    private CompletableFuture<ThreadResource>
+    sendAfter(Optional<ThreadResource> known,
+              BuildStateUpdateQueued e,
+              ImmutableList<Integer> superseded) {
+        if (isDefault(e.getResource()) && known.isEmpty()) {
+            _warn().log("The update #%d for the thread `%s` is not sent, as the previous update " +
+                                "of the thread is not sent. The update stays in the outbox.",
+                        e.getNumber(), e.getThread().getValue());
+            return CompletableFuture.failedFuture(newIllegalStateException(
+                    "The thread `%s` is unknown after a failed send.", e.getThread().getValue()
+            ));
+        }
+        var resource = isDefault(e.getResource()) ? known.get() : e.getResource();
+        return send(e, superseded, resource);
+    }
+
+    /**
+     * Sends the update to the thread {@code resource} and confirms it.
+     *
+     * @return the future of the resource of the thread known after the send, completed
+     *         exceptionally if the update is not sent
+     */
+    private CompletableFuture<ThreadResource>
+    send(BuildStateUpdateQueued e, ImmutableList<Integer> superseded, ThreadResource resource) {
+        return sendWithRetries(e.getBuild(), resource, 1, backoff)
+                .thenApplyAsync(update -> {
+                    confirm(e, superseded, update);
+                    return update.getResource();
+                }, workers)
+                .whenComplete((sent, error) -> {
+                    if (error != null) {
+                        _error().withCause(error)
+                                .log("Cannot send the update #%d for the thread `%s`.",
+                                     e.getNumber(), e.getThread().getValue());
+                    }
+                });
+    }
+
+    private CompletableFuture<BuildStateUpdate>
+    sendWithRetries(Build build, ThreadResource resource, int attempt, Duration delay) {
+        return client
+                .sendBuildStateUpdateAsync(build, resource)
+                .exceptionallyCompose(error -> {
+                    if (attempt >= attempts) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+                    _warn().withCause(error)
+                           .log("Cannot send the build `%s` state update. Retrying in `%s`.",
+                                build.getNumber(), delay);
+                    return CompletableFuture
+                            .runAsync(() -> {}, after(delay))
+                            .thenCompose(ignored -> sendWithRetries(
+                                    build, resource, attempt + 1, delay.multipliedBy(2)
+                            ));
+                });
+    }
+
+    /**
+     * Returns the executor which runs the tasks on the workers once the {@code delay} passes.
+     */
+    private Executor after(Duration delay) {
+        return task -> timer.schedule(
+                () -> workers.execute(task), delay.toMillis(), MILLISECONDS
+        );
+    }
+
+    private void
+    confirm(BuildStateUpdateQueued e, ImmutableList<Integer> superseded, BuildStateUpdate update) {
+        var confirmation = ConfirmBuildStateUpdate
+                .newBuilder()
+                .setThread(e.getThread())
+                .setNumber(e.getNumber())
+                .setUpdate(update)
+                .addAllSuperseded(superseded)
+                .vBuild();
+        confirmWithRetries(confirmation, 1, backoff)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        _error().withCause(error)
+                                .log("Cannot confirm the update #%d for the thread `%s`. " +
+                                             "The update stays in the outbox.",
+                                     e.getNumber(), e.getThread().getValue());
+                    }
+                });
+    }
+
+    private CompletableFuture<Void>
+    confirmWithRetries(ConfirmBuildStateUpdate confirmation, int attempt, Duration delay) {
+        return post(confirmation)
+                .exceptionallyCompose(error -> {
+                    if (attempt >= attempts) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+                    _warn().withCause(error)
+                           .log("Cannot confirm the update #%d for the thread `%s`. " +
+                                        "Retrying in `%s`.",
+                                confirmation.getNumber(),
+                                confirmation.getThread().getValue(),
+                                delay);
+                    return CompletableFuture
+                            .runAsync(() -> {}, after(delay))
+                            .thenCompose(ignored -> confirmWithRetries(
+                                    confirmation, attempt + 1, delay.multipliedBy(2)
+                            ));
+                });
+    }
+
+    /**
+     * Posts the confirmation to the command bus.
+     *
+     * @return the future completed once the command is acknowledged, or completed
+     *         exceptionally if the command bus fails to accept the command
+     */
+    private CompletableFuture<Void> post(ConfirmBuildStateUpdate confirmation) {
+        var command = requests.command()
+                              .create(confirmation);
+        var acknowledged = new CompletableFuture<Void>();
+        try {
+            commandBus.post(command, new AckObserver(acknowledged));
+        } catch (RuntimeException e) {
+            acknowledged.completeExceptionally(e);
+        }
+        return acknowledged;
+    }
+
+    /**
+     * The updates of a single thread queued within the coalescing window.
+     */
+    private static final class Batch {
+
+        private final List<BuildStateUpdateQueued> updates = new ArrayList<>();
+
+        private Batch(BuildStateUpdateQueued first) {
+            updates.add(first);
+        }
+
+        private void add(BuildStateUpdateQueued update) {
+            updates.add(update);
+        }
+
+        /**
+         * Splits the updates into the ones to send.
+         *
+         * <p>The updates are sent in the order of their numbers. The latest update and every
+         * update about a failed build are sent. Each of the others is superseded by the next
+         * sent update.
+         */
+        private ImmutableList<Coalesced> coalesce() {
+            var sorted = updates.stream()
+                                .sorted(comparingInt(BuildStateUpdateQueued::getNumber))
+                                .collect(toImmutableList());
+            var latest = sorted.get(sorted.size() - 1);
+            var result = ImmutableList.<Coalesced>builder();
+            var superseded = ImmutableList.<Integer>builder();
+            for (var update : sorted) {
+                if (update.getNumber() == latest.getNumber() || update.getBuild().failed()) {
+                    result.add(new Coalesced(update, superseded.build()));
+                    superseded = ImmutableList.builder();
+                } else {
+                    superseded.add(update.getNumber());
+                }
+            }
+            return result.build();
+        }
+    }
+
+    /**
+     * An update to send along with the numbers of the earlier updates it supersedes.
+     */
+    private record Coalesced(BuildStateUpdateQueued update, ImmutableList<Integer> superseded) {
+    }
+
+    /**
+     * Completes the future once the posted command is acknowledged.
+     *
+     * <p>A command which is rejected by the bus, e.g. as invalid, completes the future
+     * exceptionally.
+     */
+    private static final class AckObserver implements StreamObserver<Ack> {
+
+        private final CompletableFuture<Void> acknowledged;
+
+        private AckObserver(CompletableFuture<Void> acknowledged) {
+            this.acknowledged = acknowledged;
+        }
+
+        @Override
+        public void onNext(Ack ack) {
+            var status = ack.getStatus();
+            if (status.hasError()) {
+                var error = status.getError();
+                acknowledged.completeExceptionally(newIllegalStateException(
+                        "The command is not acknowledged: `%s`.", error.getMessage()
+                ));
+            } else {
+                acknowledged.complete(null);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            acknowledged.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            acknowledged.complete(null);
+        }
+    }
+
+    /**
+     * Identifies a queued update.
+     */
+    private record UpdateKey(ThreadId thread, int number) {
+    }
+}
@@ -33,6 +33,11 @@ import io.spine.server.BoundedContext;
 import io.spine.server.BoundedContextBuilder;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -47,8 +52,11 @@ public final class GoogleChatContext implements ContextBuilderAware {
 
     private final BoundedContextBuilder builder;
 
-    private GoogleChatContext(GoogleChatClient client) {
-        this.builder = configureBuilder(checkNotNull(client));
+    private GoogleChatContext(Builder contextBuilder) {
+        this.builder = configureBuilder(contextBuilder.client,
+                                        contextBuilder.senderExecutor,
+                                        contextBuilder.senderTimer,
+                                        contextBuilder.coalescingWindow);
     }
 
     /**
@@ -63,13 +71,22 @@ public final class GoogleChatContext implements ContextBuilderAware {
      * Creates a new instance of the Google Chat context builder.
      */
     private static BoundedContextBuilder
-    configureBuilder(GoogleChatClient client) {
+    configureBuilder(GoogleChatClient client,
+                     Executor senderExecutor,
+                     ScheduledExecutorService senderTimer,
+                     Duration coalescingWindow) {
+        var threadChats = new ThreadChatRepository();
+        var sender = new BuildStateUpdateSender(
+                client, threadChats::staleUpdates, senderExecutor, senderTimer, coalescingWindow
+        );
         return BoundedContext
                 .singleTenant(GOOGLE_CHAT_CONTEXT_NAME)
                 .add(new SpaceRepository())
                 .add(new ThreadRepository())
-                .add(new ThreadChatRepository(client))
+                .add(new ThreadMessageRepository())
+                .add(threadChats)
                 .addEventDispatcher(new IncomingEventsHandler())
+                .addEventDispatcher(sender)
                 .addEventDispatcher(new DiagnosticEventLogger());
     }
 
@@ -93,6 +110,9 @@ public final class GoogleChatContext implements ContextBuilderAware {
     public static final class Builder {
 
         private @MonotonicNonNull GoogleChatClient client;
+        private @MonotonicNonNull Executor senderExecutor;
+        private @MonotonicNonNull ScheduledExecutorService senderTimer;
+        private @MonotonicNonNull Duration coalescingWindow;
 
         /**
          * Prevents direct instantiation.
@@ -108,14 +128,56 @@ public final class GoogleChatContext implements ContextBuilderAware {
             return this;
         }
 
+        /**
+         * Sets the executor to send the messages to Google Chat with.
+         */
+        public Builder setSenderExecutor(Executor executor) {
+            this.senderExecutor = checkNotNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets the timer to schedule the delayed sending of the messages to Google Chat with.
+         */
+        public Builder setSenderTimer(ScheduledExecutorService timer) {
+            this.senderTimer = checkNotNull(timer);
+            return this;
+        }
+
+        /**
+         * Sets the time to collect the build state updates of a thread before sending
+         * a single message about the latest of them.
+         *
+         * <p>If the window is zero, each update is sent right away.
+         */
+        public Builder setCoalescingWindow(Duration window) {
+            checkNotNull(window);
+            checkArgument(!window.isNegative(), "The coalescing window must not be negative.");
+            this.coalescingWindow = window;
+            return this;
+        }
+
         /**
          * Finishes configuration of the context and builds a new instance.
+         *
+         * <p>If the sender executor or the sender timer were not explicitly configured, uses
+         * new daemon threads. If the coalescing window was not explicitly configured,
+         * uses the {@code CHAT_BOT_CHAT_COALESCING_WINDOW} setting.
          */
         public GoogleChatContext build() {
             if (client == null) {
                 client = GoogleChatClient.newInstance();
             }
-            return new GoogleChatContext(client);
+            if (senderExecutor == null) {
+                senderExecutor = BuildStateUpdateSender.newWorkerPool();
+            }
+            if (senderTimer == null) {
+                senderTimer = BuildStateUpdateSender.newTimer();
+            }
+            if (coalescingWindow == null) {
+                coalescingWindow = BuildStateUpdateSender.configuredCoalescingWindow();
+            }
+            return new GoogleChatContext(this);
         }
     }
 }
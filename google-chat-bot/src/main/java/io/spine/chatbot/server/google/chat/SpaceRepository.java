@@ -32,11 +32,22 @@ import io.spine.chatbot.google.chat.incoming.event.BotAddedToSpace;
 import io.spine.server.aggregate.AggregateRepository;
 import io.spine.server.route.EventRouting;
 
+import static io.spine.chatbot.server.SnapshotTriggers.snapshotTrigger;
+
 /**
  * The repository for {@link SpaceAggregate}s.
+ *
+ * <p>The number of events between the space snapshots is configured through
+ * the {@code CHAT_BOT_SPACE_SNAPSHOT_TRIGGER} setting.
  */
 final class SpaceRepository extends AggregateRepository<SpaceId, SpaceAggregate, Space> {
 
+    static final String SNAPSHOT_TRIGGER = "CHAT_BOT_SPACE_SNAPSHOT_TRIGGER";
+
+    SpaceRepository() {
+        setSnapshotTrigger(snapshotTrigger(SNAPSHOT_TRIGGER));
+    }
+
     @Override
     protected void setupEventRouting(EventRouting<SpaceId> routing) {
         super.setupEventRouting(routing);
@@ -26,25 +26,53 @@
 
 package io.spine.chatbot.server.google.chat;
 
+import io.spine.chatbot.config.Settings;
 import io.spine.chatbot.google.chat.ThreadId;
 import io.spine.chatbot.google.chat.event.MessageCreated;
 import io.spine.chatbot.google.chat.event.ThreadCreated;
 import io.spine.chatbot.google.chat.thread.Thread;
+import io.spine.chatbot.google.chat.thread.ThreadOrBuilder;
 import io.spine.chatbot.google.chat.thread.event.MessageAdded;
 import io.spine.chatbot.google.chat.thread.event.ThreadInitialized;
+import io.spine.core.EventContext;
 import io.spine.logging.Logging;
 import io.spine.server.aggregate.Aggregate;
 import io.spine.server.aggregate.Apply;
 import io.spine.server.event.React;
 
+import java.util.ArrayList;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * A thread in a chat room.
  *
  * <p>A new thread is initialized as early as a new conversation is started in the room.
  * It happens once the first message is posted to the conversation.
+ *
+ * <p>The thread keeps only a bounded number of the most recent messages configured through
+ * the {@code CHAT_BOT_THREAD_RECENT_MESSAGES} setting. The full history of messages is
+ * available through the {@link ThreadMessageProjection}.
+ *
+ * <p>Before the history was bounded, the thread kept all of its messages in the list of
+ * the recent ones. The message count of such a thread is restored from the size of
+ * the list once a new message is added. The time of the first message of such a thread
+ * remains unknown.
  */
 final class ThreadAggregate extends Aggregate<ThreadId, Thread, Thread.Builder> implements Logging {
 
+    static final String RECENT_MESSAGES = "CHAT_BOT_THREAD_RECENT_MESSAGES";
+
+    private static final int DEFAULT_RECENT_MESSAGES = 10;
+    private static final int MAX_RECENT_MESSAGES = maxRecentMessages();
+
+    private static int maxRecentMessages() {
+        var result = Settings.intValue(RECENT_MESSAGES, DEFAULT_RECENT_MESSAGES);
+        checkArgument(result > 0,
+                      "The setting `%s` value `%s` must be positive.", RECENT_MESSAGES, result);
+        return result;
+    }
+
     /**
      * Initializes the thread information upon the creation of the thread.
      */
@@ -69,7 +97,7 @@ final class ThreadAggregate extends Aggregate<ThreadId, Thread, Thread.Builder>
      * Acknowledges creation of a new thread message.
      */
     @React
-    MessageAdded on(MessageCreated e) {
+    MessageAdded on(MessageCreated e, EventContext context) {
         var message = e.getMessage();
         var thread = e.getThread();
         _info().log("A new message `%s` added to the thread `%s`.",
@@ -78,11 +106,41 @@ final class ThreadAggregate extends Aggregate<ThreadId, Thread, Thread.Builder>
                 .newBuilder()
                 .setMessage(message)
                 .setThread(thread)
+                .setNumber(messageCount(state()) + 1)
+                .setWhenAdded(context.getTimestamp())
                 .vBuild();
     }
 
     @Apply
     private void on(MessageAdded e) {
-        builder().addMessage(e.getMessage());
+        var builder = builder();
+        var count = messageCount(builder);
+        var recent = new ArrayList<>(builder.getRecentMessageList());
+        recent.add(e.getMessage());
+        var overflow = recent.size() - MAX_RECENT_MESSAGES;
+        if (overflow > 0) {
+            recent.subList(0, overflow)
+                  .clear();
+        }
+        builder.clearRecentMessage()
+               .addAllRecentMessage(recent)
+               .setMessageCount(count + 1);
+        if (e.hasWhenAdded()) {
+            if (count == 0) {
+                builder.setWhenFirstMessageAdded(e.getWhenAdded());
+            }
+            builder.setWhenLastMessageAdded(e.getWhenAdded());
+        }
+    }
+
+    /**
+     * Returns the number of the messages in the thread.
+     *
+     * <p>A thread started before the messages were counted has the zero count while all of
+     * its messages are listed as the recent ones.
+     */
+    private static int messageCount(ThreadOrBuilder thread) {
+        var count = thread.getMessageCount();
+        return count > 0 ? count : thread.getRecentMessageCount();
     }
 }
@@ -26,58 +26,81 @@
 
 package io.spine.chatbot.server.google.chat;
 
-import com.google.errorprone.annotations.concurrent.LazyInit;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Durations;
+import com.google.protobuf.util.Timestamps;
+import io.spine.chatbot.config.Settings;
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.repository.build.Build;
 import io.spine.chatbot.github.repository.build.event.BuildCanceled;
 import io.spine.chatbot.github.repository.build.event.BuildFailed;
 import io.spine.chatbot.github.repository.build.event.BuildRecovered;
-import io.spine.chatbot.google.chat.GoogleChatClient;
 import io.spine.chatbot.google.chat.ThreadId;
 import io.spine.chatbot.google.chat.event.MessageCreated;
 import io.spine.chatbot.google.chat.event.ThreadCreated;
+import io.spine.chatbot.google.chat.thread.PendingBuildStateUpdate;
 import io.spine.chatbot.google.chat.thread.ThreadChat;
+import io.spine.chatbot.google.chat.thread.command.ConfirmBuildStateUpdate;
+import io.spine.chatbot.google.chat.thread.event.BuildStateUpdateQueued;
+import io.spine.chatbot.google.chat.thread.rejection.BuildStateUpdateNotPending;
+import io.spine.core.EventContext;
 import io.spine.core.External;
 import io.spine.protobuf.Messages;
+import io.spine.server.command.Assign;
 import io.spine.server.event.React;
 import io.spine.server.procman.ProcessManager;
 import io.spine.server.tuple.Pair;
-import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
-import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 
 /**
  * A process of notifying thread members about the changes in the watched resouces.
+ *
+ * <p>The process does not talk to the Google Chat API directly. A build state update is put
+ * to the outbox of the thread and {@linkplain BuildStateUpdateQueued queued} for
+ * the {@link BuildStateUpdateSender}, which then {@linkplain ConfirmBuildStateUpdate confirms}
+ * the update is sent.
+ *
+ * <p>If an update is not confirmed within {@code CHAT_BOT_OUTBOX_REDELIVERY_DELAY}, ten minutes
+ * by default, it is queued once again along with the next update of the thread. The sender
+ * also {@linkplain #staleUpdates(Timestamp) sweeps} the outboxes for such updates periodically,
+ * so an update of a thread which gets no further updates, e.g. one left unsent by a restart,
+ * is sent as well.
  */
 final class ThreadChatProcess extends ProcessManager<ThreadId, ThreadChat, ThreadChat.Builder> {
 
-    @LazyInit
-    private @MonotonicNonNull GoogleChatClient client;
+    private static final String REDELIVERY_DELAY = "CHAT_BOT_OUTBOX_REDELIVERY_DELAY";
+    private static final Duration DEFAULT_REDELIVERY_DELAY = Duration.ofMinutes(10);
+    private static final Duration redeliveryDelay =
+            Settings.durationValue(REDELIVERY_DELAY, DEFAULT_REDELIVERY_DELAY);
 
     /**
      * Notifies thread members about a failed CI build.
      */
     @React
-    Pair<MessageCreated, Optional<ThreadCreated>> on(@External BuildFailed e) {
+    Iterable<BuildStateUpdateQueued> on(@External BuildFailed e, EventContext context) {
         var change = e.getChange();
         var build = change.getNewValue();
         var repo = e.getRepository();
         _info().log("A build for the repository `%s` failed.", repo.getValue());
-        return processBuildStateUpdate(build, repo);
+        return queueBuildStateUpdate(build, repo, context.getTimestamp());
     }
 
     /**
      * Notifies thread members about a canceled CI build.
      */
     @React
-    Pair<MessageCreated, Optional<ThreadCreated>> on(@External BuildCanceled e) {
+    Iterable<BuildStateUpdateQueued> on(@External BuildCanceled e, EventContext context) {
         var change = e.getChange();
         var build = change.getNewValue();
         var repo = e.getRepository();
         _info().log("A build for the repository `%s` has been canceled.", repo.getValue());
-        return processBuildStateUpdate(build, repo);
+        return queueBuildStateUpdate(build, repo, context.getTimestamp());
     }
 
     /**
@@ -87,19 +110,41 @@ final class ThreadChatProcess extends ProcessManager<ThreadId, ThreadChat, Threa
      * {@code failed} to {@code passing}.
      */
     @React
-    Pair<MessageCreated, Optional<ThreadCreated>> on(@External BuildRecovered e) {
+    Iterable<BuildStateUpdateQueued> on(@External BuildRecovered e, EventContext context) {
         var change = e.getChange();
         var build = change.getNewValue();
         var repo = e.getRepository();
         _info().log("A build for the repository `%s` recovered.", repo.getValue());
-        return processBuildStateUpdate(build, repo);
+        return queueBuildStateUpdate(build, repo, context.getTimestamp());
     }
 
-    private Pair<MessageCreated, Optional<ThreadCreated>>
-    processBuildStateUpdate(Build build, RepositoryId repo) {
-        var sentUpdate = client.sendBuildStateUpdate(build, state().getResource());
+    /**
+     * Acknowledges the build state update sent to the Chat and removes it from the outbox.
+     *
+     * <p>The updates superseded by the sent one are removed from the outbox as well.
+     *
+     * <p>If the update created a new thread, also emits {@link ThreadCreated}.
+     *
+     * <p>If the update is no longer pending, e.g. the confirmation is delivered twice,
+     * throws the {@link BuildStateUpdateNotPending} rejection, so the sent message is
+     * recorded only once.
+     */
+    @Assign
+    Pair<MessageCreated, Optional<ThreadCreated>> handle(ConfirmBuildStateUpdate c)
+            throws BuildStateUpdateNotPending {
+        var number = c.getNumber();
+        if (!isPending(number)) {
+            _warn().log("The update #%d for the thread `%s` is not pending.",
+                        number, id().getValue());
+            throw BuildStateUpdateNotPending.newBuilder()
+                    .setThread(id())
+                    .setNumber(number)
+                    .build();
+        }
+        var sentUpdate = c.getUpdate();
         var space = sentUpdate.getSpace();
         var thread = sentUpdate.getThread();
+        removePending(number, c.getSupersededList());
         var messageCreated = MessageCreated.newBuilder()
                 .setMessage(sentUpdate.getMessage())
                 .setSpace(space)
@@ -107,8 +152,8 @@ final class ThreadChatProcess extends ProcessManager<ThreadId, ThreadChat, Threa
                 .vBuild();
         if (shouldCreateThread()) {
             var resource = sentUpdate.getResource();
-            _debug().log("A new thread `%s` created for the repository `%s`.",
-                         resource.getName(), repo.getValue());
+            _debug().log("A new thread `%s` created for the thread `%s`.",
+                         resource.getName(), thread.getValue());
             builder().setResource(resource)
                      .setSpace(space);
             var threadCreated = ThreadCreated.newBuilder()
@@ -121,17 +166,112 @@ final class ThreadChatProcess extends ProcessManager<ThreadId, ThreadChat, Threa
         return Pair.withNullable(messageCreated, null);
     }
 
-    private boolean shouldCreateThread() {
-        return Messages.isDefault(state().getResource());
+    /**
+     * Puts the build state update to the outbox.
+     *
+     * <p>The pending updates which wait for the confirmation longer than
+     * the {@linkplain #redeliveryDelay redelivery delay} are queued once again.
+     */
+    private ImmutableList<BuildStateUpdateQueued>
+    queueBuildStateUpdate(Build build, RepositoryId repo, Timestamp whenQueued) {
+        var result = ImmutableList.<BuildStateUpdateQueued>builder();
+        var pending = ImmutableList.<PendingBuildStateUpdate>builder();
+        for (var update : state().getPendingUpdateList()) {
+            if (isStale(update, whenQueued)) {
+                _warn().log("Re-queueing the unconfirmed update #%d for the repository `%s`.",
+                            update.getNumber(), repo.getValue());
+                var requeued = update.toBuilder()
+                                     .setWhenQueued(whenQueued)
+                                     .vBuild();
+                pending.add(requeued);
+                result.add(queued(requeued));
+            } else {
+                pending.add(update);
+            }
+        }
+        var number = state().getLastUpdateNumber() + 1;
+        var update = PendingBuildStateUpdate
+                .newBuilder()
+                .setNumber(number)
+                .setBuild(build)
+                .setWhenQueued(whenQueued)
+                .vBuild();
+        builder().clearPendingUpdate()
+                 .addAllPendingUpdate(pending.build())
+                 .addPendingUpdate(update)
+                 .setLastUpdateNumber(number);
+        updateOutboxColumns();
+        result.add(queued(update));
+        return result.build();
+    }
+
+    private BuildStateUpdateQueued queued(PendingBuildStateUpdate update) {
+        return BuildStateUpdateQueued
+                .newBuilder()
+                .setThread(id())
+                .setNumber(update.getNumber())
+                .setBuild(update.getBuild())
+                .setResource(state().getResource())
+                .vBuild();
     }
 
     /**
-     * Sets {@link #client} to be used during handling of signals.
-     *
-     * @implNote the method is intended to be used as part of the entity configuration
-     *         done through the repository
+     * Returns the pending updates which wait for the confirmation longer than
+     * the {@linkplain #redeliveryDelay redelivery delay} as they were queued.
      */
-    void setClient(GoogleChatClient client) {
-        this.client = checkNotNull(client);
+    ImmutableList<BuildStateUpdateQueued> staleUpdates(Timestamp now) {
+        return state().getPendingUpdateList()
+                      .stream()
+                      .filter(update -> isStale(update, now))
+                      .map(this::queued)
+                      .collect(toImmutableList());
+    }
+
+    private boolean isPending(int number) {
+        return state().getPendingUpdateList()
+                      .stream()
+                      .anyMatch(update -> update.getNumber() == number);
+    }
+
+    private void removePending(int number, List<Integer> superseded) {
+        var remaining = state()
+                .getPendingUpdateList()
+                .stream()
+                .filter(update -> update.getNumber() != number)
+                .filter(update -> !superseded.contains(update.getNumber()))
+                .collect(toImmutableList());
+        builder().clearPendingUpdate()
+                 .addAllPendingUpdate(remaining);
+        updateOutboxColumns();
+    }
+
+    /**
+     * Updates the columns by which the {@linkplain ThreadChatRepository#staleUpdates(Timestamp)
+     * sweep} finds the threads with the stale updates.
+     */
+    private void updateOutboxColumns() {
+        var oldestQueued = builder()
+                .getPendingUpdateList()
+                .stream()
+                .map(PendingBuildStateUpdate::getWhenQueued)
+                .min(Timestamps.comparator());
+        builder().setHasPendingUpdate(oldestQueued.isPresent());
+        oldestQueued.ifPresentOrElse(builder()::setOldestQueued, builder()::clearOldestQueued);
+    }
+
+    /**
+     * Returns the time before which the pending updates queued are stale as of {@code now}.
+     */
+    static Timestamp staleCutoff(Timestamp now) {
+        return Timestamps.subtract(now, Durations.fromMillis(redeliveryDelay.toMillis()));
+    }
+
+    private static boolean isStale(PendingBuildStateUpdate update, Timestamp now) {
+        var waiting = Timestamps.toMillis(now) - Timestamps.toMillis(update.getWhenQueued());
+        return waiting >= redeliveryDelay.toMillis();
+    }
+
+    private boolean shouldCreateThread() {
+        return Messages.isDefault(state().getResource());
     }
 }
@@ -26,20 +26,26 @@
 
 package io.spine.chatbot.server.google.chat;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.annotations.OverridingMethodsMustInvokeSuper;
+import com.google.protobuf.Timestamp;
 import io.spine.chatbot.github.repository.RepositoryAware;
 import io.spine.chatbot.github.repository.build.event.BuildCanceled;
 import io.spine.chatbot.github.repository.build.event.BuildFailed;
 import io.spine.chatbot.github.repository.build.event.BuildRecovered;
-import io.spine.chatbot.google.chat.GoogleChatClient;
 import io.spine.chatbot.google.chat.ThreadId;
 import io.spine.chatbot.google.chat.thread.ThreadChat;
+import io.spine.chatbot.google.chat.thread.event.BuildStateUpdateQueued;
+import io.spine.client.ResponseFormat;
+import io.spine.client.TargetFilters;
 import io.spine.core.EventContext;
 import io.spine.server.procman.ProcessManagerRepository;
 import io.spine.server.route.EventRouting;
 
-import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.thread;
+import static io.spine.client.Filters.all;
+import static io.spine.client.Filters.eq;
+import static io.spine.client.Filters.le;
 
 /**
  * The repository for {@link ThreadChatProcess}es.
@@ -47,12 +53,8 @@ import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.thread;
 final class ThreadChatRepository
         extends ProcessManagerRepository<ThreadId, ThreadChatProcess, ThreadChat> {
 
-    private final GoogleChatClient client;
-
-    ThreadChatRepository(GoogleChatClient client) {
-        super();
-        this.client = checkNotNull(client);
-    }
+    private static final String HAS_PENDING_UPDATE = "has_pending_update";
+    private static final String OLDEST_QUEUED = "oldest_queued";
 
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -63,6 +65,27 @@ final class ThreadChatRepository
                .unicast(BuildCanceled.class, ThreadChatRepository::route);
     }
 
+    /**
+     * Returns the pending build state updates of all the threads which wait for
+     * the confirmation longer than the redelivery delay.
+     *
+     * <p>Only the threads which oldest pending update is stale are loaded. They are queried by
+     * the indexed {@code has_pending_update} and {@code oldest_queued} columns.
+     *
+     * @see ThreadChatProcess#staleUpdates(Timestamp)
+     */
+    ImmutableList<BuildStateUpdateQueued> staleUpdates(Timestamp now) {
+        var cutoff = ThreadChatProcess.staleCutoff(now);
+        var filters = TargetFilters
+                .newBuilder()
+                .addFilter(all(eq(HAS_PENDING_UPDATE, true), le(OLDEST_QUEUED, cutoff)))
+                .build();
+        var result = ImmutableList.<BuildStateUpdateQueued>builder();
+        find(filters, ResponseFormat.getDefaultInstance())
+                .forEachRemaining(process -> result.addAll(process.staleUpdates(now)));
+        return result.build();
+    }
+
     private static ThreadId route(
             RepositoryAware e,
             @SuppressWarnings("unused" /* Required to avoid ambiguous routing. */) EventContext c
@@ -70,9 +93,4 @@ final class ThreadChatRepository
         var repository = e.repository();
         return thread(repository.getValue());
     }
-
-    @Override
-    protected void configure(ThreadChatProcess processManager) {
-        processManager.setClient(client);
-    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.google.chat;
+
+import io.spine.chatbot.google.chat.MessageId;
+import io.spine.chatbot.google.chat.thread.ThreadMessage;
+import io.spine.chatbot.google.chat.thread.event.MessageAdded;
+import io.spine.core.Subscribe;
+import io.spine.server.projection.Projection;
+
+/**
+ * A message posted by the bot to a thread.
+ *
+ * <p>Each message is a separate projection which is written once, so the history of a thread
+ * grows by adding new records rather than by growing the thread state.
+ *
+ * <p>The projection is not migrated: the messages added to a thread before the projection
+ * was introduced are not listed. Such messages remain only among the recent messages of
+ * the {@link ThreadAggregate} state.
+ */
+final class ThreadMessageProjection
+        extends Projection<MessageId, ThreadMessage, ThreadMessage.Builder> {
+
+    /**
+     * Records the message added to the thread.
+     */
+    @Subscribe
+    void on(MessageAdded e) {
+        builder().setThread(e.getThread())
+                 .setNumber(e.getNumber())
+                 .setWhenAdded(e.getWhenAdded());
+    }
+}
@@ -26,6 +26,7 @@
 
 package io.spine.chatbot.server.google.chat;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.spine.chatbot.google.chat.ThreadId;
 import io.spine.chatbot.google.chat.event.MessageCreated;
 import io.spine.chatbot.google.chat.event.ThreadCreated;
@@ -33,11 +34,33 @@ import io.spine.chatbot.google.chat.thread.Thread;
 import io.spine.server.aggregate.AggregateRepository;
 import io.spine.server.route.EventRouting;
 
+import static io.spine.chatbot.server.SnapshotTriggers.snapshotTrigger;
+
 /**
  * The repository for {@link ThreadAggregate}s.
+ *
+ * <p>A thread receives an event per each message posted to it, so the thread snapshots
+ * are taken more often than for the other aggregates. The number of events between
+ * the snapshots is configured through the {@code CHAT_BOT_THREAD_SNAPSHOT_TRIGGER} setting.
  */
 final class ThreadRepository extends AggregateRepository<ThreadId, ThreadAggregate, Thread> {
 
+    static final String SNAPSHOT_TRIGGER = "CHAT_BOT_THREAD_SNAPSHOT_TRIGGER";
+
+    private static final int DEFAULT_SNAPSHOT_TRIGGER = 20;
+
+    ThreadRepository() {
+        this(snapshotTrigger(SNAPSHOT_TRIGGER, DEFAULT_SNAPSHOT_TRIGGER));
+    }
+
+    /**
+     * Creates a new repository taking a snapshot each {@code snapshotTrigger} events.
+     */
+    @VisibleForTesting
+    ThreadRepository(int snapshotTrigger) {
+        setSnapshotTrigger(snapshotTrigger);
+    }
+
     @Override
     protected void setupEventRouting(EventRouting<ThreadId> routing) {
         super.setupEventRouting(routing);
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.cache.Cache;
+import com.google.protobuf.Message;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.RecordStorageDelegate;
+import io.spine.server.storage.RecordWithColumns;
+
+import java.util.Optional;
+
+/**
+ * A {@link RecordStorage} which reads the records through the cache.
+ *
+ * <p>The written records are put into the cache once they are stored by the delegate.
+ * The deleted records are evicted from the cache.
+ *
+ * <p>The queries other than reading a single record by its identifier are always
+ * served by the delegate.
+ *
+ * @param <I>
+ *         the type of the record identifiers
+ * @param <R>
+ *         the type of the stored records
+ */
+final class CachingRecordStorage<I, R extends Message> extends RecordStorageDelegate<I, R> {
+
+    private final Cache<RecordKey, Message> cache;
+
+    CachingRecordStorage(RecordStorage<I, R> delegate, Cache<RecordKey, Message> cache) {
+        super(delegate);
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<R> read(I id) {
+        var key = keyOf(id);
+        @SuppressWarnings("unchecked") // Only the records of this storage are cached by its keys.
+        var cached = (R) cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var result = super.read(id);
+        result.ifPresent(record -> cache.put(key, record));
+        return result;
+    }
+
+    @Override
+    protected void writeRecord(RecordWithColumns<I, R> record) {
+        super.writeRecord(record);
+        cache.put(keyOf(record.id()), record.record());
+    }
+
+    @Override
+    protected void writeAllRecords(Iterable<? extends RecordWithColumns<I, R>> records) {
+        super.writeAllRecords(records);
+        for (var record : records) {
+            cache.put(keyOf(record.id()), record.record());
+        }
+    }
+
+    @Override
+    protected boolean deleteRecord(I id) {
+        cache.invalidate(keyOf(id));
+        return super.deleteRecord(id);
+    }
+
+    @Override
+    protected void deleteAllRecords(Iterable<I> ids) {
+        for (var id : ids) {
+            cache.invalidate(keyOf(id));
+        }
+        super.deleteAllRecords(ids);
+    }
+
+    private RecordKey keyOf(I id) {
+        return new RecordKey(this, id);
+    }
+}
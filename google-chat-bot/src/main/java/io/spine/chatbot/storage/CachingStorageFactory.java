@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.Message;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.spine.chatbot.config.Settings;
+import io.spine.server.ContextSpec;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory} which caches the recently read and written entity records
+ * in memory.
+ *
+ * <p>The records are cached by their identifiers in a single cache shared by all the entity
+ * storages. The cache is bounded by the total serialized size of the records, configured
+ * through the {@code CHAT_BOT_ENTITY_CACHE_MAX_BYTES} setting (32 MiB by default).
+ *
+ * <p>The cache is local to the application instance and is not invalidated by the writes
+ * of the other instances. When several instances run at once, e.g. while Cloud Run scales
+ * the service out or replaces a revision, an instance may read a record cached before
+ * another instance changed it. Such stale reads are bounded only by
+ * the {@code CHAT_BOT_ENTITY_CACHE_TTL} (ISO-8601, 1 minute by default) after which
+ * the cached records expire. Therefore, the cache is only safe for a deployment limited
+ * to a single instance, e.g. with the maximum number of instances set to one, and is
+ * {@linkplain #isEnabled() disabled} unless the {@code CHAT_BOT_ENTITY_CACHE} setting
+ * is {@code true}.
+ *
+ * <p>Only single-tenant entity storages are cached. Other storages are created by
+ * the delegate factory as is.
+ */
+public final class CachingStorageFactory implements StorageFactoryDecorator {
+
+    static final String ENABLED = "CHAT_BOT_ENTITY_CACHE";
+    static final String MAX_BYTES = "CHAT_BOT_ENTITY_CACHE_MAX_BYTES";
+    static final String TTL = "CHAT_BOT_ENTITY_CACHE_TTL";
+
+    private static final int DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    private final StorageFactory delegate;
+    private final Cache<RecordKey, Message> cache;
+
+    @VisibleForTesting
+    CachingStorageFactory(StorageFactory delegate, long maxBytes, Duration ttl, Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = CacheBuilder
+                .newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(CachingStorageFactory::weigh)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, "chatbot.storage.entity.cache");
+    }
+
+    /**
+     * Tells whether the cache is enabled through the {@code CHAT_BOT_ENTITY_CACHE} setting.
+     *
+     * <p>The cache is disabled by default, as it is not safe for several instances
+     * of the application running at once.
+     */
+    public static boolean isEnabled() {
+        return Settings.booleanValue(ENABLED, false);
+    }
+
+    /**
+     * Wraps the {@code delegate} factory into the caching one configured
+     * through the application settings.
+     */
+    public static CachingStorageFactory wrap(StorageFactory delegate) {
+        checkNotNull(delegate);
+        var maxBytes = Settings.intValue(MAX_BYTES, DEFAULT_MAX_BYTES);
+        var ttl = Settings.durationValue(TTL, DEFAULT_TTL);
+        return new CachingStorageFactory(delegate, maxBytes, ttl, Ticker.systemTicker());
+    }
+
+    @Override
+    public <I, R extends Message> RecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+        var storage = delegate.createRecordStorage(context, recordSpec);
+        if (context.isMultitenant() || !isEntityRecordSpec(recordSpec)) {
+            return storage;
+        }
+        return new CachingRecordStorage<>(storage, cache);
+    }
+
+    @Override
+    public StorageFactory delegate() {
+        return delegate;
+    }
+
+    private static boolean isEntityRecordSpec(RecordSpec<?, ?, ?> recordSpec) {
+        return EntityRecord.class.equals(recordSpec.storedType());
+    }
+
+    private static int weigh(RecordKey key, Message record) {
+        return record.getSerializedSize();
+    }
+
+    @Override
+    public void close() throws Exception {
+        cache.invalidateAll();
+        delegate.close();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.ContextSpec;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory} which keeps track of the created event storages to
+ * {@linkplain #compactEvents() compact} them.
+ */
+public final class EventArchivingStorageFactory implements StorageFactoryDecorator {
+
+    private final StorageFactory delegate;
+    private final List<EventStorage> eventStorages = new CopyOnWriteArrayList<>();
+
+    private EventArchivingStorageFactory(StorageFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the {@code delegate} factory.
+     */
+    public static EventArchivingStorageFactory wrap(StorageFactory delegate) {
+        checkNotNull(delegate);
+        return new EventArchivingStorageFactory(delegate);
+    }
+
+    /**
+     * Returns the event archiving factory of the current server environment, if any.
+     */
+    public static Optional<EventArchivingStorageFactory> inEnvironment() {
+        return StorageFactoryDecorator.findInEnvironment(EventArchivingStorageFactory.class);
+    }
+
+    @Override
+    public <I, R extends Message> RecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+        var storage = delegate.createRecordStorage(context, recordSpec);
+        if (!context.isMultitenant() && Event.class.equals(recordSpec.storedType())) {
+            @SuppressWarnings("unchecked") // Ensured by the stored type check.
+            var events = (RecordStorage<EventId, Event>) storage;
+            eventStorages.add(new EventStorage(context.name().getValue(), events));
+        }
+        return storage;
+    }
+
+    /**
+     * Archives and removes the outdated events of the
+     * {@linkplain EventCompaction configured} types from all the event stores.
+     */
+    public EventCompactionReport compactEvents() {
+        return compactEvents(EventCompaction.fromSettings());
+    }
+
+    @VisibleForTesting
+    EventCompactionReport compactEvents(EventCompaction compaction) {
+        var storages = eventStorages
+                .stream()
+                .filter(storage -> !storage.events().isClosed())
+                .collect(ImmutableList.toImmutableList());
+        return compaction.run(storages);
+    }
+
+    @Override
+    public StorageFactory delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() throws Exception {
+        eventStorages.clear();
+        delegate.close();
+    }
+
+    /**
+     * The event storage of a bounded context.
+     */
+    record EventStorage(String context, RecordStorage<EventId, Event> events) {
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Durations;
+import com.google.protobuf.util.Timestamps;
+import io.spine.base.Time;
+import io.spine.chatbot.config.Settings;
+import io.spine.chatbot.storage.EventArchivingStorageFactory.EventStorage;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.logging.Logging;
+import io.spine.query.RecordColumn;
+import io.spine.server.storage.RecordQuery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.Streams.stream;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+
+/**
+ * A job which archives and removes the outdated events from the event stores.
+ *
+ * <p>The job removes the events of the types listed in the
+ * {@code CHAT_BOT_COMPACTED_EVENT_TYPES} setting (comma-separated Protobuf type names,
+ * {@code spine.chatbot.github.BuildSucceededAgain} by default), which are older than
+ * the {@code CHAT_BOT_EVENT_RETENTION} (ISO-8601, 30 days by default).
+ *
+ * <p>The events to compact are queried by the {@linkplain #TYPE type} and
+ * the {@linkplain #CREATED creation time} columns of the event stores, so the storage
+ * only reads the matching events. The events are processed in pages of
+ * {@code CHAT_BOT_EVENT_COMPACTION_PAGE_SIZE} events (500 by default, the limit of
+ * a single Datastore commit).
+ *
+ * <p>Before being removed, each page of events is written length-delimited to a separate
+ * gzip-compressed file in the {@code CHAT_BOT_EVENT_ARCHIVE_DIR} directory
+ * ({@code event-archive} by default). The events of a page are removed only once its archive
+ * is written completely.
+ *
+ * <p>The aggregates are restored from their own event histories and snapshots, which are
+ * not affected by the job. Only the types of events that are not required to rebuild
+ * projections should be configured for the compaction.
+ */
+final class EventCompaction implements Logging {
+
+    static final String RETENTION = "CHAT_BOT_EVENT_RETENTION";
+    static final String EVENT_TYPES = "CHAT_BOT_COMPACTED_EVENT_TYPES";
+    static final String ARCHIVE_DIR = "CHAT_BOT_EVENT_ARCHIVE_DIR";
+    static final String PAGE_SIZE = "CHAT_BOT_EVENT_COMPACTION_PAGE_SIZE";
+
+    /**
+     * The column of the event type name.
+     *
+     * <p>Matches the column of the same name the Spine event store declares for the events.
+     */
+    static final RecordColumn<Event, String> TYPE = new RecordColumn<>(
+            "type", String.class, event -> event.enclosedTypeUrl()
+                                                .toTypeName()
+                                                .value()
+    );
+
+    /**
+     * The column of the event creation time.
+     *
+     * <p>Matches the column of the same name the Spine event store declares for the events.
+     */
+    static final RecordColumn<Event, Timestamp> CREATED = new RecordColumn<>(
+            "created", Timestamp.class, event -> event.getContext()
+                                                      .getTimestamp()
+    );
+
+    private static final Duration DEFAULT_RETENTION = Duration.ofDays(30);
+    private static final String DEFAULT_EVENT_TYPES = "spine.chatbot.github.BuildSucceededAgain";
+    private static final String DEFAULT_ARCHIVE_DIR = "event-archive";
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final Duration retention;
+    private final ImmutableSet<String> eventTypes;
+    private final Path archiveDir;
+    private final int pageSize;
+
+    @VisibleForTesting
+    EventCompaction(Duration retention,
+                    ImmutableSet<String> eventTypes,
+                    Path archiveDir,
+                    int pageSize) {
+        this.retention = checkNotNull(retention);
+        this.eventTypes = checkNotNull(eventTypes);
+        this.archiveDir = checkNotNull(archiveDir);
+        checkArgument(pageSize > 0, "The page size must be positive, but was `%s`.", pageSize);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Creates a new compaction job configured through the application settings.
+     */
+    static EventCompaction fromSettings() {
+        var retention = Settings.durationValue(RETENTION, DEFAULT_RETENTION);
+        var types = Splitter.on(',')
+                            .trimResults()
+                            .omitEmptyStrings()
+                            .splitToStream(Settings.stringValue(EVENT_TYPES, DEFAULT_EVENT_TYPES))
+                            .collect(toImmutableSet());
+        var archiveDir = Path.of(Settings.stringValue(ARCHIVE_DIR, DEFAULT_ARCHIVE_DIR));
+        var pageSize = Settings.intValue(PAGE_SIZE, DEFAULT_PAGE_SIZE);
+        return new EventCompaction(retention, types, archiveDir, pageSize);
+    }
+
+    /**
+     * Compacts the {@code storages} and reports the results.
+     */
+    EventCompactionReport run(ImmutableList<EventStorage> storages) {
+        var cutoff = Timestamps.subtract(Time.currentTime(),
+                                         Durations.fromNanos(retention.toNanos()));
+        var report = EventCompactionReport
+                .newBuilder()
+                .setCutoff(cutoff);
+        for (var storage : storages) {
+            compact(storage, cutoff, report);
+        }
+        return report.vBuild();
+    }
+
+    private void compact(EventStorage storage, Timestamp cutoff,
+                         EventCompactionReport.Builder report) {
+        var compacted = new HashSet<EventId>();
+        for (var type : eventTypes) {
+            ImmutableList<Event> page;
+            do {
+                page = readPage(storage, type, cutoff);
+                if (!page.isEmpty()) {
+                    compactPage(storage, cutoff, page, compacted, report);
+                }
+            } while (page.size() == pageSize);
+        }
+        if (!compacted.isEmpty()) {
+            _info().log("Compacted %d events of the context `%s`.",
+                        compacted.size(), storage.context());
+        }
+    }
+
+    /**
+     * Reads the next page of the events of the {@code type} created before the {@code cutoff}.
+     */
+    private ImmutableList<Event> readPage(EventStorage storage, String type, Timestamp cutoff) {
+        var query = RecordQuery
+                .newBuilder(EventId.class, Event.class)
+                .where(TYPE).is(type)
+                .where(CREATED).isLessThan(cutoff)
+                .sortAscendingBy(CREATED)
+                .limit(pageSize)
+                .build();
+        return stream(storage.events()
+                             .readAll(query))
+                .collect(toImmutableList());
+    }
+
+    /**
+     * Archives the {@code page} of events and then removes them from the {@code storage}.
+     *
+     * @param compacted
+     *         the IDs of the events compacted from the storage so far
+     */
+    private void compactPage(EventStorage storage,
+                             Timestamp cutoff,
+                             ImmutableList<Event> page,
+                             Set<EventId> compacted,
+                             EventCompactionReport.Builder report) {
+        var ids = page.stream()
+                      .map(Event::getId)
+                      .collect(toImmutableList());
+        for (var id : ids) {
+            if (!compacted.add(id)) {
+                throw newIllegalStateException(
+                        "The event `%s` of the context `%s` is still stored after compaction.",
+                        id.getValue(), storage.context()
+                );
+            }
+        }
+        var archive = archiveDir.resolve(format("%s-%d-%d.events.gz",
+                                                storage.context(),
+                                                Timestamps.toMillis(cutoff),
+                                                report.getArchiveFileCount()));
+        archive(storage, page, archive);
+        storage.events()
+               .deleteAll(ids);
+        report.setCompactedCount(report.getCompactedCount() + page.size())
+              .addArchiveFile(archive.toString());
+    }
+
+    /**
+     * Writes the {@code events} to the {@code archive} file.
+     */
+    private void archive(EventStorage storage, ImmutableList<Event> events, Path archive) {
+        try {
+            Files.createDirectories(archiveDir);
+            try (var output = new GZIPOutputStream(Files.newOutputStream(archive, CREATE_NEW))) {
+                for (var event : events) {
+                    event.writeDelimitedTo(output);
+                }
+            }
+        } catch (IOException e) {
+            throw newIllegalStateException(
+                    e, "Unable to archive events of the context `%s` to `%s`.",
+                    storage.context(), archive
+            );
+        }
+    }
+}
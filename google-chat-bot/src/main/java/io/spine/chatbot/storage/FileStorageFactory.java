@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.protobuf.Message;
+import io.spine.chatbot.config.Settings;
+import io.spine.logging.Logging;
+import io.spine.server.ContextSpec;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory} persisting the records to the local file system.
+ *
+ * <p>The records are served from memory, so the reads do not touch the disk. Every change
+ * is appended to a per-storage {@link Journal} file which is replayed once the storage
+ * is created. The journal files are organized by the bounded context under
+ * the {@linkplain #in(Path) configured} directory.
+ *
+ * <p>By default, every change is forced to the storage device before it is acknowledged.
+ * Setting {@code CHAT_BOT_FILE_STORAGE_SYNC} to {@code false} leaves flushing the changes
+ * to the operating system, which makes the writes faster, but loses the latest changes
+ * if the machine crashes.
+ *
+ * <p>The factory is intended for a single-node deployment. Multi-tenant storages are not
+ * persisted.
+ */
+public final class FileStorageFactory implements StorageFactory, Logging {
+
+    static final String SYNC = "CHAT_BOT_FILE_STORAGE_SYNC";
+
+    private static final String JOURNAL_EXTENSION = ".journal";
+
+    private final Path directory;
+    private final boolean sync;
+    private final InMemoryStorageFactory memory = InMemoryStorageFactory.newInstance();
+    private final Map<Path, JournaledRecordStorage<?, ?>> storages = new ConcurrentHashMap<>();
+
+    private FileStorageFactory(Path directory, boolean sync) {
+        this.directory = directory;
+        this.sync = sync;
+    }
+
+    /**
+     * Creates a new factory storing the data in the {@code directory}.
+     */
+    public static FileStorageFactory in(Path directory) {
+        return in(directory, Settings.booleanValue(SYNC, true));
+    }
+
+    /**
+     * Creates a new factory storing the data in the {@code directory}.
+     *
+     * @param directory
+     *         the directory to store the journal files in
+     * @param sync
+     *         whether to force every change to the storage device before acknowledging it
+     */
+    static FileStorageFactory in(Path directory, boolean sync) {
+        checkNotNull(directory);
+        return new FileStorageFactory(directory.toAbsolutePath(), sync);
+    }
+
+    @Override
+    public <I, R extends Message> RecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+        var storage = memory.createRecordStorage(context, recordSpec);
+        if (context.isMultitenant()) {
+            _warn().log("The multi-tenant storage of `%s` records of the context `%s` " +
+                                "is not persisted.",
+                        recordSpec.sourceType().getName(), context.name().getValue());
+            return storage;
+        }
+        var file = journalFile(context, recordSpec);
+        @SuppressWarnings("unchecked") // The same file is used for the same record spec only.
+        var result = (RecordStorage<I, R>) storages.compute(file, (path, existing) ->
+                existing == null || existing.isClosed()
+                ? new JournaledRecordStorage<>(storage, Journal.open(path, sync), recordSpec)
+                : existing);
+        return result;
+    }
+
+    private Path journalFile(ContextSpec context, RecordSpec<?, ?, ?> recordSpec) {
+        var name = recordSpec.sourceType().getName()
+                + '-' + recordSpec.storedType().getSimpleName()
+                + JOURNAL_EXTENSION;
+        return directory.resolve(context.name().getValue())
+                        .resolve(name);
+    }
+
+    @Override
+    public void close() {
+        storages.values()
+                .stream()
+                .filter(storage -> !storage.isClosed())
+                .forEach(JournaledRecordStorage::close);
+        storages.clear();
+    }
+}
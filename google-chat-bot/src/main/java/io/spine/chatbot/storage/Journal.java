@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.spine.logging.Logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only file of {@link JournalEntry journal entries}.
+ *
+ * <p>The entries are stored length-delimited one after another. The journal is read
+ * through a memory-mapped buffer upon {@linkplain #replay(Consumer) replay}.
+ *
+ * <p>If the journal is {@linkplain #open(Path, boolean) opened} in the synchronous mode,
+ * each appended batch of entries is forced to the storage device before the append returns,
+ * so an acknowledged change survives a crash of the operating system. Otherwise, the appended
+ * entries may stay in the OS page cache for a while; they survive a crash of the process,
+ * but not of the machine.
+ *
+ * <p>An incomplete entry at the end of the file, e.g. left by a crash in the middle
+ * of a write, is discarded upon replay.
+ */
+final class Journal implements AutoCloseable, Logging {
+
+    private final Path file;
+    private final boolean sync;
+    private FileChannel channel;
+    private long entryCount;
+
+    private Journal(Path file, FileChannel channel, boolean sync) {
+        this.file = file;
+        this.channel = channel;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens the synchronous journal stored in the {@code file} creating the file
+     * if it does not exist.
+     */
+    static Journal open(Path file) {
+        return open(file, true);
+    }
+
+    /**
+     * Opens the journal stored in the {@code file} creating the file if it does not exist.
+     *
+     * @param file
+     *         the journal file
+     * @param sync
+     *         whether to force each appended batch of entries to the storage device
+     */
+    static Journal open(Path file, boolean sync) {
+        checkNotNull(file);
+        try {
+            Files.createDirectories(file.getParent());
+            var channel = FileChannel.open(file, CREATE, WRITE);
+            channel.position(channel.size());
+            return new Journal(file, channel, sync);
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to open the journal `%s`.", file);
+        }
+    }
+
+    /**
+     * Feeds all the journal entries to the {@code consumer} in the order of appending.
+     */
+    synchronized void replay(Consumer<JournalEntry> consumer) {
+        checkNotNull(consumer);
+        checkOpen();
+        try (var readChannel = FileChannel.open(file, READ)) {
+            var size = readChannel.size();
+            if (size == 0) {
+                return;
+            }
+            checkState(size <= Integer.MAX_VALUE,
+                       "The journal `%s` exceeds the size of a mapped buffer.", file);
+            var buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            var validSize = replay(CodedInputStream.newInstance(buffer), consumer);
+            if (validSize < size) {
+                _warn().log("Discarding the incomplete tail of the journal `%s` at the offset %d.",
+                            file, validSize);
+                channel.truncate(validSize);
+                channel.position(validSize);
+            }
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to read the journal `%s`.", file);
+        }
+    }
+
+    /**
+     * Reads the entries from the {@code input} and returns the size of the complete entries.
+     */
+    private long replay(CodedInputStream input, Consumer<JournalEntry> consumer)
+            throws IOException {
+        var count = 0L;
+        var validSize = 0L;
+        try {
+            while (!input.isAtEnd()) {
+                var length = input.readRawVarint32();
+                var limit = input.pushLimit(length);
+                var entry = JournalEntry.parseFrom(input);
+                input.checkLastTagWas(0);
+                input.popLimit(limit);
+                consumer.accept(entry);
+                count++;
+                validSize = input.getTotalBytesRead();
+            }
+        } catch (InvalidProtocolBufferException e) {
+            _warn().withCause(e)
+                   .log("The journal `%s` has an incomplete entry.", file);
+        }
+        entryCount = count;
+        return validSize;
+    }
+
+    /**
+     * Appends the {@code entries} to the end of the journal.
+     *
+     * <p>In the synchronous mode, returns once the entries are written to the storage device.
+     */
+    synchronized void append(Iterable<JournalEntry> entries) {
+        checkNotNull(entries);
+        checkOpen();
+        var bytes = new ByteArrayOutputStream();
+        var count = 0;
+        try {
+            for (var entry : entries) {
+                entry.writeDelimitedTo(bytes);
+                count++;
+            }
+            write(channel, bytes);
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to append to the journal `%s`.", file);
+        }
+        entryCount += count;
+    }
+
+    /**
+     * Replaces the content of the journal with the {@code entries}.
+     *
+     * <p>The entries are written to a temporary file which then atomically replaces
+     * the journal file.
+     */
+    synchronized void rewrite(Iterable<JournalEntry> entries) {
+        checkNotNull(entries);
+        checkOpen();
+        var compacted = file.resolveSibling(file.getFileName() + ".compacted");
+        var count = 0L;
+        try {
+            try (var output = FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                var bytes = new ByteArrayOutputStream();
+                for (var entry : entries) {
+                    entry.writeDelimitedTo(bytes);
+                    count++;
+                }
+                write(output, bytes);
+                output.force(true);
+            }
+            channel.close();
+            Files.move(compacted, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            channel = FileChannel.open(file, WRITE);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to compact the journal `%s`.", file);
+        }
+        entryCount = count;
+    }
+
+    private static void write(FileChannel channel, ByteArrayOutputStream bytes)
+            throws IOException {
+        var buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of entries in the journal.
+     */
+    synchronized long entryCount() {
+        return entryCount;
+    }
+
+    private void checkOpen() {
+        checkState(channel.isOpen(), "The journal `%s` is closed.", file);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to close the journal `%s`.", file);
+        }
+    }
+}
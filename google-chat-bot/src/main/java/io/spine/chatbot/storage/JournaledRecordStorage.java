@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.base.Identifier;
+import io.spine.logging.Logging;
+import io.spine.protobuf.AnyPacker;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.RecordStorageDelegate;
+import io.spine.server.storage.RecordWithColumns;
+
+import java.util.Optional;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Streams.stream;
+
+/**
+ * A {@link RecordStorage} which keeps the records in memory and persists the changes
+ * to a {@link Journal}.
+ *
+ * <p>Upon creation, the storage restores the records by replaying the journal. If the journal
+ * contains considerably more entries than there are records, e.g. due to the records being
+ * overwritten many times, the journal is compacted to hold a single entry per record.
+ *
+ * <p>A change is appended to the journal before it is applied to the in-memory storage.
+ *
+ * @param <I>
+ *         the type of the record identifiers
+ * @param <R>
+ *         the type of the stored records
+ */
+final class JournaledRecordStorage<I, R extends Message>
+        extends RecordStorageDelegate<I, R>
+        implements Logging {
+
+    /**
+     * The number of the outdated journal entries tolerated regardless of the number of records.
+     */
+    private static final int COMPACTION_THRESHOLD = 1_000;
+
+    private final RecordStorage<I, R> memory;
+    private final Journal journal;
+    private final Class<I> idType;
+    private final Class<R> recordType;
+
+    JournaledRecordStorage(RecordStorage<I, R> memory,
+                           Journal journal,
+                           RecordSpec<I, R, ?> recordSpec) {
+        super(memory);
+        this.memory = memory;
+        this.journal = journal;
+        this.idType = recordSpec.idType();
+        this.recordType = recordSpec.storedType();
+        restore();
+    }
+
+    private void restore() {
+        journal.replay(this::apply);
+        var recordCount = stream(memory.index()).count();
+        if (journal.entryCount() > 2 * recordCount + COMPACTION_THRESHOLD) {
+            _info().log("Compacting the journal of `%s` records: %d entries, %d records.",
+                        recordType.getSimpleName(), journal.entryCount(), recordCount);
+            journal.rewrite(snapshot());
+        }
+    }
+
+    private void apply(JournalEntry entry) {
+        var id = Identifier.unpack(entry.getId(), idType);
+        if (entry.getDeleted()) {
+            memory.delete(id);
+        } else {
+            var record = AnyPacker.unpack(entry.getRecord(), recordType);
+            memory.write(id, record);
+        }
+    }
+
+    private ImmutableList<JournalEntry> snapshot() {
+        return stream(memory.index())
+                .map(id -> memory.read(id)
+                                 .map(record -> written(id, record)))
+                .flatMap(Optional::stream)
+                .collect(toImmutableList());
+    }
+
+    @Override
+    protected void writeRecord(RecordWithColumns<I, R> record) {
+        journal.append(ImmutableList.of(written(record.id(), record.record())));
+        super.writeRecord(record);
+    }
+
+    @Override
+    protected void writeAllRecords(Iterable<? extends RecordWithColumns<I, R>> records) {
+        var entries = stream(records)
+                .map(record -> written(record.id(), record.record()))
+                .collect(toImmutableList());
+        journal.append(entries);
+        super.writeAllRecords(records);
+    }
+
+    @Override
+    protected boolean deleteRecord(I id) {
+        journal.append(ImmutableList.of(deleted(id)));
+        return super.deleteRecord(id);
+    }
+
+    @Override
+    protected void deleteAllRecords(Iterable<I> ids) {
+        var entries = stream(ids)
+                .map(JournaledRecordStorage::deleted)
+                .collect(toImmutableList());
+        journal.append(entries);
+        super.deleteAllRecords(ids);
+    }
+
+    private static JournalEntry written(Object id, Message record) {
+        return JournalEntry
+                .newBuilder()
+                .setId(Identifier.pack(id))
+                .setRecord(AnyPacker.pack(record))
+                .vBuild();
+    }
+
+    private static JournalEntry deleted(Object id) {
+        return JournalEntry
+                .newBuilder()
+                .setId(Identifier.pack(id))
+                .setDeleted(true)
+                .vBuild();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        journal.close();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.spine.core.Event;
+import io.spine.server.ContextSpec;
+import io.spine.server.aggregate.AggregateEventRecord;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory} which counts the records written by the application.
+ *
+ * <p>The writes of the entity records, the events and the aggregate event records are
+ * counted by the {@code chatbot.storage.writes} counter tagged with the name of
+ * the bounded context and the type of the written record.
+ */
+public final class MeteredStorageFactory implements StorageFactoryDecorator {
+
+    private static final ImmutableSet<Class<? extends Message>> METERED_TYPES = ImmutableSet.of(
+            EntityRecord.class, Event.class, AggregateEventRecord.class
+    );
+
+    private final StorageFactory delegate;
+
+    private MeteredStorageFactory(StorageFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the {@code delegate} factory.
+     */
+    public static MeteredStorageFactory wrap(StorageFactory delegate) {
+        checkNotNull(delegate);
+        return new MeteredStorageFactory(delegate);
+    }
+
+    @Override
+    public <I, R extends Message> RecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+        var storage = delegate.createRecordStorage(context, recordSpec);
+        var recordType = recordSpec.storedType();
+        if (!METERED_TYPES.contains(recordType)) {
+            return storage;
+        }
+        var writes = Counter
+                .builder("chatbot.storage.writes")
+                .description("The number of the written records.")
+                .tag("context", context.name().getValue())
+                .tag("record", recordType.getSimpleName())
+                .register(Metrics.globalRegistry);
+        return new MeteredRecordStorage<>(storage, writes);
+    }
+
+    @Override
+    public StorageFactory delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() throws Exception {
+        delegate.close();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import io.spine.server.ServerEnvironment;
+import io.spine.server.storage.StorageFactory;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link StorageFactory} which adds behavior to another factory.
+ */
+interface StorageFactoryDecorator extends StorageFactory {
+
+    /**
+     * Returns the decorated factory.
+     */
+    StorageFactory delegate();
+
+    /**
+     * Finds the factory of the {@code type} among the storage factory of the current server
+     * environment and the factories it decorates.
+     */
+    static <T extends StorageFactory> Optional<T> findInEnvironment(Class<T> type) {
+        checkNotNull(type);
+        var factory = ServerEnvironment.instance()
+                                       .storageFactory();
+        return find(factory, type);
+    }
+
+    /**
+     * Finds the factory of the {@code type} among the {@code factory} and the factories
+     * it decorates.
+     */
+    static <T extends StorageFactory> Optional<T> find(StorageFactory factory, Class<T> type) {
+        checkNotNull(factory);
+        checkNotNull(type);
+        var current = factory;
+        while (true) {
+            if (type.isInstance(current)) {
+                return Optional.of(type.cast(current));
+            }
+            if (!(current instanceof StorageFactoryDecorator decorator)) {
+                return Optional.empty();
+            }
+            current = decorator.delegate();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import io.spine.server.storage.RecordQuery;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.RecordStorageDelegate;
+import io.spine.server.storage.RecordWithColumns;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link RecordStorage} which buffers the written records and writes them
+ * to the delegate in batches.
+ *
+ * <p>A record deleted while buffered is dropped from the buffer, so it is not written
+ * by the following flush. The buffered records and the records being flushed are visible
+ * to the reads by identifier.
+ *
+ * @param <I>
+ *         the type of the record identifiers
+ * @param <R>
+ *         the type of the stored records
+ * @see WriteBehindStorageFactory
+ */
+final class WriteBehindRecordStorage<I, R extends Message> extends RecordStorageDelegate<I, R> {
+
+    private final int batchSize;
+    private final BiConsumer<Integer, Duration> flushListener;
+
+    /**
+     * The buffered records in the order of writing.
+     *
+     * <p>Guarded by {@code this}.
+     */
+    private Map<I, RecordWithColumns<I, R>> pending = new LinkedHashMap<>();
+
+    /**
+     * The records being written by the current flush.
+     *
+     * <p>Guarded by {@code this}.
+     */
+    private Map<I, RecordWithColumns<I, R>> inFlight = Map.of();
+
+    /**
+     * Serializes the flushes and the deletions, so the batches are written in the order
+     * of buffering and a deleted record is not written afterwards.
+     */
+    private final Object flushLock = new Object();
+
+    WriteBehindRecordStorage(RecordStorage<I, R> delegate,
+                             int batchSize,
+                             BiConsumer<Integer, Duration> flushListener) {
+        super(delegate);
+        this.batchSize = batchSize;
+        this.flushListener = flushListener;
+    }
+
+    @Override
+    public Optional<R> read(I id) {
+        synchronized (this) {
+            var buffered = pending.get(id);
+            if (buffered == null) {
+                buffered = inFlight.get(id);
+            }
+            if (buffered != null) {
+                return Optional.of(buffered.record());
+            }
+        }
+        return super.read(id);
+    }
+
+    @Override
+    public Optional<R> read(I id, FieldMask mask) {
+        flush();
+        return super.read(id, mask);
+    }
+
+    @Override
+    protected Iterator<R> readAllRecords(RecordQuery<I, R> query) {
+        flush();
+        return super.readAllRecords(query);
+    }
+
+    @Override
+    public Iterator<I> index() {
+        flush();
+        return super.index();
+    }
+
+    @Override
+    protected void writeRecord(RecordWithColumns<I, R> record) {
+        boolean full;
+        synchronized (this) {
+            pending.put(record.id(), record);
+            full = pending.size() >= batchSize;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    @Override
+    protected void writeAllRecords(Iterable<? extends RecordWithColumns<I, R>> records) {
+        boolean full;
+        synchronized (this) {
+            for (var record : records) {
+                pending.put(record.id(), record);
+            }
+            full = pending.size() >= batchSize;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    @Override
+    protected boolean deleteRecord(I id) {
+        synchronized (flushLock) {
+            synchronized (this) {
+                pending.remove(id);
+            }
+            return super.deleteRecord(id);
+        }
+    }
+
+    @Override
+    protected void deleteAllRecords(Iterable<I> ids) {
+        synchronized (flushLock) {
+            synchronized (this) {
+                for (var id : ids) {
+                    pending.remove(id);
+                }
+            }
+            super.deleteAllRecords(ids);
+        }
+    }
+
+    /**
+     * Flushes the buffered records and closes the storage.
+     */
+    @Override
+    public void close() {
+        flush();
+        super.close();
+    }
+
+    /**
+     * Writes the buffered records to the delegate storage.
+     *
+     * <p>If the write fails, the records not overwritten in the meantime are returned
+     * to the buffer.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            Map<I, RecordWithColumns<I, R>> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                inFlight = batch;
+            }
+            var stopwatch = Stopwatch.createStarted();
+            try {
+                super.writeAllRecords(ImmutableList.copyOf(batch.values()));
+            } catch (RuntimeException e) {
+                restore(batch);
+                throw e;
+            } finally {
+                completeFlight();
+            }
+            flushListener.accept(batch.size(), stopwatch.elapsed());
+        }
+    }
+
+    private synchronized void completeFlight() {
+        inFlight = Map.of();
+    }
+
+    private synchronized void restore(Map<I, RecordWithColumns<I, R>> batch) {
+        var restored = new LinkedHashMap<>(batch);
+        restored.putAll(pending);
+        pending = restored;
+    }
+}
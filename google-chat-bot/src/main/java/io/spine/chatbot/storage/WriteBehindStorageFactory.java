@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Message;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.spine.chatbot.config.Settings;
+import io.spine.core.Event;
+import io.spine.logging.Logging;
+import io.spine.server.ContextSpec;
+import io.spine.server.aggregate.AggregateEventRecord;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A {@link StorageFactory} which groups the entity writes into batches.
+ *
+ * <p>The writes to the entity records are buffered in memory and then written by the delegate
+ * storage in a single batch. The buffered writes are flushed:
+ *
+ * <ul>
+ *     <li>after the delivery pass over a shard is completed;
+ *     <li>once the {@code CHAT_BOT_WRITE_BEHIND_LATENCY} (ISO-8601, 100 ms by default)
+ *     has passed;
+ *     <li>once a storage buffers {@code CHAT_BOT_WRITE_BEHIND_BATCH_SIZE} records
+ *     (500 by default, the limit of a single Datastore commit);
+ *     <li>before a storage is queried;
+ *     <li>before the factory is closed.
+ * </ul>
+ *
+ * <p>The records are read by their identifiers from the buffer first, so the buffered writes
+ * are visible to the application before they are flushed.
+ *
+ * <p>The buffered writes are lost if the process stops without flushing them. Therefore,
+ * the events and the aggregate event records, which are the source of truth of the aggregates
+ * and the event history, are written through immediately by default. Their writes are buffered
+ * only if {@code CHAT_BOT_WRITE_BEHIND_EVENTS} is set to {@code true}.
+ *
+ * <p>The inbox, the catch-up and the other system storages are always written through
+ * immediately, as the delivery relies on their writes being persisted.
+ */
+public final class WriteBehindStorageFactory implements StorageFactoryDecorator, Logging {
+
+    static final String LATENCY = "CHAT_BOT_WRITE_BEHIND_LATENCY";
+    static final String BATCH_SIZE = "CHAT_BOT_WRITE_BEHIND_BATCH_SIZE";
+    static final String BUFFER_EVENTS = "CHAT_BOT_WRITE_BEHIND_EVENTS";
+
+    private static final Duration DEFAULT_LATENCY = Duration.ofMillis(100);
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final ImmutableSet<Class<? extends Message>> ENTITY_TYPES =
+            ImmutableSet.of(EntityRecord.class);
+    private static final ImmutableSet<Class<? extends Message>> ENTITY_AND_EVENT_TYPES =
+            ImmutableSet.of(EntityRecord.class, Event.class, AggregateEventRecord.class);
+
+    private final StorageFactory delegate;
+    private final int batchSize;
+    private final ImmutableSet<Class<? extends Message>> bufferedTypes;
+    private final Set<WriteBehindRecordStorage<?, ?>> storages = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final DistributionSummary batches;
+    private final Timer flushes;
+
+    @VisibleForTesting
+    WriteBehindStorageFactory(StorageFactory delegate,
+                              Duration latency,
+                              int batchSize,
+                              boolean bufferEvents) {
+        this.delegate = checkNotNull(delegate);
+        checkArgument(batchSize > 0, "The batch size must be positive, but was `%s`.", batchSize);
+        this.batchSize = batchSize;
+        this.bufferedTypes = bufferEvents ? ENTITY_AND_EVENT_TYPES : ENTITY_TYPES;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var period = Math.max(1, latency.toMillis());
+        flusher.scheduleWithFixedDelay(this::flushSafely, period, period, MILLISECONDS);
+        this.batches = DistributionSummary
+                .builder("chatbot.storage.write.behind.batch")
+                .description("The number of records written in a single batch.")
+                .register(Metrics.globalRegistry);
+        this.flushes = Timer
+                .builder("chatbot.storage.write.behind.flush")
+                .description("The duration of flushing the buffered writes.")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Wraps the {@code delegate} factory into the write-behind one configured
+     * through the application settings.
+     */
+    public static WriteBehindStorageFactory wrap(StorageFactory delegate) {
+        checkNotNull(delegate);
+        var latency = Settings.durationValue(LATENCY, DEFAULT_LATENCY);
+        var batchSize = Settings.intValue(BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        var bufferEvents = Settings.booleanValue(BUFFER_EVENTS, false);
+        return new WriteBehindStorageFactory(delegate, latency, batchSize, bufferEvents);
+    }
+
+    /**
+     * Flushes the buffered writes of the storage factory of the current server environment.
+     *
+     * <p>Does nothing if the environment storage factory does not buffer writes.
+     */
+    public static void flushEnvironmentStorage() {
+        StorageFactoryDecorator.findInEnvironment(WriteBehindStorageFactory.class)
+                               .ifPresent(WriteBehindStorageFactory::flush);
+    }
+
+    @Override
+    public <I, R extends Message> RecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+        var storage = delegate.createRecordStorage(context, recordSpec);
+        if (context.isMultitenant() || !bufferedTypes.contains(recordSpec.storedType())) {
+            return storage;
+        }
+        var result = new WriteBehindRecordStorage<>(storage, batchSize, this::recordFlush);
+        storages.add(result);
+        return result;
+    }
+
+    @Override
+    public StorageFactory delegate() {
+        return delegate;
+    }
+
+    /**
+     * Writes all the buffered records to the delegate storages.
+     *
+     * <p>A storage which fails to write its records keeps them buffered until the next flush.
+     * The failure does not prevent the other storages from being flushed.
+     *
+     * @throws RuntimeException
+     *         the failure of the first storage which failed to write its records
+     */
+    public void flush() {
+        @Nullable RuntimeException failure = null;
+        for (var storage : storages) {
+            try {
+                storage.flush();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            _error().withCause(e)
+                    .log("Unable to flush the buffered writes. Retrying on the next flush.");
+        }
+    }
+
+    private void recordFlush(int batchSize, Duration duration) {
+        batches.record(batchSize);
+        flushes.record(duration);
+    }
+
+    @Override
+    public void close() throws Exception {
+        flusher.shutdown();
+        flush();
+        delegate.close();
+    }
+}
@@ -26,6 +26,7 @@
 
 package io.spine.chatbot.travis;
 
+import com.google.protobuf.Internal;
 import com.google.protobuf.Message;
 import io.spine.json.Json;
 
@@ -35,6 +36,7 @@ import java.net.http.HttpResponse.ResponseInfo;
 import java.nio.charset.StandardCharsets;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
 
 /**
  * Converts the incoming JSON strings into Protobuf messages relying on the Spine
@@ -46,6 +48,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 record JsonProtoBodyHandler<T extends Message>(Class<T> type)
         implements HttpResponse.BodyHandler<T> {
 
+    private static final int NOT_FOUND = 404;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+
     /**
      * Creates a body handler for a specified Protobuf message.
      */
@@ -54,8 +60,30 @@ record JsonProtoBodyHandler<T extends Message>(Class<T> type)
         return new JsonProtoBodyHandler<>(type);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Fails the throttled response and the response with a server error rather than
+     * parsing the error description as the expected message, so that the request could be
+     * retried later.
+     *
+     * <p>Converts the response to a request for a missing resource, e.g. an unknown repository,
+     * to the default instance of the message.
+     */
     @Override
     public HttpResponse.BodySubscriber<T> apply(ResponseInfo response) {
+        var status = response.statusCode();
+        if (status == NOT_FOUND) {
+            return BodySubscribers.replacing(Internal.getDefaultInstance(type));
+        }
+        if (status == TOO_MANY_REQUESTS || status >= SERVER_ERROR) {
+            return BodySubscribers.mapping(BodySubscribers.discarding(), unused -> {
+                throw newIllegalStateException(
+                        "Travis responded with the status `%d` to the query for `%s`.",
+                        status, type.getSimpleName()
+                );
+            });
+        }
         return BodySubscribers.mapping(BodySubscribers.ofString(StandardCharsets.UTF_8),
                                        this::parseJson);
     }
@@ -26,8 +26,11 @@
 
 package io.spine.chatbot.travis;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.spine.chatbot.google.secret.Secret;
 
+import java.util.function.Supplier;
+
 import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
 
 /**
@@ -35,27 +38,36 @@ import static io.spine.util.Preconditions2.checkNotEmptyOrBlank;
  */
 final class Token extends Secret {
 
-    private static final String TRAVIS_API_TOKEN = "TravisApiToken";
-
-    private final String value;
+    private final Supplier<String> value;
 
-    private Token(String value) {
+    private Token(Supplier<String> value) {
         super();
         this.value = value;
     }
 
     /**
      * Returns the token value.
+     *
+     * <p>The value is retrieved on each call, so that the rotated token is picked up
+     * without re-creating the Travis client.
      */
     String value() {
-        return value;
+        return checkNotEmptyOrBlank(value.get());
     }
 
     /**
      * Creates the Travis CI API access token.
      */
     static Token privateToken() {
-        var value = checkNotEmptyOrBlank(retrieveSecret(TRAVIS_API_TOKEN));
-        return new Token(value);
+        return new Token(() -> retrieveSecret(TRAVIS_API_TOKEN));
+    }
+
+    /**
+     * Creates a token with the specified constant {@code value}.
+     */
+    @VisibleForTesting
+    static Token staticToken(String value) {
+        checkNotEmptyOrBlank(value);
+        return new Token(() -> value);
     }
 }
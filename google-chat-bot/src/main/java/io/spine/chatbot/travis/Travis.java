@@ -26,6 +26,8 @@
 
 package io.spine.chatbot.travis;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.spine.logging.Logging;
 
 import java.io.IOException;
@@ -40,21 +42,34 @@ import static io.spine.util.Exceptions.newIllegalStateException;
 /**
  * A client to the Travis CI REST API.
  *
+ * <p>The duration of the requests is recorded by the {@code chatbot.travis.request} timer.
+ *
  * @see <a href="https://developer.travis-ci.com/">Travis CI API</a>
  */
-record Travis(Token apiToken) implements TravisClient, Logging {
+record Travis(Token apiToken, String baseUrl) implements TravisClient, Logging {
+
+    /**
+     * The name of the setting which overrides the {@linkplain #DEFAULT_BASE_URL base URL}.
+     */
+    static final String BASE_URL = "CHAT_BOT_TRAVIS_BASE_URL";
+
+    /**
+     * The base URL of the Travis CI API.
+     */
+    static final String DEFAULT_BASE_URL = "https://api.travis-ci.com";
 
     private static final HttpClient CLIENT = HttpClient.newHttpClient();
-    private static final String BASE_URL = "https://api.travis-ci.com";
     private static final String API_HEADER = "Travis-API-Version";
     private static final String API_VERSION = "3";
     private static final String AUTH_HEADER = "Authorization";
 
     /**
-     * Creates a new Travis client with the specified API token.
+     * Creates a new Travis client with the specified API token which sends the requests to
+     * the API at the {@code baseUrl}.
      */
-    Travis(Token apiToken) {
+    Travis(Token apiToken, String baseUrl) {
         this.apiToken = checkNotNull(apiToken);
+        this.baseUrl = checkNotNull(baseUrl);
     }
 
     @Override
@@ -64,7 +79,8 @@ record Travis(Token apiToken) implements TravisClient, Logging {
     }
 
     private <T extends TravisResponse> T execute(String request, Class<T> responseType) {
-        var apiRequest = apiRequest(request, apiToken);
+        var apiRequest = apiRequest(baseUrl + request, apiToken);
+        var sample = Timer.start();
         try {
             _trace().log("Executing Travis API request `%s` for response `%s`.",
                          request, responseType.getSimpleName());
@@ -75,12 +91,23 @@ record Travis(Token apiToken) implements TravisClient, Logging {
                     e, "Unable to query data for response of type '%s' using request '%s'.",
                     responseType, request
             );
+        } finally {
+            sample.stop(requestTimer(responseType));
         }
     }
 
-    private static HttpRequest apiRequest(String request, Token token) {
+    private static Timer requestTimer(Class<? extends TravisResponse> responseType) {
+        return Timer
+                .builder("chatbot.travis.request")
+                .description("The duration of the Travis CI API requests.")
+                .tag("response", responseType.getSimpleName())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static HttpRequest apiRequest(String url, Token token) {
         return authorizedApiRequest(token)
-                .uri(URI.create(BASE_URL + request))
+                .uri(URI.create(url))
                 .build();
     }
 
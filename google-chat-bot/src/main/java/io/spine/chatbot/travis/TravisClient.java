@@ -26,6 +26,8 @@
 
 package io.spine.chatbot.travis;
 
+import io.spine.chatbot.config.Settings;
+
 import static io.spine.chatbot.travis.Token.privateToken;
 
 /**
@@ -48,8 +50,12 @@ public interface TravisClient {
 
     /**
      * Creates a new Travis client with the default Travis token.
+     *
+     * <p>The client sends the requests to the {@code CHAT_BOT_TRAVIS_BASE_URL}, which defaults
+     * to the {@linkplain Travis#DEFAULT_BASE_URL Travis CI API}.
      */
     static TravisClient newInstance() {
-        return new Travis(privateToken());
+        var baseUrl = Settings.stringValue(Travis.BASE_URL, Travis.DEFAULT_BASE_URL);
+        return new Travis(privateToken(), baseUrl);
     }
 }
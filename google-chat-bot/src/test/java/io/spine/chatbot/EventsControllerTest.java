@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import com.google.protobuf.util.Timestamps;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.spine.base.Time;
+import io.spine.chatbot.storage.EventCompactionReport;
+import io.spine.json.Json;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.micronaut.http.HttpRequest.POST;
+
+@MicronautTest
+@DisplayName("`EventsController` should")
+final class EventsControllerTest {
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @BeforeAll
+    static void startServer() {
+        TestServer.startOnce();
+    }
+
+    @Test
+    @DisplayName("compact the event stores of the environment and report the result")
+    void compact() {
+        var json = client.toBlocking()
+                         .retrieve(POST("/events/compact", ""));
+        var report = Json.fromJson(json, EventCompactionReport.class);
+        assertThat(report.hasCutoff())
+                .isTrue();
+        assertThat(Timestamps.compare(report.getCutoff(), Time.currentTime()))
+                .isLessThan(0);
+        assertThat(report.getCompactedCount())
+                .isEqualTo(0);
+    }
+}
@@ -33,11 +33,6 @@ import io.micronaut.http.MediaType;
 import io.micronaut.http.client.HttpClient;
 import io.micronaut.http.client.annotation.Client;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
-import io.spine.chatbot.google.chat.InMemoryGoogleChatClient;
-import io.spine.chatbot.server.Server;
-import io.spine.chatbot.server.github.GitHubContext;
-import io.spine.chatbot.server.google.chat.GoogleChatContext;
-import io.spine.chatbot.travis.InMemoryTravisClient;
 import io.spine.json.Json;
 import io.spine.pubsub.PubsubPushRequest;
 import org.junit.jupiter.api.BeforeAll;
@@ -62,16 +57,7 @@ final class IncomingEventsControllerTest {
 
     @BeforeAll
     static void setupServer() {
-        var chatContext = GoogleChatContext
-                .newBuilder()
-                .setClient(InMemoryGoogleChatClient.lenientClient())
-                .build();
-        var gitHubContext = GitHubContext
-                .newBuilder()
-                .setTravis(InMemoryTravisClient.lenientClient())
-                .build();
-        Server.withContexts(chatContext, gitHubContext)
-              .start();
+        TestServer.startOnce();
     }
 
     @Test
@@ -0,0 +1,429 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.protobuf.ByteString;
+import com.google.pubsub.v1.PubsubMessage;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.spine.chatbot.google.chat.InMemoryGoogleChatClient;
+import io.spine.chatbot.google.chat.incoming.ChatEvent;
+import io.spine.chatbot.google.chat.incoming.EventType;
+import io.spine.chatbot.google.chat.incoming.Message;
+import io.spine.chatbot.google.chat.incoming.Space;
+import io.spine.chatbot.google.chat.incoming.SpaceType;
+import io.spine.chatbot.google.chat.incoming.User;
+import io.spine.chatbot.server.Server;
+import io.spine.chatbot.server.github.GitHubContext;
+import io.spine.chatbot.server.google.chat.GoogleChatContext;
+import io.spine.chatbot.travis.InMemoryTravisClient;
+import io.spine.environment.Environment;
+import io.spine.environment.Tests;
+import io.spine.json.Json;
+import io.spine.pubsub.PubsubPushRequest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A load generator for the {@code /chat/incoming/event} endpoint.
+ *
+ * <p>Sends the synthetic Google Chat events wrapped into the Pub/Sub push requests at
+ * a constant target rate. The requests are sent on schedule regardless of the responses,
+ * so the latency of a request is measured from the moment it was due to be sent and
+ * includes the time it spent waiting for a slow server.
+ *
+ * <p>Unless the {@code --url} of a running instance is specified, boots the Spine server and
+ * the Micronaut application in-process with the in-memory Travis CI and Google Chat clients.
+ *
+ * <p>Once done, reports the achieved rate, the latency percentiles, the error rates and,
+ * for the in-process server, the number of the records written per event as counted by
+ * the {@code chatbot.storage.writes} counters.
+ *
+ * <p>The generator is run by the {@code incomingEventsLoad} Gradle task which accepts
+ * the following arguments:
+ *
+ * <ul>
+ *     <li>{@code --rate=<events per second>} — the target rate, 100 by default;
+ *     <li>{@code --duration=<ISO-8601 duration>} — the measured period, {@code PT30S}
+ *     by default;
+ *     <li>{@code --warmup=<ISO-8601 duration>} — the period before the measurement during
+ *     which the load is applied but not measured, {@code PT5S} by default;
+ *     <li>{@code --mix=<type:weight,...>} — the relative weights of the event types,
+ *     {@code MESSAGE:80,ADDED_TO_SPACE:5,REMOVED_FROM_SPACE:5,CARD_CLICKED:10} by default;
+ *     <li>{@code --spaces=<number>} — the number of the distinct spaces, 20 by default;
+ *     <li>{@code --max-in-flight=<number>} — the number of the concurrent requests above
+ *     which the due requests are dropped, 256 by default;
+ *     <li>{@code --url=<URL>} — the application to load instead of the in-process one.
+ * </ul>
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr" /* The report is printed to the console. */)
+final class IncomingEventsLoadGenerator {
+
+    private static final String ENDPOINT = "/chat/incoming/event";
+    private static final String DEFAULT_MIX =
+            "MESSAGE:80,ADDED_TO_SPACE:5,REMOVED_FROM_SPACE:5,CARD_CLICKED:10";
+    private static final int DISTINCT_EVENTS = 10_000;
+    private static final int THREADS_PER_SPACE = 10;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+
+    private final Map<String, String> options;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Timer latency = Timer
+            .builder("chatbot.load.incoming.latency")
+            .publishPercentiles(0.5, 0.9, 0.95, 0.99, 0.999)
+            .register(registry);
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private IncomingEventsLoadGenerator(Map<String, String> options) {
+        this.options = options;
+    }
+
+    /**
+     * Runs the load generator with the supplied {@code --name=value} arguments.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var options = CommandLineOptions.parse(args);
+        new IncomingEventsLoadGenerator(options).run();
+        System.exit(0);
+    }
+
+    private void run() throws InterruptedException {
+        var rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        checkArgument(rate > 0, "The target rate must be positive.");
+        var duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        var warmup = Duration.parse(options.getOrDefault("warmup", "PT5S"));
+        var maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "256"));
+        var requests = pushRequests(
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(options.getOrDefault("spaces", "20"))
+        );
+        if (options.containsKey("url")) {
+            var target = URI.create(options.get("url"))
+                            .resolve(ENDPOINT);
+            generate(target, requests, rate, warmup, duration, maxInFlight);
+            report(duration, ImmutableMap.of());
+            return;
+        }
+        Metrics.addRegistry(registry);
+        Environment.instance()
+                   .setTo(Tests.class);
+        Server.withContexts(
+                GitHubContext.newBuilder()
+                             .setTravis(InMemoryTravisClient.lenientClient())
+                             .build(),
+                GoogleChatContext.newBuilder()
+                                 .setClient(InMemoryGoogleChatClient.lenientClient())
+                                 .build()
+        ).start();
+        try (var application = ApplicationContext.run(
+                EmbeddedServer.class, ImmutableMap.of("micronaut.server.port", -1))) {
+            var target = application.getURI()
+                                    .resolve(ENDPOINT);
+            var writesBefore = new HashMap<String, Double>();
+            generate(target, requests, rate, warmup, duration, maxInFlight,
+                     () -> writesBefore.putAll(writes()));
+            var writesAfter = writes();
+            var written = new TreeMap<String, Double>();
+            writesAfter.forEach((record, count) -> written.put(
+                    record, count - writesBefore.getOrDefault(record, 0.0)
+            ));
+            report(duration, written);
+        }
+    }
+
+    /**
+     * Parses the event type weights in the {@code type:weight,...} format.
+     */
+    private static ImmutableMap<EventType, Integer> parseMix(String mix) {
+        var result = ImmutableMap.<EventType, Integer>builder();
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim()
+                             .split(":");
+            checkArgument(parts.length == 2, "Unexpected event mix entry `%s`.", entry);
+            result.put(EventType.valueOf(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return result.build();
+    }
+
+    /**
+     * Prepares the bodies of the push requests with the events of the types picked
+     * according to the {@code mix}.
+     */
+    private static ImmutableList<String> pushRequests(ImmutableMap<EventType, Integer> mix,
+                                                      int spaces) {
+        var totalWeight = mix.values()
+                             .stream()
+                             .mapToInt(Integer::intValue)
+                             .sum();
+        checkArgument(totalWeight > 0, "At least a single event type must have a weight.");
+        var random = new Random(42);
+        var result = ImmutableList.<String>builder();
+        for (var i = 0; i < DISTINCT_EVENTS; i++) {
+            var pick = random.nextInt(totalWeight);
+            var type = EventType.ET_UNKNOWN;
+            for (var entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    type = entry.getKey();
+                    break;
+                }
+            }
+            var event = chatEvent(type, i, random.nextInt(spaces));
+            result.add(pushRequest(event, i));
+        }
+        return result.build();
+    }
+
+    private static ChatEvent chatEvent(EventType type, int index, int spaceIndex) {
+        var space = "spaces/load-" + spaceIndex;
+        var user = User
+                .newBuilder()
+                .setName("users/" + (100_000 + index % 50))
+                .setDisplayName("Load Tester")
+                .setType("HUMAN")
+                .vBuild();
+        var event = ChatEvent
+                .newBuilder()
+                .setType(type)
+                .setEventTime(Instant.now()
+                                     .toString())
+                .setSpace(Space.newBuilder()
+                               .setName(space)
+                               .setDisplayName("Load Space " + spaceIndex)
+                               .setType(SpaceType.ROOM))
+                .setUser(user);
+        if (type == EventType.MESSAGE || type == EventType.CARD_CLICKED) {
+            var thread = io.spine.chatbot.google.chat.incoming.Thread
+                    .newBuilder()
+                    .setName(space + "/threads/t-" + index % THREADS_PER_SPACE);
+            var message = Message
+                    .newBuilder()
+                    .setName(space + "/messages/m-" + index)
+                    .setSender(user)
+                    .setCreateTime(Instant.now()
+                                          .toString())
+                    .setText("@ChatBot status of the build #" + index)
+                    .setArgumentText(" status of the build #" + index)
+                    .setThread(thread);
+            event.setMessage(message);
+        }
+        return event.vBuild();
+    }
+
+    private static String pushRequest(ChatEvent event, int index) {
+        var message = PubsubMessage
+                .newBuilder()
+                .setMessageId(String.valueOf(1_000_000_000L + index))
+                .setData(ByteString.copyFrom(Json.toCompactJson(event), UTF_8))
+                .build();
+        var request = PubsubPushRequest
+                .newBuilder()
+                .setMessage(message)
+                .setSubscription("projects/spine-chat-bot/subscriptions/chat-events-load")
+                .vBuild();
+        return Json.toCompactJson(request);
+    }
+
+    private void generate(URI target,
+                          ImmutableList<String> requests,
+                          double rate,
+                          Duration warmup,
+                          Duration duration,
+                          int maxInFlight) throws InterruptedException {
+        generate(target, requests, rate, warmup, duration, maxInFlight, () -> {});
+    }
+
+    /**
+     * Sends the requests at the target {@code rate} for the {@code warmup} and then for
+     * the {@code duration} recording the outcomes only for the latter.
+     */
+    private void generate(URI target,
+                          ImmutableList<String> requests,
+                          double rate,
+                          Duration warmup,
+                          Duration duration,
+                          int maxInFlight,
+                          Runnable onMeasurementStart) throws InterruptedException {
+        var period = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        var inFlight = new Semaphore(maxInFlight);
+        var start = System.nanoTime();
+        var measurementStart = start + warmup.toNanos();
+        var end = measurementStart + duration.toNanos();
+        System.out.printf("Sending %.1f events/s to `%s` for %s after %s of warm-up.%n",
+                          rate, target, duration, warmup);
+        var measuring = false;
+        for (long i = 0; ; i++) {
+            var due = start + i * period;
+            if (due >= end) {
+                break;
+            }
+            if (!measuring && due >= measurementStart) {
+                awaitDrained(inFlight, maxInFlight);
+                onMeasurementStart.run();
+                measuring = true;
+            }
+            var delay = due - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measuring) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            var body = requests.get((int) (i % requests.size()));
+            send(target, body, due, measuring, inFlight);
+        }
+        awaitDrained(inFlight, maxInFlight);
+    }
+
+    private void send(URI target, String body, long due, boolean measured, Semaphore inFlight) {
+        var request = HttpRequest
+                .newBuilder(target)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        if (measured) {
+            sent.increment();
+        }
+        http.sendAsync(request, BodyHandlers.discarding())
+            .whenComplete((response, throwable) -> {
+                inFlight.release();
+                if (measured) {
+                    latency.record(System.nanoTime() - due, TimeUnit.NANOSECONDS);
+                    recordOutcome(response, throwable);
+                }
+            });
+    }
+
+    private void recordOutcome(HttpResponse<Void> response, Throwable throwable) {
+        if (throwable != null) {
+            var cause = throwable.getCause() != null ? throwable.getCause() : throwable;
+            errors.computeIfAbsent(cause.getClass()
+                                        .getSimpleName(), key -> new LongAdder())
+                  .increment();
+        } else if (response.statusCode() != 200) {
+            errors.computeIfAbsent("HTTP " + response.statusCode(), key -> new LongAdder())
+                  .increment();
+        } else {
+            succeeded.increment();
+        }
+    }
+
+    private static void awaitDrained(Semaphore inFlight, int maxInFlight)
+            throws InterruptedException {
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toMillis(), MILLISECONDS)) {
+            throw newIllegalStateException(
+                    "The requests did not complete in `%s`.", DRAIN_TIMEOUT
+            );
+        }
+        inFlight.release(maxInFlight);
+    }
+
+    /**
+     * Returns the number of the written records by their type.
+     */
+    private Map<String, Double> writes() {
+        var result = new HashMap<String, Double>();
+        for (var counter : registry.find("chatbot.storage.writes")
+                                   .counters()) {
+            var record = counter.getId()
+                                .getTag("record");
+            result.merge(record, counter.count(), Double::sum);
+        }
+        return result;
+    }
+
+    private void report(Duration duration, Map<String, Double> written) {
+        var seconds = duration.toMillis() / 1000.0;
+        var total = sent.sum();
+        var failed = errors.values()
+                           .stream()
+                           .mapToLong(LongAdder::sum)
+                           .sum();
+        System.out.println();
+        System.out.printf("Sent:        %d requests, %.1f requests/s%n", total, total / seconds);
+        System.out.printf("Succeeded:   %d, %.1f events/s%n",
+                          succeeded.sum(), succeeded.sum() / seconds);
+        System.out.printf("Failed:      %d (%.2f%%)%n", failed, percentOf(failed, total));
+        errors.forEach((error, count) -> System.out.printf(
+                "             %s: %d%n", error, count.sum()
+        ));
+        System.out.printf("Dropped:     %d%n", dropped.sum());
+        var snapshot = latency.takeSnapshot();
+        System.out.println();
+        System.out.printf("Latency (ms): mean %.2f, max %.2f%n",
+                          snapshot.mean(MILLISECONDS), snapshot.max(MILLISECONDS));
+        for (var percentile : snapshot.percentileValues()) {
+            System.out.printf("             p%.1f %.2f%n",
+                              percentile.percentile() * 100,
+                              percentile.value(MILLISECONDS));
+        }
+        if (!written.isEmpty()) {
+            System.out.println();
+            System.out.println("Writes:");
+            written.forEach((record, count) -> System.out.printf(
+                    "             %s: %.0f, %.2f per event%n",
+                    record, count, count / Math.max(1, succeeded.sum())
+            ));
+        }
+    }
+
+    private static double percentOf(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+}
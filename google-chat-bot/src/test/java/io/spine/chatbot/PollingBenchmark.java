@@ -0,0 +1,380 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.spine.chatbot.client.Client;
+import io.spine.chatbot.github.Slug;
+import io.spine.chatbot.github.organization.OrgHeader;
+import io.spine.chatbot.github.organization.command.ImportRepositories;
+import io.spine.chatbot.github.organization.command.RegisterOrganization;
+import io.spine.chatbot.github.repository.ImportedRepository;
+import io.spine.chatbot.github.repository.RepoHeader;
+import io.spine.chatbot.google.chat.FakeChatServer;
+import io.spine.chatbot.google.chat.SpaceId;
+import io.spine.chatbot.server.Server;
+import io.spine.chatbot.server.github.GitHubContext;
+import io.spine.chatbot.server.google.chat.GoogleChatContext;
+import io.spine.chatbot.travis.FakeTravisServer;
+import io.spine.chatbot.travis.ReposQuery;
+import io.spine.chatbot.travis.TravisClient;
+import io.spine.chatbot.travis.TravisScenario;
+import io.spine.environment.Environment;
+import io.spine.environment.Tests;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.spine.chatbot.github.GitHubIdentifiers.organization;
+import static io.spine.chatbot.github.GitHubIdentifiers.repository;
+import static io.spine.chatbot.github.Slugs.newSlug;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+import static io.spine.chatbot.net.MoreUrls.githubUrlFor;
+import static io.spine.chatbot.net.MoreUrls.travisUrlFor;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * An end-to-end benchmark of the repository build polling.
+ *
+ * <p>Boots the ChatBot {@link Server} with the GitHub and Google Chat contexts against
+ * the {@linkplain FakeTravisServer fake Travis CI} and the {@linkplain FakeChatServer fake
+ * Google Chat}, registers the organizations of the {@linkplain TravisScenario scenario} and
+ * triggers the {@code /repositories/builds/check} endpoint for a number of rounds.
+ *
+ * <p>Once all the rounds are done, reports:
+ *
+ * <ul>
+ *     <li>the throughput of the repository checks;
+ *     <li>the latency percentiles of the stages: querying the repositories, posting
+ *     the check commands, calling Travis CI, handling the fetched builds and sending
+ *     the Chat messages;
+ *     <li>the allocation rate of the application threads.
+ * </ul>
+ *
+ * <p>The benchmark is run by the {@code pollingBenchmark} Gradle task which accepts
+ * the following arguments:
+ *
+ * <ul>
+ *     <li>{@code --scenario=<path>} — the Travis scenario file, the bundled
+ *     {@code benchmark_scenario.json} by default;
+ *     <li>{@code --rounds=<number>} — the number of the check rounds, 5 by default;
+ *     <li>{@code --round-interval=<ISO-8601 duration>} — the pause between the rounds,
+ *     {@code PT10S} by default;
+ *     <li>{@code --chat-latency=<ISO-8601 duration>} — the latency of the fake Chat,
+ *     {@code PT0.05S} by default;
+ *     <li>{@code --chat-error-rate=<share>} and {@code --chat-throttle-rate=<share>} — the share
+ *     of the failed and throttled Chat requests, none by default.
+ * </ul>
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr" /* The report is printed to the console. */)
+final class PollingBenchmark {
+
+    private static final String DEFAULT_SCENARIO = "benchmark_scenario.json";
+    private static final SpaceId SPACE = space("spaces/benchmark");
+    private static final Duration QUIET_PERIOD = Duration.ofSeconds(1);
+    private static final Duration ROUND_TIMEOUT = Duration.ofMinutes(5);
+
+    /**
+     * The reported stages mapped to the names of their timers.
+     */
+    private static final ImmutableMap<String, String> STAGES = ImmutableMap.of(
+            "query", "chatbot.repositories.check.query",
+            "command post", "chatbot.repositories.check.post",
+            "Travis call", "chatbot.travis.request",
+            "handler", "chatbot.build.record",
+            "chat quota wait", "chatbot.chat.send.queue.wait",
+            "chat send", "chatbot.chat.send"
+    );
+
+    private final Map<String, String> options;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PollingBenchmark(Map<String, String> options) {
+        this.options = options;
+    }
+
+    /**
+     * Runs the benchmark with the supplied {@code --name=value} arguments.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var options = CommandLineOptions.parse(args);
+        new PollingBenchmark(options).run();
+        System.exit(0);
+    }
+
+    private void run() throws IOException, InterruptedException {
+        Environment.instance()
+                   .setTo(Tests.class);
+        System.setProperty("CHAT_BOT_DEDUPLICATION_WINDOW", "PT0S");
+        var scenario = options.containsKey("scenario")
+                       ? TravisScenario.load(Path.of(options.get("scenario")))
+                       : TravisScenario.fromResource(DEFAULT_SCENARIO);
+        var rounds = Integer.parseInt(options.getOrDefault("rounds", "5"));
+        var interval = Duration.parse(options.getOrDefault("round-interval", "PT10S"));
+        try (var travis = FakeTravisServer.start(scenario);
+             var chat = startChat()) {
+            Server.withContexts(
+                    GitHubContext.newBuilder()
+                                 .setTravis(travis.newClient())
+                                 .build(),
+                    GoogleChatContext.newBuilder()
+                                     .setClient(chat.newClient())
+                                     .setCoalescingWindow(Duration.ZERO)
+                                     .build()
+            ).start();
+            var repositories = registerOrganizations(travis);
+            System.out.printf("Registered %d repositories of %d organizations.%n",
+                              repositories, scenario.organizations());
+            try (var application = ApplicationContext.run(
+                    EmbeddedServer.class, ImmutableMap.of("micronaut.server.port", -1))) {
+                var checkUrl = application.getURI()
+                                          .resolve("/repositories/builds/check");
+                Metrics.addRegistry(registry);
+                var allocated = 0L;
+                var active = Duration.ZERO;
+                for (var round = 1; round <= rounds; round++) {
+                    var expectedRequests = travis.requests() + repositories;
+                    var allocatedBefore = allocatedBytes();
+                    var elapsed = runRound(checkUrl, travis, chat, expectedRequests);
+                    allocated += allocatedBytes() - allocatedBefore;
+                    active = active.plus(elapsed);
+                    System.out.printf("Round %d: checked %d repositories in %d ms.%n",
+                                      round, repositories, elapsed.toMillis());
+                    if (round < rounds) {
+                        Thread.sleep(interval.toMillis());
+                    }
+                }
+                report((long) rounds * repositories, active, allocated, chat);
+            }
+        }
+    }
+
+    private FakeChatServer startChat() {
+        return FakeChatServer
+                .newBuilder()
+                .setLatency(Duration.parse(options.getOrDefault("chat-latency", "PT0.05S")))
+                .setErrorRate(Double.parseDouble(options.getOrDefault("chat-error-rate", "0")))
+                .setThrottleRate(
+                        Double.parseDouble(options.getOrDefault("chat-throttle-rate", "0"))
+                )
+                .start();
+    }
+
+    /**
+     * Registers the organizations of the scenario with all their repositories.
+     *
+     * @return the total number of the registered repositories
+     */
+    private static int registerOrganizations(FakeTravisServer travis) {
+        var travisClient = travis.newClient();
+        var total = 0;
+        try (var client = Client.newInstance()) {
+            for (var org : travis.organizations()) {
+                total += registerOrganization(client, travisClient, org);
+            }
+        }
+        return total;
+    }
+
+    private static int registerOrganization(Client client, TravisClient travis, Slug org) {
+        var orgId = organization(org.getValue());
+        var orgHeader = OrgHeader
+                .newBuilder()
+                .setName(org.getValue())
+                .setGithubProfile(githubUrlFor(org))
+                .setTravisProfile(travisUrlFor(org))
+                .setSpace(SPACE)
+                .vBuild();
+        client.post(RegisterOrganization
+                            .newBuilder()
+                            .setId(orgId)
+                            .setHeader(orgHeader)
+                            .vBuild());
+        var repos = travis
+                .execute(ReposQuery.forOwner(org))
+                .getRepositoriesList()
+                .stream()
+                .map(repo -> {
+                    var slug = newSlug(repo.getSlug());
+                    var header = RepoHeader
+                            .newBuilder()
+                            .setOrganization(orgId)
+                            .setName(repo.getName())
+                            .setGithubProfile(githubUrlFor(slug))
+                            .setTravisProfile(travisUrlFor(slug))
+                            .vBuild();
+                    return ImportedRepository
+                            .newBuilder()
+                            .setId(repository(slug.getValue()))
+                            .setHeader(header)
+                            .vBuild();
+                })
+                .collect(toImmutableList());
+        client.post(ImportRepositories
+                            .newBuilder()
+                            .setId(orgId)
+                            .addAllRepository(repos)
+                            .vBuild());
+        return repos.size();
+    }
+
+    /**
+     * Triggers the build check and waits until all the repositories are checked and
+     * the Chat messages are sent.
+     *
+     * @return the time it took to complete the round
+     */
+    private static Duration runRound(URI checkUrl,
+                                     FakeTravisServer travis,
+                                     FakeChatServer chat,
+                                     int expectedRequests)
+            throws IOException, InterruptedException {
+        var stopwatch = Stopwatch.createStarted();
+        var request = HttpRequest
+                .newBuilder(checkUrl)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        var response = HttpClient.newHttpClient()
+                                 .send(request, BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw newIllegalStateException(
+                    "The build check failed with the status `%d`.", response.statusCode()
+            );
+        }
+        awaitAtLeast(travis::requests, expectedRequests);
+        awaitQuiet(() -> chat.createdMessages() + chat.failedRequests()
+                + chat.throttledRequests());
+        return stopwatch.elapsed()
+                        .minus(QUIET_PERIOD);
+    }
+
+    private static void awaitAtLeast(IntSupplier counter, int expected)
+            throws InterruptedException {
+        var stopwatch = Stopwatch.createStarted();
+        while (counter.getAsInt() < expected) {
+            checkTimeout(stopwatch);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Waits until the {@code counter} stops changing for the {@link #QUIET_PERIOD}.
+     */
+    private static void awaitQuiet(IntSupplier counter) throws InterruptedException {
+        var stopwatch = Stopwatch.createStarted();
+        var lastValue = counter.getAsInt();
+        var quiet = Stopwatch.createStarted();
+        while (quiet.elapsed()
+                    .compareTo(QUIET_PERIOD) < 0) {
+            checkTimeout(stopwatch);
+            Thread.sleep(10);
+            var value = counter.getAsInt();
+            if (value != lastValue) {
+                lastValue = value;
+                quiet.reset()
+                     .start();
+            }
+        }
+    }
+
+    private static void checkTimeout(Stopwatch stopwatch) {
+        if (stopwatch.elapsed()
+                     .compareTo(ROUND_TIMEOUT) > 0) {
+            throw newIllegalStateException("The round did not complete in `%s`.", ROUND_TIMEOUT);
+        }
+    }
+
+    /**
+     * Returns the total number of bytes allocated by the live threads.
+     */
+    private static long allocatedBytes() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var total = 0L;
+        for (var allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    private void report(long checks, Duration active, long allocated, FakeChatServer chat) {
+        var seconds = active.toMillis() / 1000.0;
+        System.out.println();
+        System.out.printf("Checks:      %d in %.2f s, %.1f checks/s%n",
+                          checks, seconds, checks / seconds);
+        System.out.printf("Chat:        %d messages sent, %d failed, %d throttled%n",
+                          chat.createdMessages(), chat.failedRequests(),
+                          chat.throttledRequests());
+        System.out.printf("Allocation:  %.1f MB/s, %.1f KB/check%n",
+                          allocated / seconds / (1 << 20), allocated / (double) checks / 1024);
+        System.out.println();
+        System.out.printf("%-28s %8s %9s %9s %9s %9s %9s%n",
+                          "Stage (ms)", "count", "mean", "p50", "p95", "p99", "max");
+        STAGES.forEach((stage, meter) -> {
+            for (var timer : registry.find(meter)
+                                     .timers()) {
+                var tags = timer.getId()
+                                .getTags()
+                                .stream()
+                                .map(Tag::getValue)
+                                .collect(toImmutableList());
+                var label = tags.isEmpty() ? stage : stage + ' ' + tags;
+                reportStage(label, timer);
+            }
+        });
+    }
+
+    private static void reportStage(String label, Timer timer) {
+        var snapshot = timer.takeSnapshot();
+        var percentiles = ImmutableList.copyOf(snapshot.percentileValues());
+        var p50 = percentiles.size() > 0 ? percentiles.get(0).value(MILLISECONDS) : Double.NaN;
+        var p95 = percentiles.size() > 1 ? percentiles.get(1).value(MILLISECONDS) : Double.NaN;
+        var p99 = percentiles.size() > 2 ? percentiles.get(2).value(MILLISECONDS) : Double.NaN;
+        System.out.printf("%-28s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                          label, snapshot.count(), snapshot.mean(MILLISECONDS),
+                          p50, p95, p99, snapshot.max(MILLISECONDS));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import io.spine.chatbot.github.repository.build.ReposByBuildState;
+import io.spine.json.Json;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.micronaut.http.HttpRequest.GET;
+import static io.spine.chatbot.github.GitHubIdentifiers.repository;
+import static io.spine.chatbot.github.repository.build.Build.State.FAILED;
+
+@MicronautTest
+@DisplayName("`RepositoriesController` should")
+final class RepositoriesControllerTest {
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @BeforeAll
+    static void startServer() {
+        TestServer.startOnce();
+    }
+
+    @Test
+    @DisplayName("list the repositories by the build state")
+    void listReposByBuildState() {
+        var failing = repository("RepositoriesControllerTest/failing");
+        var passing = repository("RepositoriesControllerTest/passing");
+        TestServer.checkBuild(failing, "failed");
+        TestServer.checkBuild(passing, "passed");
+
+        var json = client.toBlocking()
+                         .retrieve(GET("/repositories/builds/FAILED"));
+        var repos = Json.fromJson(json, ReposByBuildState.class);
+        assertThat(repos.getState())
+                .isEqualTo(FAILED);
+        assertThat(repos.getRepositoryList())
+                .contains(failing);
+        assertThat(repos.getRepositoryList())
+                .doesNotContain(passing);
+    }
+}
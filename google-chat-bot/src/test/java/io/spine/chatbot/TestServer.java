@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot;
+
+import io.spine.chatbot.client.Client;
+import io.spine.chatbot.github.RepositoryId;
+import io.spine.chatbot.github.repository.build.command.CheckRepositoryBuild;
+import io.spine.chatbot.google.chat.InMemoryGoogleChatClient;
+import io.spine.chatbot.server.Server;
+import io.spine.chatbot.server.github.GitHubContext;
+import io.spine.chatbot.server.google.chat.GoogleChatContext;
+import io.spine.chatbot.travis.Author;
+import io.spine.chatbot.travis.Build;
+import io.spine.chatbot.travis.Commit;
+import io.spine.chatbot.travis.InMemoryTravisClient;
+import io.spine.chatbot.travis.RepoBranchBuildResponse;
+import io.spine.chatbot.travis.Repository;
+
+import static io.spine.chatbot.github.GitHubIdentifiers.organization;
+import static io.spine.chatbot.github.Slugs.repoSlug;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+
+/**
+ * The ChatBot server shared by the tests of the application endpoints and the client.
+ *
+ * <p>The in-process server is registered under a {@linkplain Server#name() fixed name}, so
+ * it is started once per JVM and shared by all the tests which need it. The server uses
+ * the lenient in-memory Travis CI and Google Chat clients.
+ */
+public final class TestServer {
+
+    private static final String COMPARE_URL =
+            "https://github.com/TestOrg/test/compare/5cbfa7423708...8fcf5d98e50f";
+
+    private static final InMemoryTravisClient travis = InMemoryTravisClient.lenientClient();
+    private static boolean started = false;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TestServer() {
+    }
+
+    /**
+     * Starts the server unless it is already started.
+     */
+    public static synchronized void startOnce() {
+        if (started) {
+            return;
+        }
+        var chatContext = GoogleChatContext
+                .newBuilder()
+                .setClient(InMemoryGoogleChatClient.lenientClient())
+                .build();
+        var gitHubContext = GitHubContext
+                .newBuilder()
+                .setTravis(travis)
+                .build();
+        Server.withContexts(chatContext, gitHubContext)
+              .start();
+        started = true;
+    }
+
+    /**
+     * Makes the server check the build of the {@code repo} which last build on Travis CI
+     * is in the {@code travisState}, e.g. {@code failed} or {@code passed}.
+     */
+    public static void checkBuild(RepositoryId repo, String travisState) {
+        var slug = repoSlug(repo);
+        var build = Build
+                .newBuilder()
+                .setId(1)
+                .setNumber("1")
+                .setState(travisState)
+                .setPreviousState(travisState)
+                .setCommit(commit())
+                .buildPartial();
+        var branchBuild = RepoBranchBuildResponse
+                .newBuilder()
+                .setLastBuild(build)
+                .setName("master")
+                .setRepository(Repository.newBuilder()
+                                         .setSlug(slug.getValue()))
+                .buildPartial();
+        travis.setBuildsFor(slug, branchBuild);
+        var check = CheckRepositoryBuild
+                .newBuilder()
+                .setRepository(repo)
+                .setOrganization(organization("TestOrg"))
+                .setSpace(space("spaces/test-server"))
+                .vBuild();
+        try (var client = Client.newInstance()) {
+            client.post(check);
+        }
+    }
+
+    private static Commit commit() {
+        var author = Author
+                .newBuilder()
+                .setName("Test Author")
+                .buildPartial();
+        return Commit
+                .newBuilder()
+                .setId(1)
+                .setCompareUrl(COMPARE_URL)
+                .setSha("8fcf5d98e50f8ffa6daa8c81746181c72bd09a50")
+                .setAuthor(author)
+                .setCommittedAt("2020-06-06T06:06:06Z")
+                .setMessage("Test commit.")
+                .buildPartial();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.client;
+
+import io.spine.chatbot.TestServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.chatbot.github.GitHubIdentifiers.repository;
+import static io.spine.chatbot.github.repository.build.Build.State.CANCELED;
+import static io.spine.chatbot.github.repository.build.Build.State.ERRORED;
+import static io.spine.chatbot.github.repository.build.Build.State.FAILED;
+import static io.spine.chatbot.github.repository.build.Build.State.PASSED;
+
+@DisplayName("`Client` should")
+final class ClientTest {
+
+    private Client client;
+
+    @BeforeAll
+    static void startServer() {
+        TestServer.startOnce();
+    }
+
+    @BeforeEach
+    void createClient() {
+        client = Client.newInstance();
+    }
+
+    @AfterEach
+    void closeClient() {
+        client.close();
+    }
+
+    @Nested
+    @DisplayName("list the repositories by the build state")
+    final class ListReposByBuildState {
+
+        @Test
+        @DisplayName("including only the repositories in the requested state")
+        void filterByState() {
+            var failing = repository("ClientTest/failing");
+            var passing = repository("ClientTest/passing");
+            TestServer.checkBuild(failing, "failed");
+            TestServer.checkBuild(passing, "passed");
+
+            assertThat(client.listReposByBuildState(FAILED))
+                    .contains(failing);
+            assertThat(client.listReposByBuildState(FAILED))
+                    .doesNotContain(passing);
+            assertThat(client.listReposByBuildState(PASSED))
+                    .contains(passing);
+        }
+
+        @Test
+        @DisplayName("starting from the most recently checked one")
+        void mostRecentFirst() {
+            var checkedFirst = repository("ClientTest/errored-first");
+            var checkedLast = repository("ClientTest/errored-last");
+            TestServer.checkBuild(checkedFirst, "errored");
+            TestServer.checkBuild(checkedLast, "errored");
+
+            assertThat(client.listReposByBuildState(ERRORED))
+                    .containsAtLeast(checkedLast, checkedFirst)
+                    .inOrder();
+        }
+
+        @Test
+        @DisplayName("moving the repository once its build state changes")
+        void followStateChange() {
+            var repo = repository("ClientTest/recovered");
+            TestServer.checkBuild(repo, "canceled");
+            TestServer.checkBuild(repo, "passed");
+
+            assertThat(client.listReposByBuildState(CANCELED))
+                    .doesNotContain(repo);
+            assertThat(client.listReposByBuildState(PASSED))
+                    .contains(repo);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.delivery;
+
+import com.google.common.testing.FakeTicker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`DeduplicationIndex` should")
+final class DeduplicationIndexTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(8);
+
+    private FakeTicker ticker;
+    private DeduplicationIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        index = new DeduplicationIndex<>(WINDOW, 4, ticker);
+    }
+
+    @Test
+    @DisplayName("mark an unseen key")
+    void markUnseen() {
+        assertThat(index.markIfAbsent("first")).isTrue();
+        assertThat(index.contains("first")).isTrue();
+        assertThat(index.contains("second")).isFalse();
+    }
+
+    @Test
+    @DisplayName("detect a duplicate key within the window")
+    void detectDuplicate() {
+        index.markIfAbsent("key");
+        ticker.advance(Duration.ofSeconds(5));
+        assertThat(index.markIfAbsent("key")).isFalse();
+    }
+
+    @Test
+    @DisplayName("forget a key once the window elapses")
+    void forgetExpired() {
+        index.markIfAbsent("key");
+        ticker.advance(WINDOW);
+        assertThat(index.contains("key")).isFalse();
+        assertThat(index.markIfAbsent("key")).isTrue();
+    }
+
+    @Test
+    @DisplayName("not prolong the key lifetime on a duplicate")
+    void notProlong() {
+        index.markIfAbsent("key");
+        ticker.advance(Duration.ofSeconds(5));
+        index.markIfAbsent("key");
+        ticker.advance(Duration.ofSeconds(3));
+        assertThat(index.markIfAbsent("key")).isTrue();
+    }
+
+    @Test
+    @DisplayName("forget a removed key")
+    void forgetRemoved() {
+        index.markIfAbsent("key");
+        index.markIfAbsent("other");
+        index.remove("key");
+        assertThat(index.markIfAbsent("key")).isTrue();
+        assertThat(index.contains("other")).isTrue();
+    }
+
+    @Nested
+    @DisplayName("with the zero window")
+    class ZeroWindow {
+
+        @BeforeEach
+        void setUp() {
+            index = new DeduplicationIndex<>(Duration.ZERO, 4, ticker);
+        }
+
+        @Test
+        @DisplayName("not remember keys")
+        void notRemember() {
+            assertThat(index.markIfAbsent("key")).isTrue();
+            assertThat(index.markIfAbsent("key")).isTrue();
+            assertThat(index.contains("key")).isFalse();
+        }
+    }
+}
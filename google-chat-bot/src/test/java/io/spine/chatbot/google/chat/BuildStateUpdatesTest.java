@@ -26,6 +26,7 @@
 
 package io.spine.chatbot.google.chat;
 
+import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.chat.v1.model.Message;
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.repository.build.Build;
@@ -36,6 +37,10 @@ import io.spine.testing.UtilityClassTest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
 
 import static com.google.common.truth.Truth.assertThat;
 import static io.spine.chatbot.github.GitHubIdentifiers.repository;
@@ -44,8 +49,10 @@ import static io.spine.chatbot.google.chat.BuildStateUpdates.CANCELED_ICON;
 import static io.spine.chatbot.google.chat.BuildStateUpdates.FAILURE_ICON;
 import static io.spine.chatbot.google.chat.BuildStateUpdates.SUCCESS_ICON;
 import static io.spine.chatbot.google.chat.BuildStateUpdates.buildStateMessage;
+import static io.spine.chatbot.google.chat.BuildStateUpdates.buildStateMessageJson;
 import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
 import static io.spine.chatbot.net.MoreUrls.travisBuildUrlFor;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @DisplayName("`BuildStateUpdates` should")
 final class BuildStateUpdatesTest extends UtilityClassTest<BuildStateUpdates> {
@@ -102,25 +109,75 @@ final class BuildStateUpdatesTest extends UtilityClassTest<BuildStateUpdates> {
             assertThat(sections)
                     .hasSize(3);
         }
+    }
+
+    @Nested
+    @DisplayName("render a state update message body equal to the serialized message")
+    class BuildStateMessageJson {
+
+        private static final String SPECIAL_CHARS =
+                "Fix \"quotes\", \\slashes\\ and\n\tcontrol\u0001 chars \u2713";
+
+        @ParameterizedTest
+        @EnumSource(value = Build.State.class, names = {"FAILED", "PASSED", "CANCELED"})
+        @DisplayName("for a new thread")
+        void newThread(Build.State state) throws IOException {
+            assertEquivalent(withState(state), ThreadResource.getDefaultInstance());
+        }
 
-        private static Build withState(Build.State state) {
-            var buildNumber = 441;
-            var slug = repoSlug(repo);
-            var commit = Commit.newBuilder()
-                    .setSha("d5ce2b19fbda14a25deac948154722f33efd37b369a32be8f03ec2be8ef7d3a5")
-                    .setAuthoredBy("Some guy")
-                    .setMessage("Just a small change. Never mind.")
-                    .setCommittedAt("2021-09-05T22:42")
-                    .setCompareUrl(MoreUrls.githubUrlFor(slug))
-                    .build();
-            return Build.newBuilder()
-                    .setRepository(slug)
-                    .setNumber(String.valueOf(buildNumber))
-                    .setLastCommit(commit)
-                    .setTravisCiUrl(travisBuildUrlFor(slug, buildNumber))
-                    .setSpace(space)
-                    .setState(state)
+        @ParameterizedTest
+        @EnumSource(value = Build.State.class, names = {"FAILED", "PASSED", "CANCELED"})
+        @DisplayName("for an existing thread")
+        void existingThread(Build.State state) throws IOException {
+            var thread = ThreadResource
+                    .newBuilder()
+                    .setName("spaces/pojwqdpo12/threads/k2JaC1Lz")
                     .vBuild();
+            assertEquivalent(withState(state), thread);
         }
+
+        @Test
+        @DisplayName("with the special characters escaped")
+        void escaped() throws IOException {
+            var build = withState(Build.State.FAILED);
+            var commit = build.getLastCommit()
+                              .toBuilder()
+                              .setMessage(SPECIAL_CHARS)
+                              .build();
+            var specialBuild = build.toBuilder()
+                                    .setLastCommit(commit)
+                                    .vBuild();
+            assertEquivalent(specialBuild, ThreadResource.getDefaultInstance());
+        }
+
+        private static void assertEquivalent(Build build, ThreadResource thread)
+                throws IOException {
+            var json = GsonFactory.getDefaultInstance();
+            var expected = json.fromString(json.toString(buildStateMessage(build, thread)),
+                                           Message.class);
+            var body = new String(buildStateMessageJson(build, thread), UTF_8);
+            var actual = json.fromString(body, Message.class);
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    private static Build withState(Build.State state) {
+        var buildNumber = 441;
+        var slug = repoSlug(repo);
+        var commit = Commit.newBuilder()
+                .setSha("d5ce2b19fbda14a25deac948154722f33efd37b369a32be8f03ec2be8ef7d3a5")
+                .setAuthoredBy("Some guy")
+                .setMessage("Just a small change. Never mind.")
+                .setCommittedAt("2021-09-05T22:42")
+                .setCompareUrl(MoreUrls.githubUrlFor(slug))
+                .build();
+        return Build.newBuilder()
+                .setRepository(slug)
+                .setNumber(String.valueOf(buildNumber))
+                .setLastCommit(commit)
+                .setTravisCiUrl(travisBuildUrlFor(slug, buildNumber))
+                .setSpace(space)
+                .setState(state)
+                .vBuild();
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@DisplayName("`CredentialsRefresher` should")
+final class CredentialsRefresherTest {
+
+    private static final Duration MARGIN = Duration.ofMinutes(5);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private ScheduledExecutorService timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void shutDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("refresh the token ahead of its expiration")
+    void refreshAheadOfExpiration() {
+        var now = Instant.now();
+        var token = new AccessToken("token", Date.from(now.plus(Duration.ofHours(1))));
+        var delay = CredentialsRefresher.refreshDelay(token, now, MARGIN);
+        assertThat(delay).isEqualTo(Duration.ofMinutes(55));
+    }
+
+    @Test
+    @DisplayName("not schedule refreshes too often for an almost expired token")
+    void limitRefreshDelay() {
+        var now = Instant.now();
+        var token = new AccessToken("token", Date.from(now.plus(Duration.ofMinutes(1))));
+        var delay = CredentialsRefresher.refreshDelay(token, now, MARGIN);
+        assertThat(delay).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("refresh a token without expiration time once the margin passes")
+    void refreshEndlessToken() {
+        var token = new AccessToken("token", null);
+        var delay = CredentialsRefresher.refreshDelay(token, Instant.now(), MARGIN);
+        assertThat(delay).isEqualTo(MARGIN);
+    }
+
+    @Test
+    @DisplayName("obtain an access token for the credentials")
+    void obtainToken() {
+        var credentials = new CountingCredentials(false);
+        var refresher = new CredentialsRefresher(credentials, MARGIN, RETRY_DELAY, timer);
+        refresher.refresh();
+        assertThat(credentials.refreshes.get()).isEqualTo(1);
+        assertThat(credentials.getAccessToken()
+                              .getTokenValue()).isEqualTo("token-1");
+    }
+
+    @Test
+    @DisplayName("survive a failed refresh")
+    void surviveFailure() {
+        var credentials = new CountingCredentials(true);
+        var refresher = new CredentialsRefresher(credentials, MARGIN, RETRY_DELAY, timer);
+        refresher.refresh();
+        assertThat(credentials.refreshes.get()).isEqualTo(1);
+        assertThat(credentials.getAccessToken()).isNull();
+    }
+
+    /**
+     * Issues a new hour-long token on each refresh, or fails if requested.
+     */
+    @SuppressWarnings("serial") // The credentials are never serialized in the tests.
+    private static final class CountingCredentials extends GoogleCredentials {
+
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private final boolean failing;
+
+        private CountingCredentials(boolean failing) {
+            super();
+            this.failing = failing;
+        }
+
+        @Override
+        public AccessToken refreshAccessToken() throws IOException {
+            var number = refreshes.incrementAndGet();
+            if (failing) {
+                throw new IOException("The token server is unavailable.");
+            }
+            var expiration = Instant.now()
+                                    .plus(Duration.ofHours(1));
+            return new AccessToken("token-" + number, Date.from(expiration));
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.chat.v1.model.Message;
+import com.google.api.services.chat.v1.model.Thread;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.common.base.Splitter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * An embeddable fake of the Google Chat REST API.
+ *
+ * <p>The server creates and updates the space messages, so that the real
+ * {@linkplain HangoutsChatFactory Google Chat client} with its transport and serialization can
+ * be exercised without accessing Google. Each response is delayed by the configured latency.
+ * The configured share of the requests fails with the {@code 500} status or is throttled with
+ * the {@code 429} status.
+ *
+ * <p>The messages are kept in memory for the lifetime of the server.
+ */
+public final class FakeChatServer implements AutoCloseable, Logging {
+
+    private static final GsonFactory JSON = GsonFactory.getDefaultInstance();
+    private static final String API_PATH = "/v1/";
+    private static final Splitter PATH_SPLITTER = Splitter.on('/');
+
+    private final HttpServer server;
+    private final ScheduledExecutorService responder;
+    private final Duration latency;
+    private final double errorRate;
+    private final double throttleRate;
+    private final Map<String, Message> messages = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger updated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger throttled = new AtomicInteger();
+
+    private FakeChatServer(Builder builder) throws IOException {
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.throttleRate = builder.throttleRate;
+        this.responder = Executors.newScheduledThreadPool(builder.threads);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(API_PATH, this::accept);
+        server.start();
+    }
+
+    /**
+     * Starts a new server which responds immediately and never fails.
+     */
+    public static FakeChatServer start() {
+        return newBuilder().start();
+    }
+
+    /**
+     * Creates a new builder of the server.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the root URL of the API served by the server.
+     */
+    public String rootUrl() {
+        return "http://localhost:" + server.getAddress()
+                                           .getPort() + '/';
+    }
+
+    /**
+     * Creates a new Google Chat client which sends the messages to this server.
+     */
+    public GoogleChatClient newClient() {
+        var token = new AccessToken("fake-chat-token",
+                                    Date.from(Instant.now()
+                                                     .plus(Duration.ofDays(1))));
+        return HangoutsChatFactory.newAsyncClient(GoogleCredentials.create(token), rootUrl());
+    }
+
+    /**
+     * Returns the message with the specified resource {@code name}.
+     */
+    public Optional<Message> message(String name) {
+        checkNotNull(name);
+        return Optional.ofNullable(messages.get(name));
+    }
+
+    /**
+     * Returns the number of the created messages.
+     */
+    public int createdMessages() {
+        return created.get();
+    }
+
+    /**
+     * Returns the number of the updated messages.
+     */
+    public int updatedMessages() {
+        return updated.get();
+    }
+
+    /**
+     * Returns the number of the requests failed on purpose.
+     */
+    public int failedRequests() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of the throttled requests.
+     */
+    public int throttledRequests() {
+        return throttled.get();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+
+    private void accept(HttpExchange exchange) {
+        responder.schedule(() -> respond(exchange), latency.toMillis(), MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange) {
+        try {
+            var chance = ThreadLocalRandom.current()
+                                          .nextDouble();
+            if (chance < throttleRate) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders()
+                        .set("Retry-After", "1");
+                sendError(exchange, 429, "RESOURCE_EXHAUSTED");
+            } else if (chance < throttleRate + errorRate) {
+                failed.incrementAndGet();
+                sendError(exchange, 500, "INTERNAL");
+            } else {
+                dispatch(exchange);
+            }
+        } catch (IOException | RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to respond to `%s`.", exchange.getRequestURI());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        var path = exchange.getRequestURI()
+                           .getPath()
+                           .substring(API_PATH.length());
+        var segments = PATH_SPLITTER.splitToList(path);
+        var method = exchange.getRequestMethod();
+        var isMessages = segments.size() >= 3
+                && "spaces".equals(segments.get(0))
+                && "messages".equals(segments.get(2));
+        if (isMessages && segments.size() == 3 && "POST".equals(method)) {
+            create(exchange, segments.get(1));
+        } else if (isMessages && segments.size() == 4
+                && ("PUT".equals(method) || "PATCH".equals(method))) {
+            update(exchange, path);
+        } else {
+            sendError(exchange, 404, "NOT_FOUND");
+        }
+    }
+
+    private void create(HttpExchange exchange, String space) throws IOException {
+        var message = JSON.fromInputStream(exchange.getRequestBody(), Message.class);
+        var id = lastId.incrementAndGet();
+        var name = "spaces/" + space + "/messages/" + id;
+        message.setName(name);
+        var thread = message.getThread();
+        if (thread == null || thread.getName() == null) {
+            message.setThread(new Thread().setName("spaces/" + space + "/threads/" + id));
+        }
+        messages.put(name, message);
+        created.incrementAndGet();
+        send(exchange, 200, JSON.toByteArray(message));
+    }
+
+    private void update(HttpExchange exchange, String name) throws IOException {
+        var existing = messages.get(name);
+        if (existing == null) {
+            sendError(exchange, 404, "NOT_FOUND");
+            return;
+        }
+        var update = JSON.fromInputStream(exchange.getRequestBody(), Message.class);
+        var updatedMessage = existing.clone()
+                                     .setText(update.getText())
+                                     .setCards(update.getCards());
+        messages.put(name, updatedMessage);
+        updated.incrementAndGet();
+        send(exchange, 200, JSON.toByteArray(updatedMessage));
+    }
+
+    private static void sendError(HttpExchange exchange, int code, String status)
+            throws IOException {
+        var error = String.format(
+                "{\"error\":{\"code\":%d,\"message\":\"Fake %s error.\",\"status\":\"%s\"}}",
+                code, status, status
+        );
+        send(exchange, code, error.getBytes(UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int code, byte[] body) throws IOException {
+        exchange.getResponseHeaders()
+                .set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(code, body.length);
+        try (var responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    /**
+     * A builder of the {@link FakeChatServer}.
+     */
+    public static final class Builder {
+
+        private Duration latency = Duration.ZERO;
+        private double errorRate;
+        private double throttleRate;
+        private int threads = 8;
+
+        /**
+         * Prevents direct instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the delay of each response.
+         */
+        public Builder setLatency(Duration latency) {
+            checkArgument(!latency.isNegative(), "The latency must not be negative.");
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Sets the share of the requests to fail with the {@code 500} status.
+         */
+        public Builder setErrorRate(double errorRate) {
+            checkRate(errorRate);
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Sets the share of the requests to throttle with the {@code 429} status.
+         */
+        public Builder setThrottleRate(double throttleRate) {
+            checkRate(throttleRate);
+            this.throttleRate = throttleRate;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads responding to the requests.
+         */
+        public Builder setThreads(int threads) {
+            checkArgument(threads > 0, "At least a single thread is required.");
+            this.threads = threads;
+            return this;
+        }
+
+        private static void checkRate(double rate) {
+            checkArgument(rate >= 0 && rate <= 1, "The rate must be within [0, 1].");
+        }
+
+        /**
+         * Starts a new server.
+         */
+        public FakeChatServer start() {
+            checkArgument(errorRate + throttleRate <= 1,
+                          "The error and throttle rates must not exceed 1 in total.");
+            try {
+                return new FakeChatServer(this);
+            } catch (IOException e) {
+                throw newIllegalStateException(e, "Unable to start the fake Chat server.");
+            }
+        }
+    }
+}
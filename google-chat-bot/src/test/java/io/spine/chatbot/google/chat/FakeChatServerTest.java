@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.github.repository.build.Commit;
+import io.spine.chatbot.google.chat.thread.ThreadResource;
+import io.spine.chatbot.net.MoreUrls;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletionException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.chatbot.github.GitHubIdentifiers.repository;
+import static io.spine.chatbot.github.Slugs.repoSlug;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+import static io.spine.chatbot.net.MoreUrls.travisBuildUrlFor;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`FakeChatServer` should")
+final class FakeChatServerTest {
+
+    private static final SpaceId space = space("spaces/lkjv4312");
+
+    private FakeChatServer server;
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("create messages sent by the Google Chat client")
+    void createMessages() {
+        server = FakeChatServer.start();
+        var client = server.newClient();
+        var newThread = ThreadResource.getDefaultInstance();
+        var update = client.sendBuildStateUpdate(failedBuild(), newThread);
+        var asyncUpdate = client.sendBuildStateUpdateAsync(failedBuild(), newThread)
+                                .join();
+
+        assertThat(server.createdMessages()).isEqualTo(2);
+        var message = server.message(update.getMessage()
+                                           .getValue());
+        assertThat(message).isPresent();
+        assertThat(message.get()
+                          .getCards()).hasSize(1);
+        assertThat(asyncUpdate.getResource()
+                              .getName()).startsWith(space.getValue() + "/threads/");
+    }
+
+    @Test
+    @DisplayName("post messages to the existing thread")
+    void postToThread() {
+        server = FakeChatServer.start();
+        var thread = ThreadResource
+                .newBuilder()
+                .setName(space.getValue() + "/threads/gHh8Qb0p")
+                .vBuild();
+        var update = server.newClient()
+                           .sendBuildStateUpdateAsync(failedBuild(), thread)
+                           .join();
+        assertThat(update.getResource()).isEqualTo(thread);
+    }
+
+    @Test
+    @DisplayName("update the created messages")
+    void updateMessages() throws IOException, InterruptedException {
+        server = FakeChatServer.start();
+        var update = server.newClient()
+                           .sendBuildStateUpdate(failedBuild(),
+                                                 ThreadResource.getDefaultInstance());
+        var name = update.getMessage()
+                         .getValue();
+        var request = HttpRequest
+                .newBuilder(URI.create(server.rootUrl() + "v1/" + name + "?updateMask=text"))
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"text\":\"Updated.\"}"))
+                .build();
+        var response = HttpClient.newHttpClient()
+                                 .send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(server.updatedMessages()).isEqualTo(1);
+        assertThat(server.message(name)
+                         .orElseThrow()
+                         .getText()).isEqualTo("Updated.");
+    }
+
+    @Test
+    @DisplayName("throttle requests")
+    void throttle() {
+        server = FakeChatServer
+                .newBuilder()
+                .setThrottleRate(1)
+                .start();
+        var sent = server.newClient()
+                         .sendBuildStateUpdateAsync(failedBuild(),
+                                                    ThreadResource.getDefaultInstance());
+        assertThrows(CompletionException.class, sent::join);
+        assertThat(server.throttledRequests()).isEqualTo(1);
+        assertThat(server.createdMessages()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("fail requests")
+    void fail() {
+        server = FakeChatServer
+                .newBuilder()
+                .setErrorRate(1)
+                .start();
+        var sent = server.newClient()
+                         .sendBuildStateUpdateAsync(failedBuild(),
+                                                    ThreadResource.getDefaultInstance());
+        assertThrows(CompletionException.class, sent::join);
+        assertThat(server.failedRequests()).isEqualTo(1);
+    }
+
+    private static Build failedBuild() {
+        var slug = repoSlug(repository("SpineEventEngine/base"));
+        var commit = Commit
+                .newBuilder()
+                .setSha("3c6f8b2d")
+                .setAuthoredBy("Jane Doe")
+                .setMessage("Bump the version.")
+                .setCommittedAt("2021-09-05T22:42")
+                .setCompareUrl(MoreUrls.githubUrlFor(slug))
+                .build();
+        return Build
+                .newBuilder()
+                .setRepository(slug)
+                .setNumber("712")
+                .setLastCommit(commit)
+                .setTravisCiUrl(travisBuildUrlFor(slug, 712))
+                .setSpace(space)
+                .setState(Build.State.FAILED)
+                .vBuild();
+    }
+}
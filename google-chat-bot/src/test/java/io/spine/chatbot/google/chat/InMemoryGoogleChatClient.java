@@ -26,14 +26,18 @@
 
 package io.spine.chatbot.google.chat;
 
+import com.google.common.collect.ImmutableList;
 import io.spine.chatbot.CanFailFast;
 import io.spine.chatbot.github.repository.build.Build;
 import io.spine.chatbot.google.chat.thread.ThreadResource;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.synchronizedList;
 import static java.util.Collections.synchronizedMap;
 
 /**
@@ -42,6 +46,7 @@ import static java.util.Collections.synchronizedMap;
 public final class InMemoryGoogleChatClient extends CanFailFast implements GoogleChatClient {
 
     private final Map<String, BuildStateUpdate> sentMessages = synchronizedMap(new HashMap<>());
+    private final List<String> sentBuilds = synchronizedList(new ArrayList<>());
 
     private InMemoryGoogleChatClient(boolean failFast) {
         super(failFast);
@@ -63,6 +68,7 @@ public final class InMemoryGoogleChatClient extends CanFailFast implements Googl
 
     @Override
     public BuildStateUpdate sendBuildStateUpdate(Build build, ThreadResource thread) {
+        sentBuilds.add(build.getNumber());
         var stubbedValue = sentMessages.get(build.getNumber());
         var result = failOrDefault(stubbedValue,
                                    build.getNumber(),
@@ -80,9 +86,20 @@ public final class InMemoryGoogleChatClient extends CanFailFast implements Googl
     }
 
     /**
-     * Resets state of the configured responses.
+     * Returns the numbers of the builds the state updates were requested to be sent for,
+     * in the order of the requests.
+     */
+    public ImmutableList<String> sentBuilds() {
+        synchronized (sentBuilds) {
+            return ImmutableList.copyOf(sentBuilds);
+        }
+    }
+
+    /**
+     * Resets state of the configured responses and the sent builds.
      */
     public void reset() {
         sentMessages.clear();
+        sentBuilds.clear();
     }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import com.google.common.testing.FakeTicker;
+import io.spine.chatbot.google.chat.SendScheduler.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+
+@DisplayName("`SendScheduler` should")
+final class SendSchedulerTest {
+
+    /**
+     * One write per minute, so that the scheduled wake-ups do not interfere with the tests.
+     */
+    private static final double RATE = 1.0 / 60;
+    private static final Duration TOKEN_PERIOD = Duration.ofMinutes(1);
+
+    private static final SpaceId space = space("spaces/qwe1256");
+    private static final SpaceId otherSpace = space("spaces/zxc7890");
+
+    private final List<String> started = new ArrayList<>();
+    private FakeTicker ticker;
+    private ScheduledExecutorService timer;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        timer = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void shutDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("start operations within the burst right away")
+    void startWithinBurst() {
+        var scheduler = new SendScheduler(RATE, 2, RATE, 10, ticker, timer);
+        scheduler.submit(space, Priority.OTHER, operation("first"));
+        scheduler.submit(space, Priority.OTHER, operation("second"));
+
+        assertThat(started).containsExactly("first", "second");
+        assertThat(scheduler.waiting(space)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("delay operations over the quota and start them by priority")
+    void startByPriority() {
+        var scheduler = new SendScheduler(RATE, 1, RATE, 10, ticker, timer);
+        scheduler.submit(space, Priority.OTHER, operation("first"));
+        scheduler.submit(space, Priority.CANCELLATION, operation("canceled"));
+        scheduler.submit(space, Priority.RECOVERY, operation("recovered"));
+        scheduler.submit(space, Priority.FAILURE, operation("failed"));
+
+        assertThat(started).containsExactly("first");
+        assertThat(scheduler.waiting(space)).isEqualTo(3);
+
+        ticker.advance(TOKEN_PERIOD);
+        scheduler.submit(space, Priority.OTHER, operation("last"));
+
+        assertThat(started).containsExactly("first", "failed")
+                           .inOrder();
+        assertThat(scheduler.waiting(space)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("share the project quota between spaces")
+    void shareProjectQuota() {
+        var scheduler = new SendScheduler(RATE, 5, RATE, 1, ticker, timer);
+        scheduler.submit(space, Priority.FAILURE, operation("first"));
+        scheduler.submit(otherSpace, Priority.FAILURE, operation("second"));
+
+        assertThat(started).containsExactly("first");
+        assertThat(scheduler.waiting(otherSpace)).isEqualTo(1);
+    }
+
+    private Supplier<CompletableFuture<String>> operation(String name) {
+        return () -> {
+            started.add(name);
+            return CompletableFuture.completedFuture(name);
+        };
+    }
+}
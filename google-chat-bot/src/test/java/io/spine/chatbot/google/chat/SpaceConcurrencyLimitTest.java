@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.chat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+
+@DisplayName("`SpaceConcurrencyLimit` should")
+final class SpaceConcurrencyLimitTest {
+
+    private static final SpaceId space = space("spaces/qwe1256");
+    private static final SpaceId otherSpace = space("spaces/zxc7890");
+
+    private final List<CompletableFuture<String>> started = new ArrayList<>();
+    private SpaceConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        limit = new SpaceConcurrencyLimit(2);
+    }
+
+    @Test
+    @DisplayName("start operations within the limit right away")
+    void startWithinLimit() {
+        limit.submit(space, this::newOperation);
+        limit.submit(space, this::newOperation);
+        limit.submit(otherSpace, this::newOperation);
+
+        assertThat(started).hasSize(3);
+        assertThat(limit.waiting(space)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("delay operations over the limit until a running one completes")
+    void delayOverLimit() {
+        var first = limit.submit(space, this::newOperation);
+        limit.submit(space, this::newOperation);
+        var third = limit.submit(space, this::newOperation);
+
+        assertThat(started).hasSize(2);
+        assertThat(limit.waiting(space)).isEqualTo(1);
+
+        started.get(0).complete("first");
+        assertThat(first.join()).isEqualTo("first");
+        assertThat(started).hasSize(3);
+        assertThat(limit.waiting(space)).isEqualTo(0);
+
+        started.get(2).complete("third");
+        assertThat(third.join()).isEqualTo("third");
+    }
+
+    @Test
+    @DisplayName("release the permit of a failed operation")
+    void releaseFailed() {
+        var first = limit.submit(space, this::newOperation);
+        limit.submit(space, this::newOperation);
+        limit.submit(space, this::newOperation);
+
+        started.get(0).completeExceptionally(new IllegalStateException("Chat is unavailable."));
+
+        assertThat(first.isCompletedExceptionally()).isTrue();
+        assertThat(started).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("start a long queue of operations completing right away without recursion")
+    void drainIteratively() {
+        var blocking = limit.submit(space, this::newOperation);
+        limit.submit(space, this::newOperation);
+        var operations = 100_000;
+        var completed = new ArrayList<CompletableFuture<String>>(operations);
+        for (var i = 0; i < operations; i++) {
+            completed.add(limit.submit(space, () -> CompletableFuture.completedFuture("done")));
+        }
+        assertThat(limit.waiting(space)).isEqualTo(operations);
+
+        started.get(0).complete("first");
+
+        assertThat(blocking.join()).isEqualTo("first");
+        assertThat(limit.waiting(space)).isEqualTo(0);
+        assertThat(completed.stream().allMatch(CompletableFuture::isDone)).isTrue();
+    }
+
+    @Test
+    @DisplayName("forget the space once its operations complete")
+    void forgetIdleSpace() {
+        limit.submit(space, this::newOperation);
+        limit.submit(otherSpace, this::newOperation);
+        assertThat(limit.activeSpaces()).isEqualTo(2);
+
+        started.get(0).complete("first");
+        assertThat(limit.activeSpaces()).isEqualTo(1);
+
+        started.get(1).complete("second");
+        assertThat(limit.activeSpaces()).isEqualTo(0);
+
+        limit.submit(space, this::newOperation);
+        assertThat(started).hasSize(3);
+        assertThat(limit.activeSpaces()).isEqualTo(1);
+    }
+
+    private CompletableFuture<String> newOperation() {
+        var operation = new CompletableFuture<String>();
+        started.add(operation);
+        return operation;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.google.secret;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.testing.FakeTicker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+@DisplayName("`SecretProvider` should")
+final class SecretProviderTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final String SECRET = "TestSecret";
+    private static final String OTHER_SECRET = "OtherTestSecret";
+
+    private FakeTicker ticker;
+    private VersionedSecrets secrets;
+    private SecretProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        secrets = new VersionedSecrets();
+        provider = new SecretProvider(secrets, TTL, ticker, directExecutor());
+    }
+
+    @Test
+    @DisplayName("fetch a secret only once within the TTL")
+    void cacheSecret() {
+        assertThat(provider.get(SECRET)).isEqualTo(SECRET + "-1");
+        ticker.advance(TTL.minusMinutes(1));
+        assertThat(provider.get(SECRET)).isEqualTo(SECRET + "-1");
+        assertThat(secrets.fetches(SECRET)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("refetch a secret after the TTL")
+    void refreshSecret() {
+        var unused = provider.get(SECRET);
+        ticker.advance(TTL.plusMinutes(1));
+        var unusedRefreshed = provider.get(SECRET);
+        assertThat(secrets.fetches(SECRET)).isEqualTo(2);
+        assertThat(provider.get(SECRET)).isEqualTo(SECRET + "-2");
+    }
+
+    @Test
+    @DisplayName("keep serving the cached secret if the refetch fails")
+    void keepCachedSecret() {
+        var unused = provider.get(SECRET);
+        secrets.failing = true;
+        ticker.advance(TTL.plusMinutes(1));
+        assertThat(provider.get(SECRET)).isEqualTo(SECRET + "-1");
+    }
+
+    @Test
+    @DisplayName("prefetch secrets")
+    void prefetchSecrets() {
+        provider.prefetch(ImmutableList.of(SECRET, OTHER_SECRET))
+                .join();
+        assertThat(secrets.fetches(SECRET)).isEqualTo(1);
+        assertThat(secrets.fetches(OTHER_SECRET)).isEqualTo(1);
+        var unused = provider.get(SECRET);
+        var unusedOther = provider.get(OTHER_SECRET);
+        assertThat(secrets.fetches(SECRET)).isEqualTo(1);
+        assertThat(secrets.fetches(OTHER_SECRET)).isEqualTo(1);
+    }
+
+    /**
+     * Returns a new version of a secret on each fetch, or fails if requested.
+     */
+    private static final class VersionedSecrets implements Function<String, String> {
+
+        private final Map<String, Integer> fetches = new HashMap<>();
+        private boolean failing;
+
+        @Override
+        public String apply(String name) {
+            if (failing) {
+                throw new IllegalStateException("Secret Manager is unavailable.");
+            }
+            var version = fetches.merge(name, 1, Integer::sum);
+            return name + '-' + version;
+        }
+
+        private int fetches(String name) {
+            return fetches.getOrDefault(name, 0);
+        }
+    }
+}
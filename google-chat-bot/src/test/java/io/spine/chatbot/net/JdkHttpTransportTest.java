@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.net;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`JdkHttpTransport` should")
+final class JdkHttpTransportTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMillis(200);
+
+    private final CountDownLatch slowResponse = new CountDownLatch(1);
+    private HttpServer server;
+    private JdkHttpTransport transport;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", JdkHttpTransportTest::echo);
+        server.createContext("/missing", exchange -> respond(exchange, 404, "Not found."));
+        server.createContext("/slow", this::respondSlowly);
+        server.start();
+        transport = JdkHttpTransport.over(HttpClient.newHttpClient(), REQUEST_TIMEOUT);
+    }
+
+    @AfterEach
+    void stopServer() {
+        slowResponse.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("send the request content and headers")
+    void sendRequest() throws IOException {
+        var content = ByteArrayContent.fromString("text/plain", "ping");
+        var request = transport
+                .createRequestFactory()
+                .buildPostRequest(url("/echo"), content);
+        request.getHeaders()
+               .set("X-Request-Name", "echo");
+        var response = request.execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.parseAsString()).isEqualTo("POST echo text/plain ping");
+        assertThat(response.getHeaders()
+                           .getFirstHeaderStringValue("X-Echoed")).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("return an unsuccessful response")
+    void returnUnsuccessfulResponse() throws IOException {
+        var request = transport
+                .createRequestFactory()
+                .buildGetRequest(url("/missing"))
+                .setThrowExceptionOnExecuteError(false);
+        var response = request.execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(404);
+        assertThat(response.parseAsString()).isEqualTo("Not found.");
+    }
+
+    @Test
+    @DisplayName("time out the request after the configured timeout")
+    void timeOut() throws IOException {
+        var request = transport
+                .createRequestFactory()
+                .buildGetRequest(url("/slow"));
+
+        assertThat(request.getReadTimeout()).isGreaterThan((int) REQUEST_TIMEOUT.toMillis());
+        assertThrows(HttpTimeoutException.class, request::execute);
+    }
+
+    private GenericUrl url(String path) {
+        var address = server.getAddress();
+        return new GenericUrl("http://localhost:" + address.getPort() + path);
+    }
+
+    private static void echo(HttpExchange exchange) throws IOException {
+        var headers = exchange.getRequestHeaders();
+        var body = new String(exchange.getRequestBody()
+                                      .readAllBytes(), UTF_8);
+        var echo = String.join(" ",
+                               exchange.getRequestMethod(),
+                               headers.getFirst("X-Request-Name"),
+                               headers.getFirst("Content-Type"),
+                               body);
+        exchange.getResponseHeaders()
+                .add("X-Echoed", "true");
+        respond(exchange, 200, echo);
+    }
+
+    private void respondSlowly(HttpExchange exchange) throws IOException {
+        try {
+            slowResponse.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        respond(exchange, 200, "Too late.");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+            throws IOException {
+        var bytes = body.getBytes(UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (var output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
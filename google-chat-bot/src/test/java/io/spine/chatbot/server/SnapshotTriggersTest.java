@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server;
+
+import io.spine.testing.UtilityClassTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.chatbot.server.SnapshotTriggers.DEFAULT_SNAPSHOT_TRIGGER;
+import static io.spine.chatbot.server.SnapshotTriggers.snapshotTrigger;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`SnapshotTriggers` should")
+final class SnapshotTriggersTest extends UtilityClassTest<SnapshotTriggers> {
+
+    private static final String SETTING = "CHAT_BOT_TEST_SNAPSHOT_TRIGGER";
+
+    SnapshotTriggersTest() {
+        super(SnapshotTriggers.class);
+    }
+
+    @AfterEach
+    void clearSetting() {
+        System.clearProperty(SETTING);
+    }
+
+    @Test
+    @DisplayName("fall back to the default trigger")
+    void useDefault() {
+        assertThat(snapshotTrigger(SETTING)).isEqualTo(DEFAULT_SNAPSHOT_TRIGGER);
+        assertThat(snapshotTrigger(SETTING, 20)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("read the configured trigger")
+    void readConfigured() {
+        System.setProperty(SETTING, "42");
+        assertThat(snapshotTrigger(SETTING)).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("reject a non-positive trigger")
+    void rejectNonPositive() {
+        System.setProperty(SETTING, "0");
+        assertThrows(IllegalArgumentException.class, () -> snapshotTrigger(SETTING));
+    }
+}
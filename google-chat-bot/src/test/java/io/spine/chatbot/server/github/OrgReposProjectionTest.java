@@ -30,7 +30,9 @@ import io.spine.chatbot.github.OrganizationId;
 import io.spine.chatbot.github.RepositoryId;
 import io.spine.chatbot.github.organization.OrgHeader;
 import io.spine.chatbot.github.organization.OrganizationRepositories;
+import io.spine.chatbot.github.organization.command.ImportRepositories;
 import io.spine.chatbot.github.organization.command.RegisterOrganization;
+import io.spine.chatbot.github.repository.ImportedRepository;
 import io.spine.chatbot.github.repository.RepoHeader;
 import io.spine.chatbot.github.repository.command.RegisterRepository;
 import io.spine.chatbot.google.chat.SpaceId;
@@ -173,6 +175,42 @@ final class OrgReposProjectionTest extends GitHubContextAwareTest {
                      .isEqualTo(expectedState);
         }
 
+        @Test
+        @DisplayName("importing repositories in bulk")
+        void importInBulk() {
+            var otherRepo = repository("other-repo");
+            var registerRepository = RegisterRepository
+                    .newBuilder()
+                    .setId(repo)
+                    .setHeader(repoHeader)
+                    .vBuild();
+            var importRepositories = ImportRepositories
+                    .newBuilder()
+                    .setId(org)
+                    .addRepository(imported(repo))
+                    .addRepository(imported(otherRepo))
+                    .addRepository(imported(otherRepo))
+                    .vBuild();
+            context().receivesCommand(registerRepository)
+                     .receivesCommand(importRepositories);
+            var expectedState = OrganizationRepositories
+                    .newBuilder()
+                    .setOrganization(org)
+                    .addRepository(repo)
+                    .addRepository(otherRepo)
+                    .vBuild();
+            context().assertState(org, OrganizationRepositories.class)
+                     .isEqualTo(expectedState);
+        }
+
+        private ImportedRepository imported(RepositoryId id) {
+            return ImportedRepository
+                    .newBuilder()
+                    .setId(id)
+                    .setHeader(repoHeader)
+                    .vBuild();
+        }
+
         @Test
         @DisplayName("ignoring repos without organization")
         void ignoreRepoWithoutOrg() {
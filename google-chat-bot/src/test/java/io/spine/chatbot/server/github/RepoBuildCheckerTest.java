@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.github;
+
+import io.spine.chatbot.github.OrganizationId;
+import io.spine.chatbot.github.RepositoryId;
+import io.spine.chatbot.github.repository.build.command.CheckRepositoryBuild;
+import io.spine.chatbot.github.repository.build.command.RecordRepositoryBuild;
+import io.spine.chatbot.github.repository.build.rejection.RepositoryBuildRejections;
+import io.spine.chatbot.google.chat.SpaceId;
+import io.spine.chatbot.travis.Build;
+import io.spine.chatbot.travis.RepoBranchBuildResponse;
+import io.spine.chatbot.travis.Repository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.chatbot.github.GitHubIdentifiers.organization;
+import static io.spine.chatbot.github.GitHubIdentifiers.repository;
+import static io.spine.chatbot.github.Slugs.repoSlug;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+
+@DisplayName("`RepoBuildChecker` should")
+final class RepoBuildCheckerTest extends GitHubContextAwareTest {
+
+    private static final OrganizationId org = organization("SpineEventEngine");
+    private static final RepositoryId repo = repository("SpineEventEngine/base");
+    private static final SpaceId space = space("spaces/1245wrq");
+
+    @Test
+    @DisplayName("pass the fetched build on to the build process")
+    void recordFetchedBuild() {
+        var build = Build.newBuilder()
+                .setId(123155L)
+                .setNumber("44")
+                .setState("passed")
+                .setPreviousState("passed")
+                .buildPartial();
+        var branchBuild = RepoBranchBuildResponse
+                .newBuilder()
+                .setLastBuild(build)
+                .setName("master")
+                .setRepository(Repository.newBuilder()
+                                       .setSlug(repo.getValue()))
+                .buildPartial();
+        travisClient().setBuildsFor(repoSlug(repo), branchBuild);
+        context().receivesCommand(checkRepoBuild());
+
+        var recordBuild = RecordRepositoryBuild
+                .newBuilder()
+                .setRepository(repo)
+                .setOrganization(org)
+                .setSpace(space)
+                .setBranchBuild(branchBuild)
+                .vBuild();
+        context().assertCommands()
+                 .withType(RecordRepositoryBuild.class)
+                 .message(0)
+                 .isEqualTo(recordBuild);
+    }
+
+    @Test
+    @DisplayName("throw `NoBuildsFound` rejection when Travis API cannot return builds for a repo")
+    void throwNoBuildsFoundRejection() {
+        travisClient().setBuildsFor(repoSlug(repo), RepoBranchBuildResponse.getDefaultInstance());
+        context().receivesCommand(checkRepoBuild());
+
+        var noBuildsFound = RepositoryBuildRejections.NoBuildsFound.newBuilder()
+                .setRepository(repo)
+                .vBuild();
+        context().assertEvent(noBuildsFound);
+        context().assertCommands()
+                 .withType(RecordRepositoryBuild.class)
+                 .isEmpty();
+    }
+
+    private static CheckRepositoryBuild checkRepoBuild() {
+        return CheckRepositoryBuild
+                .newBuilder()
+                .setRepository(repo)
+                .setOrganization(org)
+                .setSpace(space)
+                .vBuild();
+    }
+}
@@ -36,7 +36,6 @@ import io.spine.chatbot.github.repository.build.event.BuildCanceled;
 import io.spine.chatbot.github.repository.build.event.BuildFailed;
 import io.spine.chatbot.github.repository.build.event.BuildRecovered;
 import io.spine.chatbot.github.repository.build.event.BuildSucceededAgain;
-import io.spine.chatbot.github.repository.build.rejection.RepositoryBuildRejections;
 import io.spine.chatbot.google.chat.SpaceId;
 import io.spine.chatbot.travis.Author;
 import io.spine.chatbot.travis.Commit;
@@ -61,23 +60,6 @@ final class RepoBuildProcessTest extends GitHubContextAwareTest {
     private static final RepositoryId repo = repository("SpineEventEngine/web");
     private static final SpaceId space = space("spaces/1245wrq");
 
-    @Test
-    @DisplayName("throw `NoBuildsFound` rejection when Travis API cannot return builds for a repo")
-    void throwNoBuildsFoundRejection() {
-        travisClient().setBuildsFor(repoSlug(repo), RepoBranchBuildResponse.getDefaultInstance());
-        var checkRepoBuild = CheckRepositoryBuild.newBuilder()
-                .setRepository(repo)
-                .setOrganization(org)
-                .setSpace(space)
-                .vBuild();
-        context().receivesCommand(checkRepoBuild);
-
-        var noBuildsFound = RepositoryBuildRejections.NoBuildsFound.newBuilder()
-                .setRepository(repo)
-                .vBuild();
-        context().assertEvent(noBuildsFound);
-    }
-
     @Nested
     @DisplayName("handle build failure")
     @SuppressWarnings("ClassCanBeStatic" /* Nested tests do not work with static classes. */)
@@ -183,7 +165,7 @@ final class RepoBuildProcessTest extends GitHubContextAwareTest {
         private final RepoBranchBuildResponse previousBranchBuild = branchBuildOf(previousBuild);
         private final Build previousBuildState = buildFrom(previousBranchBuild, space);
 
-        private final io.spine.chatbot.travis.Build newBuild = canceledBuild();
+        private final io.spine.chatbot.travis.Build newBuild = nextCanceledBuild();
         private final RepoBranchBuildResponse newBranchBuild = branchBuildOf(newBuild);
         private final Build newBuildState = buildFrom(newBranchBuild, space);
 
@@ -357,6 +339,48 @@ final class RepoBuildProcessTest extends GitHubContextAwareTest {
         }
     }
 
+    @Nested
+    @DisplayName("handle unchanged builds")
+    @SuppressWarnings("ClassCanBeStatic" /* Nested tests do not work with static classes. */)
+    final class UnchangedBuild {
+
+        private final io.spine.chatbot.travis.Build build = failedBuild();
+        private final RepoBranchBuildResponse branchBuild = branchBuildOf(build);
+        private final Build buildState = buildFrom(branchBuild, space);
+
+        @BeforeEach
+        void sendCheckCommands() {
+            travisClient().setBuildsFor(repoSlug(repo), branchBuild);
+            var checkRepoBuild = CheckRepositoryBuild.newBuilder()
+                    .setRepository(repo)
+                    .setSpace(space)
+                    .setOrganization(org)
+                    .vBuild();
+            context().receivesCommand(checkRepoBuild);
+            context().receivesCommand(checkRepoBuild);
+        }
+
+        @Test
+        @DisplayName("producing build events only once")
+        void producingEventOnce() {
+            context().assertEvents()
+                     .withType(BuildFailed.class)
+                     .hasSize(1);
+        }
+
+        @Test
+        @DisplayName("keeping process state")
+        void keepingState() {
+            var expectedState = RepositoryBuild.newBuilder()
+                    .setRepository(repo)
+                    .setBuild(buildState)
+                    .setCurrentState(buildState.getState())
+                    .vBuild();
+            context().assertState(repo, RepositoryBuild.class)
+                     .isEqualTo(expectedState);
+        }
+    }
+
     private static RepoBranchBuildResponse branchBuildOf(io.spine.chatbot.travis.Build build) {
         return RepoBranchBuildResponse
                 .newBuilder()
@@ -412,6 +436,17 @@ final class RepoBuildProcessTest extends GitHubContextAwareTest {
                 .buildPartial();
     }
 
+    private static io.spine.chatbot.travis.Build nextCanceledBuild() {
+        return io.spine.chatbot.travis.Build.newBuilder()
+                .setId(123153L)
+                .setNumber("48")
+                .setState("canceled")
+                .setPreviousState("canceled")
+                .setRepository(webRepository())
+                .setCommit(fatefulCommit())
+                .buildPartial();
+    }
+
     private static Commit stableCommit() {
         var compareUrl = "https://github.com/SpineEventEngine/web/compare/04694f26f24a...afc1b76bf93c";
         var author = Author.newBuilder()
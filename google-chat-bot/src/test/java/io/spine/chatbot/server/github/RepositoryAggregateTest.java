@@ -28,9 +28,12 @@ package io.spine.chatbot.server.github;
 
 import io.spine.chatbot.github.OrganizationId;
 import io.spine.chatbot.github.RepositoryId;
+import io.spine.chatbot.github.organization.command.ImportRepositories;
+import io.spine.chatbot.github.repository.ImportedRepository;
 import io.spine.chatbot.github.repository.RepoHeader;
 import io.spine.chatbot.github.repository.Repository;
 import io.spine.chatbot.github.repository.command.RegisterRepository;
+import io.spine.chatbot.github.repository.event.RepositoryImported;
 import io.spine.chatbot.github.repository.event.RepositoryRegistered;
 import io.spine.net.Url;
 import org.junit.jupiter.api.BeforeEach;
@@ -102,4 +105,65 @@ final class RepositoryAggregateTest extends GitHubContextAwareTest {
                      .isEqualTo(expectedState);
         }
     }
+
+    @Nested
+    @DisplayName("register a repository imported to the organization")
+    final class Import {
+
+        private final OrganizationId org = organization("SpineEventEngine");
+        private final RepositoryId repo = repository("SpineEventEngine/time");
+        private final RepositoryId otherRepo = repository("SpineEventEngine/money");
+
+        @BeforeEach
+        void importRepositories() {
+            var importRepositories = ImportRepositories
+                    .newBuilder()
+                    .setId(org)
+                    .addRepository(imported(repo))
+                    .addRepository(imported(otherRepo))
+                    .vBuild();
+            context().receivesCommand(importRepositories);
+        }
+
+        @Test
+        @DisplayName("producing `RepositoryImported` event for each repository")
+        void producingEvents() {
+            context().assertEvents()
+                     .withType(RepositoryImported.class)
+                     .hasSize(2);
+            context().assertEvents()
+                     .withType(RepositoryRegistered.class)
+                     .isEmpty();
+        }
+
+        @Test
+        @DisplayName("setting repository state")
+        void settingState() {
+            var expectedState = Repository
+                    .newBuilder()
+                    .setId(otherRepo)
+                    .setHeader(header(otherRepo))
+                    .vBuild();
+            context().assertState(otherRepo, Repository.class)
+                     .isEqualTo(expectedState);
+        }
+
+        private ImportedRepository imported(RepositoryId id) {
+            return ImportedRepository
+                    .newBuilder()
+                    .setId(id)
+                    .setHeader(header(id))
+                    .vBuild();
+        }
+
+        private RepoHeader header(RepositoryId id) {
+            return RepoHeader
+                    .newBuilder()
+                    .setGithubProfile(githubUrlFor(repoSlug(id)))
+                    .setTravisProfile(travisUrlFor(repoSlug(id)))
+                    .setName(id.getValue())
+                    .setOrganization(org)
+                    .vBuild();
+        }
+    }
 }
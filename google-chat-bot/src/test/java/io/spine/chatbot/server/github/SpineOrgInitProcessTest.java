@@ -26,7 +26,10 @@
 
 package io.spine.chatbot.server.github;
 
+import io.spine.chatbot.github.organization.command.ImportRepositories;
+import io.spine.chatbot.github.organization.command.RegisterOrganization;
 import io.spine.chatbot.github.organization.init.OrganizationInit;
+import io.spine.chatbot.github.repository.command.ImportRepository;
 import io.spine.chatbot.google.chat.SpaceHeader;
 import io.spine.chatbot.google.chat.SpaceId;
 import io.spine.chatbot.google.chat.event.SpaceRegistered;
@@ -90,10 +93,17 @@ final class SpineOrgInitProcessTest extends GitHubContextAwareTest {
         }
 
         @Test
-        @DisplayName("producing commands to register organization and repositories")
+        @DisplayName("producing commands to register organization and import repositories")
         void producingCommands() {
             context().assertCommands()
-                     .hasSize(2);
+                     .withType(RegisterOrganization.class)
+                     .hasSize(1);
+            context().assertCommands()
+                     .withType(ImportRepositories.class)
+                     .hasSize(1);
+            context().assertCommands()
+                     .withType(ImportRepository.class)
+                     .hasSize(1);
         }
     }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.google.chat;
+
+import io.spine.chatbot.github.RepositoryId;
+import io.spine.chatbot.github.repository.build.Build;
+import io.spine.chatbot.github.repository.build.BuildStateChange;
+import io.spine.chatbot.github.repository.build.event.BuildCanceled;
+import io.spine.chatbot.github.repository.build.event.BuildFailed;
+import io.spine.chatbot.google.chat.BuildStateUpdate;
+import io.spine.chatbot.google.chat.InMemoryGoogleChatClient;
+import io.spine.chatbot.google.chat.SpaceId;
+import io.spine.chatbot.google.chat.ThreadId;
+import io.spine.chatbot.google.chat.event.MessageCreated;
+import io.spine.chatbot.google.chat.thread.ThreadChat;
+import io.spine.chatbot.google.chat.thread.command.ConfirmBuildStateUpdate;
+import io.spine.server.BoundedContextBuilder;
+import io.spine.testing.server.blackbox.ContextAwareTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.spine.chatbot.github.GitHubIdentifiers.repository;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.message;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.thread;
+import static io.spine.chatbot.server.google.chat.ThreadResources.threadResource;
+
+@DisplayName("`BuildStateUpdateSender` should")
+final class BuildStateUpdateSenderTest extends ContextAwareTest {
+
+    private static final Duration coalescingWindow = Duration.ofSeconds(5);
+
+    private final InMemoryGoogleChatClient client = InMemoryGoogleChatClient.strictClient();
+    private final ManualTimer timer = new ManualTimer();
+
+    private final RepositoryId repo = repository("SpineEventEngine/base");
+    private final ThreadId thread = thread(repo.getValue());
+    private final SpaceId space = space("spaces/1241pjwqe");
+
+    private final BuildStateUpdate failureUpdate = BuildStateUpdate
+            .newBuilder()
+            .setSpace(space)
+            .setMessage(message("spaces/1241pjwqe/messages/12154363643621"))
+            .setThread(thread)
+            .setResource(threadResource("spaces/1241pjwqe/threads/k12d1o2r1"))
+            .vBuild();
+
+    private final BuildStateUpdate stateUpdate = BuildStateUpdate
+            .newBuilder()
+            .setSpace(space)
+            .setMessage(message("spaces/1241pjwqe/messages/12154363643624"))
+            .setThread(thread)
+            .setResource(threadResource("spaces/1241pjwqe/threads/k12d1o2r1"))
+            .vBuild();
+
+    @Override
+    protected BoundedContextBuilder contextBuilder() {
+        return GoogleChatContext
+                .newBuilder()
+                .setClient(client)
+                .setSenderExecutor(directExecutor())
+                .setSenderTimer(timer)
+                .setCoalescingWindow(coalescingWindow)
+                .build()
+                .builder();
+    }
+
+    /**
+     * Receives three build state changes of the same repository within the coalescing window.
+     *
+     * <p>The build fails and then two builds are canceled. Only the updates for the failed and
+     * the latest builds are stubbed, so that the client fails if the canceled build in between
+     * is sent as well.
+     */
+    @BeforeEach
+    void receiveBuildStateChanges() {
+        client.setBuildStateUpdate("551", failureUpdate);
+        client.setBuildStateUpdate("553", stateUpdate);
+        context().receivesExternalEvent(failed("551"));
+        context().receivesExternalEvent(canceled("552"));
+        context().receivesExternalEvent(canceled("553"));
+    }
+
+    @Test
+    @DisplayName("not send the updates before the coalescing window passes")
+    void waitForWindow() {
+        timer.advance(coalescingWindow.minusMillis(1));
+
+        assertThat(client.sentBuilds()).isEmpty();
+        context().assertEvents()
+                 .withType(MessageCreated.class)
+                 .isEmpty();
+    }
+
+    @Test
+    @DisplayName("keep the updates in the outbox until they are sent")
+    void keepPending() {
+        timer.advance(coalescingWindow.minusMillis(1));
+
+        var expectedState = ThreadChat.newBuilder()
+                .setHasPendingUpdate(true)
+                .setLastUpdateNumber(3)
+                .buildPartial();
+        context().assertState(thread, ThreadChat.class)
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expectedState);
+    }
+
+    @Test
+    @DisplayName("send the failure and the latest build once the window passes")
+    void sendFailureAndLatest() {
+        timer.advance(coalescingWindow);
+
+        assertThat(client.sentBuilds())
+                .containsExactly("551", "553")
+                .inOrder();
+        context().assertEvents()
+                 .withType(MessageCreated.class)
+                 .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("confirm the latest update as superseding the updates after the failure")
+    void confirmSuperseded() {
+        timer.advance(coalescingWindow);
+
+        var failureConfirmation = ConfirmBuildStateUpdate
+                .newBuilder()
+                .setThread(thread)
+                .setNumber(1)
+                .setUpdate(failureUpdate)
+                .vBuild();
+        var latestConfirmation = ConfirmBuildStateUpdate
+                .newBuilder()
+                .setThread(thread)
+                .setNumber(3)
+                .setUpdate(stateUpdate)
+                .addSuperseded(2)
+                .vBuild();
+        var assertConfirmations = context().assertCommands()
+                                           .withType(ConfirmBuildStateUpdate.class);
+        assertConfirmations.hasSize(2);
+        assertConfirmations.message(0)
+                           .isEqualTo(failureConfirmation);
+        assertConfirmations.message(1)
+                           .isEqualTo(latestConfirmation);
+    }
+
+    @Test
+    @DisplayName("remove the sent and the superseded updates from the outbox")
+    void clearOutbox() {
+        timer.advance(coalescingWindow);
+
+        var expectedState = ThreadChat.newBuilder()
+                .setThread(thread)
+                .setSpace(space)
+                .setResource(stateUpdate.getResource())
+                .setLastUpdateNumber(3)
+                .vBuild();
+        context().assertState(thread, ThreadChat.class)
+                 .isEqualTo(expectedState);
+    }
+
+    private BuildFailed failed(String buildNumber) {
+        return BuildFailed.newBuilder()
+                .setRepository(repo)
+                .setChange(change(buildNumber, Build.State.FAILED))
+                .vBuild();
+    }
+
+    private BuildCanceled canceled(String buildNumber) {
+        return BuildCanceled.newBuilder()
+                .setRepository(repo)
+                .setChange(change(buildNumber, Build.State.CANCELED))
+                .vBuild();
+    }
+
+    private BuildStateChange change(String buildNumber, Build.State state) {
+        var build = Build.newBuilder()
+                .setSpace(space)
+                .setNumber(buildNumber)
+                .setState(state)
+                .vBuild();
+        return BuildStateChange.newBuilder()
+                .setNewValue(build)
+                .vBuild();
+    }
+}
@@ -32,6 +32,10 @@ import io.spine.server.BoundedContextBuilder;
 import io.spine.testing.server.blackbox.ContextAwareTest;
 import org.junit.jupiter.api.AfterEach;
 
+import java.time.Duration;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
 /**
  * An abstract test-base for Google Chat context-based tests.
  */
@@ -44,6 +48,9 @@ abstract class GoogleChatContextAwareTest extends ContextAwareTest {
         return GoogleChatContext
                 .newBuilder()
                 .setClient(client)
+                .setSenderExecutor(directExecutor())
+                .setSenderTimer(new ManualTimer())
+                .setCoalescingWindow(Duration.ZERO)
                 .build()
                 .builder();
     }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.google.chat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A test-only timer which runs the scheduled tasks only when its time is
+ * {@linkplain #advance(Duration) advanced}.
+ *
+ * <p>The tasks are run in the calling thread in the order of their schedule. The periodic
+ * tasks are not supported.
+ */
+final class ManualTimer extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final Queue<Task<?>> scheduled = new PriorityQueue<>();
+    private long now;
+    private boolean shutdown;
+
+    /**
+     * Advances the time of the timer by the {@code duration} and runs the tasks which are due.
+     */
+    synchronized void advance(Duration duration) {
+        checkArgument(!duration.isNegative());
+        now += duration.toNanos();
+        while (!scheduled.isEmpty() && scheduled.peek().runAt() <= now) {
+            scheduled.poll()
+                     .run();
+        }
+    }
+
+    @Override
+    public synchronized ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(new Task<>(command, now + unit.toNanos(delay)));
+    }
+
+    @Override
+    public synchronized <V> ScheduledFuture<V>
+    schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(new Task<>(callable, now + unit.toNanos(delay)));
+    }
+
+    private <V> Task<V> schedule(Task<V> task) {
+        scheduled.add(task);
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?>
+    scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        throw new UnsupportedOperationException("Periodic tasks are not supported.");
+    }
+
+    @Override
+    public ScheduledFuture<?>
+    scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException("Periodic tasks are not supported.");
+    }
+
+    /**
+     * Runs the {@code command} right away.
+     */
+    @Override
+    public void execute(Runnable command) {
+        command.run();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        scheduled.clear();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return List.of();
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isShutdown();
+    }
+
+    /**
+     * A task scheduled to run at the specified time of the timer.
+     */
+    private final class Task<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        private final long runAt;
+
+        private Task(Runnable command, long runAt) {
+            super(command, null);
+            this.runAt = runAt;
+        }
+
+        private Task(Callable<V> callable, long runAt) {
+            super(callable);
+            this.runAt = runAt;
+        }
+
+        private long runAt() {
+            return runAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            synchronized (ManualTimer.this) {
+                return unit.convert(runAt - now, NANOSECONDS);
+            }
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(NANOSECONDS), other.getDelay(NANOSECONDS));
+        }
+    }
+}
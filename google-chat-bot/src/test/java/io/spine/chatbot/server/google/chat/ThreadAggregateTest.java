@@ -40,6 +40,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.IntStream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.message;
 import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
 import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.thread;
@@ -129,8 +132,14 @@ final class ThreadAggregateTest extends GoogleChatContextAwareTest {
                     .newBuilder()
                     .setMessage(message)
                     .setThread(thread)
-                    .vBuild();
-            context().assertEvent(messageAdded);
+                    .setNumber(1)
+                    .buildPartial();
+            var assertEvents = context().assertEvents()
+                                        .withType(MessageAdded.class);
+            assertEvents.hasSize(1);
+            assertEvents.message(0)
+                        .comparingExpectedFieldsOnly()
+                        .isEqualTo(messageAdded);
         }
 
         @Test
@@ -141,10 +150,67 @@ final class ThreadAggregateTest extends GoogleChatContextAwareTest {
                     .setId(thread)
                     .setSpace(space)
                     .setResource(threadResource)
-                    .addMessage(message)
+                    .addRecentMessage(message)
+                    .setMessageCount(1)
                     .vBuild();
             context().assertState(thread, Thread.class)
+                     .comparingExpectedFieldsOnly()
                      .isEqualTo(state);
         }
     }
+
+    @Nested
+    @DisplayName("keep a bounded number of recent messages")
+    final class BoundRecentMessages {
+
+        private static final int MESSAGE_COUNT = 12;
+        private static final int RECENT_MESSAGES = 10;
+
+        private final ThreadId thread = thread("SpineEventEngine/core-java");
+        private final SpaceId space = space("spaces/qpojdwpiq1241");
+
+        @BeforeEach
+        void createThreadAndMessages() {
+            var threadCreated = ThreadCreated
+                    .newBuilder()
+                    .setThread(thread)
+                    .setSpace(space)
+                    .setResource(threadResource("spaces/qpojdwpiq1241/threads/poqwd1p2"))
+                    .vBuild();
+            context().receivesEvent(threadCreated);
+            for (var i = 1; i <= MESSAGE_COUNT; i++) {
+                context().receivesEvent(messageCreated(i));
+            }
+        }
+
+        @Test
+        @DisplayName("counting all the messages")
+        void countingAll() {
+            var recent = IntStream.rangeClosed(MESSAGE_COUNT - RECENT_MESSAGES + 1, MESSAGE_COUNT)
+                                  .mapToObj(this::messageId)
+                                  .collect(toImmutableList());
+            var state = Thread
+                    .newBuilder()
+                    .setId(thread)
+                    .addAllRecentMessage(recent)
+                    .setMessageCount(MESSAGE_COUNT)
+                    .buildPartial();
+            context().assertState(thread, Thread.class)
+                     .comparingExpectedFieldsOnly()
+                     .isEqualTo(state);
+        }
+
+        private MessageCreated messageCreated(int number) {
+            return MessageCreated
+                    .newBuilder()
+                    .setMessage(messageId(number))
+                    .setSpace(space)
+                    .setThread(thread)
+                    .vBuild();
+        }
+
+        private MessageId messageId(int number) {
+            return message("spaces/qpojdwpiq1241/messages/m" + number);
+        }
+    }
 }
@@ -39,6 +39,9 @@ import io.spine.chatbot.google.chat.ThreadId;
 import io.spine.chatbot.google.chat.event.MessageCreated;
 import io.spine.chatbot.google.chat.event.ThreadCreated;
 import io.spine.chatbot.google.chat.thread.ThreadChat;
+import io.spine.chatbot.google.chat.thread.command.ConfirmBuildStateUpdate;
+import io.spine.chatbot.google.chat.thread.event.BuildStateUpdateQueued;
+import io.spine.chatbot.google.chat.thread.rejection.ThreadChatRejections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -111,13 +114,14 @@ final class ThreadChatProcessTest {
                 .setResource(threadResource("spaces/1241pjwqe/threads/k12d1o2r1"))
                 .vBuild();
 
+        private final Build newBuildState = Build.newBuilder()
+                .setSpace(space)
+                .setNumber(buildNumber)
+                .vBuild();
+
         @BeforeEach
         void receiveBuildStateChange() {
             googleChatClient().setBuildStateUpdate(buildNumber, stateUpdate);
-            var newBuildState = Build.newBuilder()
-                    .setSpace(space)
-                    .setNumber(buildNumber)
-                    .vBuild();
             var buildStateChange = BuildStateChange.newBuilder()
                     .setNewValue(newBuildState)
                     .vBuild();
@@ -127,6 +131,17 @@ final class ThreadChatProcessTest {
 
         abstract EventMessage buildStateChangeEvent(RepositoryId repo, BuildStateChange change);
 
+        @Test
+        @DisplayName("queueing the build state update")
+        void queueingUpdate() {
+            var updateQueued = BuildStateUpdateQueued.newBuilder()
+                    .setThread(thread)
+                    .setNumber(1)
+                    .setBuild(newBuildState)
+                    .vBuild();
+            context().assertEvent(updateQueued);
+        }
+
         @Test
         @DisplayName("producing `MessageCreated` and `ThreadCreated` events")
         void producingEvents() {
@@ -145,15 +160,37 @@ final class ThreadChatProcessTest {
         }
 
         @Test
-        @DisplayName("setting process state")
+        @DisplayName("setting process state with an empty outbox")
         void settingState() {
             var expectedState = ThreadChat.newBuilder()
                     .setThread(thread)
                     .setSpace(space)
                     .setResource(stateUpdate.getResource())
+                    .setLastUpdateNumber(1)
                     .vBuild();
             context().assertState(thread, ThreadChat.class)
                      .isEqualTo(expectedState);
         }
+
+        @Test
+        @DisplayName("rejecting a repeated confirmation of the sent update")
+        void rejectingRepeatedConfirmation() {
+            var confirmation = ConfirmBuildStateUpdate
+                    .newBuilder()
+                    .setThread(thread)
+                    .setNumber(1)
+                    .setUpdate(stateUpdate)
+                    .vBuild();
+            context().receivesCommand(confirmation);
+
+            var notPending = ThreadChatRejections.BuildStateUpdateNotPending.newBuilder()
+                    .setThread(thread)
+                    .setNumber(1)
+                    .vBuild();
+            context().assertEvent(notPending);
+            context().assertEvents()
+                     .withType(MessageCreated.class)
+                     .hasSize(1);
+        }
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.server.google.chat;
+
+import io.spine.chatbot.google.chat.MessageId;
+import io.spine.chatbot.google.chat.SpaceId;
+import io.spine.chatbot.google.chat.ThreadId;
+import io.spine.chatbot.google.chat.event.MessageCreated;
+import io.spine.chatbot.google.chat.event.ThreadCreated;
+import io.spine.chatbot.google.chat.thread.ThreadMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.message;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.space;
+import static io.spine.chatbot.google.chat.GoogleChatIdentifiers.thread;
+import static io.spine.chatbot.server.google.chat.ThreadResources.threadResource;
+
+@DisplayName("`ThreadMessageProjection` should")
+final class ThreadMessageProjectionTest extends GoogleChatContextAwareTest {
+
+    private final ThreadId thread = thread("SpineEventEngine/time");
+    private final SpaceId space = space("spaces/qpojdwpiq1241");
+    private final MessageId first = message("spaces/qpojdwpiq1241/messages/qwe1");
+    private final MessageId second = message("spaces/qpojdwpiq1241/messages/qwe2");
+
+    @BeforeEach
+    void createThreadAndMessages() {
+        var threadCreated = ThreadCreated
+                .newBuilder()
+                .setThread(thread)
+                .setSpace(space)
+                .setResource(threadResource("spaces/qpojdwpiq1241/threads/dpqwo12"))
+                .vBuild();
+        context().receivesEvent(threadCreated)
+                 .receivesEvent(messageCreated(first))
+                 .receivesEvent(messageCreated(second));
+    }
+
+    @Test
+    @DisplayName("record each thread message with its number")
+    void recordMessages() {
+        assertMessage(first, 1);
+        assertMessage(second, 2);
+    }
+
+    private void assertMessage(MessageId message, int number) {
+        var expected = ThreadMessage
+                .newBuilder()
+                .setMessage(message)
+                .setThread(thread)
+                .setNumber(number)
+                .buildPartial();
+        context().assertState(message, ThreadMessage.class)
+                 .comparingExpectedFieldsOnly()
+                 .isEqualTo(expected);
+    }
+
+    private MessageCreated messageCreated(MessageId message) {
+        return MessageCreated
+                .newBuilder()
+                .setMessage(message)
+                .setSpace(space)
+                .setThread(thread)
+                .vBuild();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.testing.FakeTicker;
+import io.spine.chatbot.storage.RecordingStorageFactory.RecordingStorage;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.RecordStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.chatbot.storage.TestRecords.CONTEXT;
+import static io.spine.chatbot.storage.TestRecords.entityRecord;
+import static io.spine.chatbot.storage.TestRecords.entityRecordSpec;
+import static io.spine.chatbot.storage.TestRecords.eventSpec;
+
+@DisplayName("`CachingStorageFactory` should")
+final class CachingStorageFactoryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    private final FakeTicker ticker = new FakeTicker();
+    private RecordingStorageFactory delegate;
+    private CachingStorageFactory factory;
+    private RecordStorage<String, EntityRecord> storage;
+    private RecordingStorage<String, EntityRecord> underlying;
+
+    @BeforeEach
+    void createStorage() {
+        createStorage(MAX_BYTES);
+    }
+
+    private void createStorage(long maxBytes) {
+        delegate = new RecordingStorageFactory();
+        factory = new CachingStorageFactory(delegate, maxBytes, TTL, ticker);
+        storage = factory.createRecordStorage(CONTEXT, entityRecordSpec());
+        underlying = delegate.lastStorage();
+    }
+
+    @AfterEach
+    void closeFactory() throws Exception {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("read a missing record from the delegate")
+    void readOnMiss() {
+        var record = entityRecord("first", "1");
+        underlying.write("first", record);
+
+        assertThat(storage.read("first")).hasValue(record);
+        assertThat(underlying.reads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("serve a cached record without reading the delegate")
+    void readOnHit() {
+        var record = entityRecord("first", "1");
+        storage.write("first", record);
+
+        assertThat(storage.read("first")).hasValue(record);
+        assertThat(storage.read("first")).hasValue(record);
+        assertThat(underlying.reads()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("replace the cached record upon write")
+    void replaceOnWrite() {
+        storage.write("first", entityRecord("first", "1"));
+        storage.read("first");
+        var updated = entityRecord("first", "2");
+        storage.write("first", updated);
+
+        assertThat(storage.read("first")).hasValue(updated);
+        assertThat(underlying.reads()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("evict the deleted record")
+    void evictOnDelete() {
+        storage.write("first", entityRecord("first", "1"));
+        storage.delete("first");
+
+        assertThat(storage.read("first")).isEmpty();
+        assertThat(underlying.reads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("keep the cached records within the size limit")
+    void evictBySize() {
+        var recordSize = entityRecord("record-00", "value").getSerializedSize();
+        var cachedRecords = 10;
+        var writtenRecords = 100;
+        factory.close();
+        createStorage((long) recordSize * cachedRecords);
+        for (var i = 0; i < writtenRecords; i++) {
+            var id = String.format("record-%02d", i);
+            storage.write(id, entityRecord(id, "value"));
+        }
+        for (var i = 0; i < writtenRecords; i++) {
+            storage.read(String.format("record-%02d", i));
+        }
+
+        assertThat(underlying.reads()).isAtLeast(writtenRecords - cachedRecords);
+    }
+
+    @Test
+    @DisplayName("expire the cached records after the TTL")
+    void expireByTtl() {
+        storage.write("first", entityRecord("first", "1"));
+        var changedElsewhere = entityRecord("first", "2");
+        underlying.write("first", changedElsewhere);
+
+        ticker.advance(TTL.minusSeconds(1));
+        assertThat(storage.read("first")).hasValue(entityRecord("first", "1"));
+
+        ticker.advance(Duration.ofSeconds(1));
+        assertThat(storage.read("first")).hasValue(changedElsewhere);
+    }
+
+    @Test
+    @DisplayName("not cache the records other than the entity ones")
+    void notCacheOtherRecords() {
+        RecordStorage<?, ?> events = factory.createRecordStorage(CONTEXT, eventSpec());
+
+        assertThat(events).isSameInstanceAs(delegate.lastStorage());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.StringValue;
+import com.google.protobuf.util.Timestamps;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.ContextSpec;
+import io.spine.server.storage.RecordStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.chatbot.storage.TestRecords.CONTEXT;
+import static io.spine.chatbot.storage.TestRecords.entityRecordSpec;
+import static io.spine.chatbot.storage.TestRecords.event;
+import static io.spine.chatbot.storage.TestRecords.eventSpec;
+
+@DisplayName("`EventArchivingStorageFactory` should")
+final class EventArchivingStorageFactoryTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private EventArchivingStorageFactory factory;
+    private EventCompaction compaction;
+
+    @BeforeEach
+    void createFactory() {
+        factory = EventArchivingStorageFactory.wrap(new RecordingStorageFactory());
+        compaction = new EventCompaction(
+                Duration.ofDays(1), ImmutableSet.of("google.protobuf.StringValue"), archiveDir, 10
+        );
+    }
+
+    @AfterEach
+    void closeFactory() throws Exception {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("compact the event storages it created")
+    void compactCreatedStorages() {
+        RecordStorage<EventId, Event> events = factory.createRecordStorage(CONTEXT, eventSpec());
+        var first = store(events, "first");
+        var other = ContextSpec.singleTenant("OtherEventArchivingTests");
+        RecordStorage<EventId, Event> otherEvents =
+                factory.createRecordStorage(other, eventSpec());
+        var second = store(otherEvents, "second");
+
+        var report = factory.compactEvents(compaction);
+
+        assertThat(report.getCompactedCount()).isEqualTo(2);
+        assertThat(report.getArchiveFileList()).hasSize(2);
+        assertThat(events.read(first.getId())).isEmpty();
+        assertThat(otherEvents.read(second.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("skip the closed event storages")
+    void skipClosed() {
+        RecordStorage<EventId, Event> events = factory.createRecordStorage(CONTEXT, eventSpec());
+        store(events, "first");
+        events.close();
+
+        var report = factory.compactEvents(compaction);
+
+        assertThat(report.getCompactedCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("not compact the storages of other records")
+    void ignoreOtherRecords() {
+        factory.createRecordStorage(CONTEXT, entityRecordSpec());
+
+        var report = factory.compactEvents(compaction);
+
+        assertThat(report.getCompactedCount()).isEqualTo(0);
+        assertThat(report.getArchiveFileList()).isEmpty();
+    }
+
+    private static Event store(RecordStorage<EventId, Event> events, String id) {
+        var event = event(id, StringValue.of(id), Timestamps.fromMillis(1_000));
+        events.write(event.getId(), event);
+        return event;
+    }
+}
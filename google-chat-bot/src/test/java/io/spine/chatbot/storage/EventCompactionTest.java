@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.Int32Value;
+import com.google.protobuf.StringValue;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.spine.base.Time;
+import io.spine.chatbot.storage.EventArchivingStorageFactory.EventStorage;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.chatbot.storage.TestRecords.CONTEXT;
+import static io.spine.chatbot.storage.TestRecords.event;
+import static io.spine.chatbot.storage.TestRecords.eventSpec;
+
+@DisplayName("`EventCompaction` should")
+final class EventCompactionTest {
+
+    private static final String COMPACTED_TYPE = "google.protobuf.StringValue";
+    private static final Duration RETENTION = Duration.ofDays(30);
+    private static final Timestamp OUTDATED = Timestamps.fromMillis(1_000);
+
+    @TempDir
+    Path archiveDir;
+
+    private final InMemoryStorageFactory factory = InMemoryStorageFactory.newInstance();
+    private RecordStorage<EventId, Event> events;
+
+    @BeforeEach
+    void createStorage() {
+        events = factory.createRecordStorage(CONTEXT, eventSpec());
+    }
+
+    @AfterEach
+    void closeFactory() {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("archive and remove the outdated events of the configured types")
+    void compactOutdated() throws IOException {
+        var first = store(compacted("first", OUTDATED));
+        var second = store(compacted("second", OUTDATED));
+        var recent = store(compacted("recent", Time.currentTime()));
+        var otherType = store(kept("other-type", OUTDATED));
+
+        var report = compaction(10).run(storages());
+
+        assertThat(report.getCompactedCount()).isEqualTo(2);
+        assertThat(events.read(first.getId())).isEmpty();
+        assertThat(events.read(second.getId())).isEmpty();
+        assertThat(events.read(recent.getId())).hasValue(recent);
+        assertThat(events.read(otherType.getId())).hasValue(otherType);
+        assertThat(report.getArchiveFileList()).hasSize(1);
+        assertThat(readArchive(report.getArchiveFile(0))).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("process the events in pages")
+    void compactInPages() throws IOException {
+        var stored = new ArrayList<Event>();
+        for (var i = 0; i < 5; i++) {
+            stored.add(store(compacted("event-" + i, Timestamps.fromMillis(1_000 + i))));
+        }
+
+        var report = compaction(2).run(storages());
+
+        assertThat(report.getCompactedCount()).isEqualTo(5);
+        assertThat(report.getArchiveFileList()).hasSize(3);
+        var archived = new ArrayList<Event>();
+        for (var file : report.getArchiveFileList()) {
+            archived.addAll(readArchive(file));
+        }
+        assertThat(archived).containsExactlyElementsIn(stored);
+        for (var event : stored) {
+            assertThat(events.read(event.getId())).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("not create archives if there is nothing to compact")
+    void skipUpToDate() throws IOException {
+        store(compacted("recent", Time.currentTime()));
+
+        var report = compaction(10).run(storages());
+
+        assertThat(report.getCompactedCount()).isEqualTo(0);
+        assertThat(report.getArchiveFileList()).isEmpty();
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files.count()).isEqualTo(0);
+        }
+    }
+
+    private EventCompaction compaction(int pageSize) {
+        return new EventCompaction(RETENTION, ImmutableSet.of(COMPACTED_TYPE),
+                                   archiveDir, pageSize);
+    }
+
+    private ImmutableList<EventStorage> storages() {
+        return ImmutableList.of(new EventStorage(CONTEXT.name().getValue(), events));
+    }
+
+    private Event store(Event event) {
+        events.write(event.getId(), event);
+        return event;
+    }
+
+    private static Event compacted(String id, Timestamp created) {
+        return event(id, StringValue.of(id), created);
+    }
+
+    private static Event kept(String id, Timestamp created) {
+        return event(id, Int32Value.of(id.length()), created);
+    }
+
+    private static List<Event> readArchive(String file) throws IOException {
+        var result = new ArrayList<Event>();
+        try (var input = new GZIPInputStream(Files.newInputStream(Path.of(file)))) {
+            var event = Event.parseDelimitedFrom(input);
+            while (event != null) {
+                result.add(event);
+                event = Event.parseDelimitedFrom(input);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.ContextSpec;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.RecordStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.chatbot.storage.TestRecords.CONTEXT;
+import static io.spine.chatbot.storage.TestRecords.entityRecord;
+import static io.spine.chatbot.storage.TestRecords.entityRecordSpec;
+import static io.spine.chatbot.storage.TestRecords.event;
+import static io.spine.chatbot.storage.TestRecords.eventSpec;
+
+@DisplayName("`FileStorageFactory` should")
+final class FileStorageFactoryTest {
+
+    @TempDir
+    Path directory;
+
+    private FileStorageFactory factory;
+
+    @BeforeEach
+    void createFactory() {
+        factory = FileStorageFactory.in(directory, true);
+    }
+
+    @AfterEach
+    void closeFactory() {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("persist the records between the factory instances")
+    void roundTrip() {
+        var record = entityRecord("first", "1");
+        entityStorage().write("first", record);
+        reopen();
+
+        assertThat(entityStorage().read("first")).hasValue(record);
+    }
+
+    @Test
+    @DisplayName("persist the record deletion")
+    void delete() {
+        entityStorage().write("first", entityRecord("first", "1"));
+        entityStorage().delete("first");
+        reopen();
+
+        assertThat(entityStorage().read("first")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("keep the records of different types apart")
+    void separateRecordTypes() {
+        var record = entityRecord("first", "1");
+        entityStorage().write("first", record);
+        var event = event("first");
+        RecordStorage<EventId, Event> events = factory.createRecordStorage(CONTEXT, eventSpec());
+        events.write(event.getId(), event);
+        reopen();
+
+        RecordStorage<EventId, Event> reopened = factory.createRecordStorage(CONTEXT, eventSpec());
+        assertThat(reopened.read(event.getId())).hasValue(event);
+        assertThat(entityStorage().read("first")).hasValue(record);
+    }
+
+    @Test
+    @DisplayName("keep the records of different contexts apart")
+    void separateContexts() {
+        entityStorage().write("first", entityRecord("first", "1"));
+        reopen();
+
+        var otherContext = ContextSpec.singleTenant("OtherStorageTests");
+        RecordStorage<String, EntityRecord> other =
+                factory.createRecordStorage(otherContext, entityRecordSpec());
+        assertThat(other.read("first")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("return the same storage for the same records until it is closed")
+    void reuseStorage() {
+        var storage = entityStorage();
+        var record = entityRecord("first", "1");
+        storage.write("first", record);
+
+        assertThat(entityStorage().read("first")).hasValue(record);
+    }
+
+    private RecordStorage<String, EntityRecord> entityStorage() {
+        return factory.createRecordStorage(CONTEXT, entityRecordSpec());
+    }
+
+    private void reopen() {
+        factory.close();
+        factory = FileStorageFactory.in(directory, true);
+    }
+}
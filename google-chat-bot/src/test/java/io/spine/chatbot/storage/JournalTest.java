@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.base.Identifier;
+import io.spine.protobuf.AnyPacker;
+import io.spine.protobuf.TypeConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+@DisplayName("`Journal` should")
+final class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private Journal journal;
+
+    @BeforeEach
+    void openJournal() {
+        file = directory.resolve("context")
+                        .resolve("records.journal");
+        journal = Journal.open(file);
+    }
+
+    @AfterEach
+    void closeJournal() {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("replay appended entries in order")
+    void replayAppended() {
+        var first = written("first", "1");
+        var second = deleted("first");
+        var third = written("second", "2");
+        journal.append(ImmutableList.of(first, second));
+        journal.append(ImmutableList.of(third));
+        journal.close();
+
+        assertThat(replay()).containsExactly(first, second, third)
+                            .inOrder();
+    }
+
+    @Test
+    @DisplayName("replace entries upon rewrite")
+    void rewrite() {
+        journal.append(ImmutableList.of(written("first", "1"), written("first", "2")));
+        var compacted = written("first", "2");
+        journal.rewrite(ImmutableList.of(compacted));
+        var appended = written("second", "3");
+        journal.append(ImmutableList.of(appended));
+        journal.close();
+
+        assertThat(replay()).containsExactly(compacted, appended)
+                            .inOrder();
+    }
+
+    @Test
+    @DisplayName("discard an incomplete entry at the end")
+    void discardIncompleteTail() throws IOException {
+        var complete = written("first", "1");
+        journal.append(ImmutableList.of(complete, written("second", "2")));
+        journal.close();
+        try (var channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertThat(replay()).containsExactly(complete);
+    }
+
+    private List<JournalEntry> replay() {
+        journal = Journal.open(file);
+        var entries = new ArrayList<JournalEntry>();
+        journal.replay(entries::add);
+        assertThat(journal.entryCount()).isEqualTo(entries.size());
+        return entries;
+    }
+
+    private static JournalEntry written(String id, String value) {
+        return JournalEntry
+                .newBuilder()
+                .setId(Identifier.pack(id))
+                .setRecord(AnyPacker.pack(TypeConverter.toMessage(value)))
+                .vBuild();
+    }
+
+    private static JournalEntry deleted(String id) {
+        return JournalEntry
+                .newBuilder()
+                .setId(Identifier.pack(id))
+                .setDeleted(true)
+                .vBuild();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.chatbot.storage.TestRecords.CONTEXT;
+import static io.spine.chatbot.storage.TestRecords.entityRecord;
+import static io.spine.chatbot.storage.TestRecords.entityRecordSpec;
+
+@DisplayName("`JournaledRecordStorage` should")
+final class JournaledRecordStorageTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private RecordStorage<String, EntityRecord> storage;
+
+    @BeforeEach
+    void openStorage() {
+        file = directory.resolve("records.journal");
+        storage = open();
+    }
+
+    @AfterEach
+    void closeStorage() {
+        if (!storage.isClosed()) {
+            storage.close();
+        }
+    }
+
+    @Test
+    @DisplayName("read the written records")
+    void roundTrip() {
+        var record = entityRecord("first", "1");
+        storage.write("first", record);
+
+        assertThat(storage.read("first")).hasValue(record);
+    }
+
+    @Test
+    @DisplayName("restore the records from the journal once reopened")
+    void restore() {
+        storage.write("first", entityRecord("first", "1"));
+        var updated = entityRecord("first", "2");
+        storage.write("first", updated);
+        var other = entityRecord("second", "3");
+        storage.write("second", other);
+        reopen();
+
+        assertThat(storage.read("first")).hasValue(updated);
+        assertThat(storage.read("second")).hasValue(other);
+    }
+
+    @Test
+    @DisplayName("not restore the deleted records")
+    void delete() {
+        storage.write("first", entityRecord("first", "1"));
+        var kept = entityRecord("second", "2");
+        storage.write("second", kept);
+        storage.delete("first");
+
+        assertThat(storage.read("first")).isEmpty();
+        reopen();
+        assertThat(storage.read("first")).isEmpty();
+        assertThat(storage.read("second")).hasValue(kept);
+    }
+
+    @Test
+    @DisplayName("compact the journal of the records overwritten many times")
+    void compact() throws IOException {
+        var latest = entityRecord("first", "0");
+        for (var version = 0; version < 2_000; version++) {
+            latest = entityRecord("first", String.valueOf(version));
+            storage.write("first", latest);
+        }
+        storage.close();
+        var sizeBefore = Files.size(file);
+        storage = open();
+
+        assertThat(Files.size(file)).isLessThan(sizeBefore);
+        assertThat(storage.read("first")).hasValue(latest);
+    }
+
+    private void reopen() {
+        storage.close();
+        storage = open();
+    }
+
+    private RecordStorage<String, EntityRecord> open() {
+        var spec = entityRecordSpec();
+        var memory = InMemoryStorageFactory.newInstance()
+                                           .createRecordStorage(CONTEXT, spec);
+        return new JournaledRecordStorage<>(memory, Journal.open(file, false), spec);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.spine.chatbot.storage.RecordingStorageFactory.RecordingStorage;
+import io.spine.server.entity.EntityRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.chatbot.storage.TestRecords.CONTEXT;
+import static io.spine.chatbot.storage.TestRecords.entityRecord;
+import static io.spine.chatbot.storage.TestRecords.entityRecordSpec;
+
+@DisplayName("`MeteredStorageFactory` should")
+final class MeteredStorageFactoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecordingStorageFactory delegate = new RecordingStorageFactory();
+    private final MeteredStorageFactory factory = MeteredStorageFactory.wrap(delegate);
+
+    @BeforeEach
+    void addRegistry() {
+        Metrics.addRegistry(registry);
+    }
+
+    @AfterEach
+    void removeRegistry() throws Exception {
+        Metrics.removeRegistry(registry);
+        registry.close();
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("count the records written one by one")
+    void countSingleWrites() {
+        var storage = factory.createRecordStorage(CONTEXT, entityRecordSpec());
+        storage.write("first", entityRecord("first", "1"));
+        storage.write("second", entityRecord("second", "2"));
+
+        assertThat(entityRecordWrites()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("count the records written in a batch")
+    void countBatchWrites() {
+        var storage = factory.createRecordStorage(CONTEXT, entityRecordSpec());
+        RecordingStorage<String, EntityRecord> underlying = delegate.lastStorage();
+        storage.writeAll(List.of(entityRecord("first", "1"),
+                                 entityRecord("second", "2"),
+                                 entityRecord("third", "3")));
+
+        assertThat(underlying.batches()).isEqualTo(1);
+        assertThat(entityRecordWrites()).isEqualTo(3.0);
+    }
+
+    private double entityRecordWrites() {
+        return registry.get("chatbot.storage.writes")
+                       .tag("context", CONTEXT.name().getValue())
+                       .tag("record", EntityRecord.class.getSimpleName())
+                       .counter()
+                       .count();
+    }
+}
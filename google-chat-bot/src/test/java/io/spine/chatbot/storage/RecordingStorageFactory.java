@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.collect.Iterables;
+import com.google.protobuf.Message;
+import io.spine.server.ContextSpec;
+import io.spine.server.storage.RecordSpec;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.RecordStorageDelegate;
+import io.spine.server.storage.RecordWithColumns;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * An in-memory {@link StorageFactory} which records the calls to the created storages.
+ *
+ * <p>Serves as the delegate of the storage factory decorators under test.
+ */
+final class RecordingStorageFactory implements StorageFactory {
+
+    private final InMemoryStorageFactory memory = InMemoryStorageFactory.newInstance();
+    private final List<RecordingStorage<?, ?>> storages = new CopyOnWriteArrayList<>();
+
+    @Override
+    public <I, R extends Message> RecordStorage<I, R>
+    createRecordStorage(ContextSpec context, RecordSpec<I, R, ?> recordSpec) {
+        var storage = new RecordingStorage<>(memory.createRecordStorage(context, recordSpec));
+        storages.add(storage);
+        return storage;
+    }
+
+    /**
+     * Returns the storage created last.
+     */
+    @SuppressWarnings("unchecked") // The callers know the type of the storage they created.
+    <I, R extends Message> RecordingStorage<I, R> lastStorage() {
+        checkState(!storages.isEmpty(), "No storages were created.");
+        return (RecordingStorage<I, R>) storages.get(storages.size() - 1);
+    }
+
+    @Override
+    public void close() {
+        memory.close();
+    }
+
+    /**
+     * A storage counting the single record reads, the written records and the write calls.
+     */
+    static final class RecordingStorage<I, R extends Message>
+            extends RecordStorageDelegate<I, R> {
+
+        private final AtomicInteger reads = new AtomicInteger();
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger batches = new AtomicInteger();
+
+        private RecordingStorage(RecordStorage<I, R> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Optional<R> read(I id) {
+            reads.incrementAndGet();
+            return super.read(id);
+        }
+
+        @Override
+        protected void writeRecord(RecordWithColumns<I, R> record) {
+            writes.incrementAndGet();
+            batches.incrementAndGet();
+            super.writeRecord(record);
+        }
+
+        @Override
+        protected void writeAllRecords(Iterable<? extends RecordWithColumns<I, R>> records) {
+            writes.addAndGet(Iterables.size(records));
+            batches.incrementAndGet();
+            super.writeAllRecords(records);
+        }
+
+        /**
+         * Returns the number of the records read by their identifiers.
+         */
+        int reads() {
+            return reads.get();
+        }
+
+        /**
+         * Returns the number of the written records.
+         */
+        int writes() {
+            return writes.get();
+        }
+
+        /**
+         * Returns the number of the write calls, each writing one or more records.
+         */
+        int batches() {
+            return batches.get();
+        }
+    }
+}
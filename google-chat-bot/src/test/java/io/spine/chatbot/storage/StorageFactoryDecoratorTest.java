@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth8.assertThat;
+
+@DisplayName("`StorageFactoryDecorator` should")
+final class StorageFactoryDecoratorTest {
+
+    private final RecordingStorageFactory recording = new RecordingStorageFactory();
+    private final WriteBehindStorageFactory writeBehind =
+            new WriteBehindStorageFactory(recording, Duration.ofHours(1), 10, false);
+    private final MeteredStorageFactory metered = MeteredStorageFactory.wrap(writeBehind);
+
+    @AfterEach
+    void closeFactory() throws Exception {
+        metered.close();
+    }
+
+    @Test
+    @DisplayName("find the decorated factory through the metered one")
+    void findThroughMetered() {
+        assertThat(StorageFactoryDecorator.find(metered, WriteBehindStorageFactory.class))
+                .hasValue(writeBehind);
+        assertThat(StorageFactoryDecorator.find(metered, RecordingStorageFactory.class))
+                .hasValue(recording);
+    }
+
+    @Test
+    @DisplayName("find the outermost factory itself")
+    void findItself() {
+        assertThat(StorageFactoryDecorator.find(metered, MeteredStorageFactory.class))
+                .hasValue(metered);
+    }
+
+    @Test
+    @DisplayName("not find the factory which is not decorated")
+    void notFindMissing() {
+        assertThat(StorageFactoryDecorator.find(metered, EventArchivingStorageFactory.class))
+                .isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Empty;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import io.spine.base.Identifier;
+import io.spine.core.Event;
+import io.spine.core.EventContext;
+import io.spine.core.EventId;
+import io.spine.protobuf.AnyPacker;
+import io.spine.protobuf.TypeConverter;
+import io.spine.server.ContextSpec;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.MessageRecordSpec;
+import io.spine.server.storage.RecordSpec;
+
+/**
+ * Provides the records and their specifications for the storage tests.
+ */
+final class TestRecords {
+
+    /**
+     * The single-tenant context of the test storages.
+     */
+    static final ContextSpec CONTEXT = ContextSpec.singleTenant("StorageTests");
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TestRecords() {
+    }
+
+    /**
+     * Returns the specification of the entity records identified by strings.
+     */
+    static RecordSpec<String, EntityRecord, ?> entityRecordSpec() {
+        return new MessageRecordSpec<>(
+                String.class, EntityRecord.class,
+                record -> Identifier.unpack(record.getEntityId(), String.class)
+        );
+    }
+
+    /**
+     * Returns the specification of the event records.
+     *
+     * <p>The events are stored along with the columns queried by the {@link EventCompaction}.
+     */
+    static RecordSpec<EventId, Event, ?> eventSpec() {
+        return new MessageRecordSpec<>(
+                EventId.class, Event.class, Event::getId,
+                ImmutableList.of(EventCompaction.TYPE, EventCompaction.CREATED)
+        );
+    }
+
+    /**
+     * Creates a new entity record with the string {@code state}.
+     */
+    static EntityRecord entityRecord(String id, String state) {
+        return EntityRecord
+                .newBuilder()
+                .setEntityId(Identifier.pack(id))
+                .setState(AnyPacker.pack(TypeConverter.toMessage(state)))
+                .build();
+    }
+
+    /**
+     * Creates a new event record with the {@code id}.
+     */
+    static Event event(String id) {
+        return event(id, Empty.getDefaultInstance(), Timestamp.getDefaultInstance());
+    }
+
+    /**
+     * Creates a new event record of the {@code message} created at the {@code created} time.
+     */
+    static Event event(String id, Message message, Timestamp created) {
+        var eventId = EventId
+                .newBuilder()
+                .setValue(id)
+                .build();
+        var context = EventContext
+                .newBuilder()
+                .setTimestamp(created)
+                .buildPartial();
+        return Event
+                .newBuilder()
+                .setId(eventId)
+                .setMessage(AnyPacker.pack(message))
+                .setContext(context)
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.storage;
+
+import io.spine.chatbot.storage.RecordingStorageFactory.RecordingStorage;
+import io.spine.core.Event;
+import io.spine.core.EventId;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.storage.RecordStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static io.spine.chatbot.storage.TestRecords.CONTEXT;
+import static io.spine.chatbot.storage.TestRecords.entityRecord;
+import static io.spine.chatbot.storage.TestRecords.entityRecordSpec;
+import static io.spine.chatbot.storage.TestRecords.event;
+import static io.spine.chatbot.storage.TestRecords.eventSpec;
+
+@DisplayName("`WriteBehindStorageFactory` should")
+final class WriteBehindStorageFactoryTest {
+
+    /**
+     * The latency long enough for the timed flush not to happen during a test.
+     */
+    private static final Duration NO_TIMED_FLUSH = Duration.ofHours(1);
+    private static final int BATCH_SIZE = 3;
+
+    private RecordingStorageFactory delegate = new RecordingStorageFactory();
+    private WriteBehindStorageFactory factory =
+            new WriteBehindStorageFactory(delegate, NO_TIMED_FLUSH, BATCH_SIZE, false);
+
+    @AfterEach
+    void closeFactory() throws Exception {
+        factory.close();
+    }
+
+    /**
+     * Replaces the factory under test with the one of the specified configuration.
+     */
+    private void recreateFactory(Duration latency, boolean bufferEvents) throws Exception {
+        factory.close();
+        delegate = new RecordingStorageFactory();
+        factory = new WriteBehindStorageFactory(delegate, latency, BATCH_SIZE, bufferEvents);
+    }
+
+    @Nested
+    @DisplayName("buffer the entity records")
+    final class BufferEntities {
+
+        private final RecordStorage<String, EntityRecord> storage =
+                factory.createRecordStorage(CONTEXT, entityRecordSpec());
+        private final RecordingStorage<String, EntityRecord> underlying = delegate.lastStorage();
+
+        @Test
+        @DisplayName("until the batch is full")
+        void untilBatchIsFull() {
+            storage.write("first", entityRecord("first", "1"));
+            storage.write("second", entityRecord("second", "2"));
+            assertThat(underlying.writes()).isEqualTo(0);
+
+            storage.write("third", entityRecord("third", "3"));
+            assertThat(underlying.writes()).isEqualTo(BATCH_SIZE);
+            assertThat(underlying.batches()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("writing only the last version of a record rewritten before the flush")
+        void lastVersionOnly() {
+            storage.write("first", entityRecord("first", "1"));
+            var updated = entityRecord("first", "2");
+            storage.write("first", updated);
+            factory.flush();
+
+            assertThat(underlying.writes()).isEqualTo(1);
+            assertThat(underlying.read("first")).hasValue(updated);
+        }
+
+        @Test
+        @DisplayName("serving the buffered records to the reads by identifier")
+        void readYourWrites() {
+            var record = entityRecord("first", "1");
+            storage.write("first", record);
+
+            assertThat(storage.read("first")).hasValue(record);
+            assertThat(underlying.reads()).isEqualTo(0);
+            assertThat(underlying.writes()).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("dropping a record deleted before the flush")
+        void dropDeleted() {
+            storage.write("first", entityRecord("first", "1"));
+            storage.delete("first");
+            factory.flush();
+
+            assertThat(underlying.writes()).isEqualTo(0);
+            assertThat(storage.read("first")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("flushing the buffered records before the storage is closed")
+        void flushOnClose() {
+            storage.write("first", entityRecord("first", "1"));
+            storage.close();
+
+            assertThat(underlying.writes()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("flush the buffered records before it is closed")
+    void flushOnClose() throws Exception {
+        var recording = new RecordingStorageFactory();
+        var closed = new WriteBehindStorageFactory(recording, NO_TIMED_FLUSH, BATCH_SIZE, false);
+        var storage = closed.createRecordStorage(CONTEXT, entityRecordSpec());
+        RecordingStorage<String, EntityRecord> underlying = recording.lastStorage();
+        storage.write("first", entityRecord("first", "1"));
+        closed.close();
+
+        assertThat(underlying.writes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flush the buffered records once the latency passes")
+    void flushOnLatency() throws Exception {
+        recreateFactory(Duration.ofMillis(10), false);
+        var storage = factory.createRecordStorage(CONTEXT, entityRecordSpec());
+        RecordingStorage<String, EntityRecord> underlying = delegate.lastStorage();
+        storage.write("first", entityRecord("first", "1"));
+
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (underlying.writes() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(underlying.writes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("write the events through by default")
+    void writeEventsThrough() {
+        RecordStorage<EventId, Event> storage = factory.createRecordStorage(CONTEXT, eventSpec());
+        RecordingStorage<EventId, Event> underlying = delegate.lastStorage();
+        var event = event("first");
+        storage.write(event.getId(), event);
+
+        assertThat(underlying.writes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("buffer the events if configured to")
+    void bufferEvents() throws Exception {
+        recreateFactory(NO_TIMED_FLUSH, true);
+        RecordStorage<EventId, Event> storage = factory.createRecordStorage(CONTEXT, eventSpec());
+        RecordingStorage<EventId, Event> underlying = delegate.lastStorage();
+        var event = event("first");
+        storage.write(event.getId(), event);
+        assertThat(underlying.writes()).isEqualTo(0);
+
+        factory.flush();
+        assertThat(underlying.writes()).isEqualTo(1);
+    }
+}
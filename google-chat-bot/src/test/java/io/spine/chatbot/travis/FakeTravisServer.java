@@ -0,0 +1,361 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.travis;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.Message;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.spine.chatbot.github.Slug;
+import io.spine.json.Json;
+import io.spine.logging.Logging;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.chatbot.github.Slugs.newSlug;
+import static io.spine.protobuf.Messages.isDefault;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * An embeddable fake of the Travis CI API v3 which plays a {@link TravisScenario}.
+ *
+ * <p>The server serves the repositories of an owner and the latest build of the repository
+ * {@code master} branch, so that the real {@linkplain Travis Travis client} with its queries
+ * and the JSON parsing can be exercised without accessing Travis CI.
+ *
+ * <p>The scenario time starts with the server start.
+ */
+public final class FakeTravisServer implements AutoCloseable, Logging {
+
+    private static final int THREADS = 8;
+    private static final String DEFAULT_STATE = "passed";
+    private static final String BRANCH = "master";
+    private static final Splitter PATH_SPLITTER = Splitter.on('/')
+                                                          .omitEmptyStrings();
+
+    private final TravisScenario scenario;
+    private final Ticker ticker;
+    private final long startNanos;
+    private final HttpServer server;
+    private final ScheduledExecutorService responder;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger throttled = new AtomicInteger();
+
+    private FakeTravisServer(TravisScenario scenario, Ticker ticker) throws IOException {
+        this.scenario = scenario;
+        this.ticker = ticker;
+        this.startNanos = ticker.read();
+        this.responder = Executors.newScheduledThreadPool(THREADS);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::accept);
+        server.start();
+    }
+
+    /**
+     * Starts a new server playing the {@code scenario}.
+     */
+    public static FakeTravisServer start(TravisScenario scenario) {
+        return start(scenario, Ticker.systemTicker());
+    }
+
+    /**
+     * Starts a new server playing the {@code scenario} in the time measured by
+     * the {@code ticker}.
+     */
+    @VisibleForTesting
+    static FakeTravisServer start(TravisScenario scenario, Ticker ticker) {
+        checkNotNull(scenario);
+        checkNotNull(ticker);
+        try {
+            return new FakeTravisServer(scenario, ticker);
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to start the fake Travis server.");
+        }
+    }
+
+    /**
+     * Returns the base URL of the API served by the server.
+     */
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress()
+                                           .getPort();
+    }
+
+    /**
+     * Creates a new Travis client which sends the requests to this server.
+     */
+    public TravisClient newClient() {
+        return new Travis(Token.staticToken("fake-travis-token"), baseUrl());
+    }
+
+    /**
+     * Returns the slugs of the organizations served by the server.
+     */
+    public ImmutableList<Slug> organizations() {
+        var result = ImmutableList.<Slug>builder();
+        for (var i = 1; i <= scenario.organizations(); i++) {
+            result.add(newSlug(organization(i)));
+        }
+        return result.build();
+    }
+
+    /**
+     * Returns the total number of the received requests.
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of the throttled requests.
+     */
+    public int throttledRequests() {
+        return throttled.get();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+
+    private void accept(HttpExchange exchange) {
+        requests.incrementAndGet();
+        var min = scenario.minLatency()
+                          .toNanos() / 1000;
+        var max = scenario.maxLatency()
+                          .toNanos() / 1000;
+        var latency = ThreadLocalRandom.current()
+                                       .nextLong(min, max + 1);
+        responder.schedule(() -> respond(exchange), latency, MICROSECONDS);
+    }
+
+    private void respond(HttpExchange exchange) {
+        try {
+            var chance = ThreadLocalRandom.current()
+                                          .nextDouble();
+            if (chance < scenario.throttleRate()) {
+                throttled.incrementAndGet();
+                send(exchange, 429, "{\"@type\":\"error\",\"error_type\":\"rate_limited\"}");
+            } else {
+                dispatch(exchange);
+            }
+        } catch (IOException | RuntimeException e) {
+            _warn().withCause(e)
+                   .log("Unable to respond to `%s`.", exchange.getRequestURI());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        var segments = PATH_SPLITTER.splitToList(exchange.getRequestURI()
+                                                         .getRawPath());
+        if (segments.size() == 3
+                && "owner".equals(segments.get(0))
+                && "repos".equals(segments.get(2))) {
+            var owner = decode(segments.get(1));
+            send(exchange, 200, Json.toCompactJson(repositories(owner)));
+        } else if (segments.size() == 4
+                && "repo".equals(segments.get(0))
+                && "branch".equals(segments.get(2))) {
+            var slug = decode(segments.get(1));
+            var branchBuild = branchBuild(slug, segments.get(3));
+            if (isDefault(branchBuild)) {
+                sendNotFound(exchange);
+            } else {
+                send(exchange, 200, Json.toCompactJson(branchBuild));
+            }
+        } else {
+            sendNotFound(exchange);
+        }
+    }
+
+    private static void sendNotFound(HttpExchange exchange) throws IOException {
+        send(exchange, 404, "{\"@type\":\"error\",\"error_type\":\"not_found\"}");
+    }
+
+    private RepositoriesResponse repositories(String owner) {
+        var response = RepositoriesResponse.newBuilder();
+        var organization = organizationIndex(owner);
+        if (organization > 0) {
+            for (var i = 1; i <= scenario.repositories(); i++) {
+                response.addRepositories(repository(organization, i));
+            }
+        }
+        return response.build();
+    }
+
+    private Message branchBuild(String slug, String branch) {
+        var separator = slug.indexOf('/');
+        if (separator < 0) {
+            return RepoBranchBuildResponse.getDefaultInstance();
+        }
+        var organization = organizationIndex(slug.substring(0, separator));
+        var repositoryIndex = index(slug.substring(separator + 1), "repo-");
+        var known = organization > 0
+                && repositoryIndex > 0
+                && repositoryIndex <= scenario.repositories();
+        if (!known) {
+            return RepoBranchBuildResponse.getDefaultInstance();
+        }
+        var repository = repository(organization, repositoryIndex);
+        return RepoBranchBuildResponse
+                .newBuilder()
+                .setName(branch)
+                .setRepository(repository)
+                .setDefaultBranch(BRANCH.equals(branch))
+                .setExistsOnGithub(true)
+                .setLastBuild(lastBuild(repository))
+                .build();
+    }
+
+    /**
+     * Determines the latest build of the {@code repository} at the current scenario time.
+     */
+    private Build lastBuild(Repository repository) {
+        var elapsed = Duration.ofNanos(ticker.read() - startNanos);
+        var slug = repository.getSlug();
+        var bucket = bucketOf(slug);
+        var number = 1;
+        var state = DEFAULT_STATE;
+        var previousState = DEFAULT_STATE;
+        for (var step : scenario.steps()) {
+            if (step.at()
+                    .compareTo(elapsed) <= 0 && bucket < step.share()) {
+                number++;
+                previousState = state;
+                state = step.state();
+            }
+        }
+        var buildNumber = String.valueOf(number);
+        var sha = Hashing.murmur3_128()
+                         .hashString(slug + '#' + buildNumber, UTF_8)
+                         .toString();
+        var commit = Commit
+                .newBuilder()
+                .setId(repository.getId() * 1000 + number)
+                .setSha(sha)
+                .setRef("refs/heads/" + BRANCH)
+                .setMessage("Change #" + buildNumber + " of " + slug + '.')
+                .setCompareUrl("https://github.com/" + slug + "/compare/" + sha)
+                .setCommittedAt("2021-09-05T22:42:00Z")
+                .setAuthor(Author.newBuilder()
+                                 .setName("Fake Author"));
+        return Build
+                .newBuilder()
+                .setId(repository.getId() * 1000 + number)
+                .setNumber(buildNumber)
+                .setState(state)
+                .setPreviousState(previousState)
+                .setEventType("push")
+                .setRepository(repository)
+                .setBranch(Branch.newBuilder()
+                                 .setName(BRANCH))
+                .setCommit(commit)
+                .setCreatedBy(Owner.newBuilder()
+                                   .setId(1)
+                                   .setLogin("fake-author"))
+                .build();
+    }
+
+    /**
+     * Returns a stable value within {@code [0, 1)} which determines whether a step affects
+     * the repository with the {@code slug}.
+     */
+    private static double bucketOf(String slug) {
+        var hash = Hashing.murmur3_32()
+                          .hashString(slug, UTF_8)
+                          .asInt();
+        return (hash & Integer.MAX_VALUE) % 1000 / 1000.0;
+    }
+
+    private static Repository repository(int organization, int index) {
+        var name = "repo-" + index;
+        return Repository
+                .newBuilder()
+                .setId((long) organization * 100_000 + index)
+                .setName(name)
+                .setSlug(organization(organization) + '/' + name)
+                .build();
+    }
+
+    private int organizationIndex(String owner) {
+        var index = index(owner, "org-");
+        return index <= scenario.organizations() ? index : 0;
+    }
+
+    private static String organization(int index) {
+        return "org-" + index;
+    }
+
+    /**
+     * Parses the index of the name with the {@code prefix} returning {@code 0} if the name
+     * does not match.
+     */
+    private static int index(String name, String prefix) {
+        if (!name.startsWith(prefix)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int code, String body) throws IOException {
+        var bytes = body.getBytes(UTF_8);
+        exchange.getResponseHeaders()
+                .set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (var responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.travis;
+
+import com.google.common.testing.FakeTicker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.chatbot.github.Slugs.newSlug;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("`FakeTravisServer` should")
+final class FakeTravisServerTest {
+
+    private FakeTravisServer server;
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("serve the repositories of the scenario organizations")
+    void serveRepositories() {
+        server = FakeTravisServer.start(TravisScenario.fromResource("travis_scenario.json"));
+        var client = server.newClient();
+
+        assertThat(server.organizations()).hasSize(2);
+        var response = client.execute(ReposQuery.forOwner(newSlug("org-2")));
+        assertThat(response.getRepositoriesList()).hasSize(3);
+        assertThat(response.getRepositories(0)
+                           .getSlug()).isEqualTo("org-2/repo-1");
+    }
+
+    @Test
+    @DisplayName("change the builds state according to the scenario")
+    void playScenario() {
+        var ticker = new FakeTicker();
+        server = FakeTravisServer.start(TravisScenario.fromResource("travis_scenario.json"),
+                                        ticker);
+        var client = server.newClient();
+        var query = BuildsQuery.forRepo(newSlug("org-1/repo-2"));
+
+        var initialBuild = client.execute(query)
+                                 .getLastBuild();
+        assertThat(initialBuild.getNumber()).isEqualTo("1");
+        assertThat(initialBuild.getState()).isEqualTo("passed");
+
+        ticker.advance(Duration.ofSeconds(61));
+        var failedBuild = client.execute(query)
+                                .getLastBuild();
+        assertThat(failedBuild.getNumber()).isEqualTo("2");
+        assertThat(failedBuild.getState()).isEqualTo("failed");
+        assertThat(failedBuild.getPreviousState()).isEqualTo("passed");
+
+        ticker.advance(Duration.ofSeconds(60));
+        var unaffectedBuild = client.execute(query)
+                                    .getLastBuild();
+        assertThat(unaffectedBuild).isEqualTo(failedBuild);
+    }
+
+    @Test
+    @DisplayName("report no builds of an unknown repository")
+    void reportNoBuilds() {
+        server = FakeTravisServer.start(TravisScenario.fromResource("travis_scenario.json"));
+        var client = server.newClient();
+
+        var response = client.execute(BuildsQuery.forRepo(newSlug("org-1/repo-9")));
+        assertThat(response).isEqualTo(RepoBranchBuildResponse.getDefaultInstance());
+    }
+
+    @Test
+    @DisplayName("throttle requests")
+    void throttle() {
+        server = FakeTravisServer.start(TravisScenario.parse("{\"throttle_rate\": 1}"));
+        var client = server.newClient();
+        var query = ReposQuery.forOwner(newSlug("org-1"));
+
+        assertThrows(IllegalStateException.class, () -> client.execute(query));
+        assertThat(server.throttledRequests()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2021, TeamDev. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.chatbot.travis;
+
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.util.Key;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A scenario played by the {@link FakeTravisServer}.
+ *
+ * <p>The scenario is defined in JSON:
+ *
+ * <pre>{@code
+ * {
+ *   "organizations": 2,
+ *   "repositories": 50,
+ *   "latency": { "min_millis": 20, "max_millis": 120 },
+ *   "throttle_rate": 0.01,
+ *   "steps": [
+ *     { "at_seconds": 30, "state": "failed", "share": 0.1 },
+ *     { "at_seconds": 90, "state": "passed", "share": 0.1 }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * <p>The scenario serves {@code organizations} × {@code repositories} repositories named
+ * {@code org-<i>/repo-<j>}. At the start each repository has a single passed build. Once
+ * the step time comes, the given share of the repositories gets a new build in the step
+ * state. The response latency is distributed uniformly within the configured bounds.
+ * The configured share of the requests is throttled with the {@code 429} status.
+ */
+public final class TravisScenario extends GenericJson {
+
+    @Key
+    private int organizations = 1;
+
+    @Key
+    private int repositories = 1;
+
+    @Key
+    private Latency latency = new Latency();
+
+    @Key("throttle_rate")
+    private double throttleRate;
+
+    @Key
+    private List<Step> steps = ImmutableList.of();
+
+    /**
+     * Parses the scenario from the {@code json}.
+     */
+    public static TravisScenario parse(String json) {
+        checkNotNull(json);
+        try {
+            var scenario = GsonFactory.getDefaultInstance()
+                                      .fromString(json, TravisScenario.class);
+            scenario.check();
+            return scenario;
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to parse the Travis scenario.");
+        }
+    }
+
+    /**
+     * Loads the scenario from the file at the specified {@code path}.
+     */
+    public static TravisScenario load(Path path) {
+        checkNotNull(path);
+        try {
+            return parse(Files.readString(path));
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to read the Travis scenario `%s`.", path);
+        }
+    }
+
+    /**
+     * Loads the scenario from the classpath resource with the specified {@code name}.
+     */
+    public static TravisScenario fromResource(String name) {
+        checkNotNull(name);
+        try {
+            var resource = Resources.getResource(name);
+            return parse(Resources.toString(resource, UTF_8));
+        } catch (IOException e) {
+            throw newIllegalStateException(e, "Unable to read the Travis scenario `%s`.", name);
+        }
+    }
+
+    private void check() {
+        checkArgument(organizations > 0, "At least a single organization is required.");
+        checkArgument(repositories > 0, "At least a single repository is required.");
+        checkArgument(throttleRate >= 0 && throttleRate <= 1,
+                      "The throttle rate must be within [0, 1].");
+        checkArgument(latency.minMillis >= 0 && latency.minMillis <= latency.maxMillis,
+                      "The latency bounds are invalid.");
+        for (var step : steps) {
+            checkNotNull(step.state, "The step state is required.");
+            checkArgument(step.share >= 0 && step.share <= 1,
+                          "The step share must be within [0, 1].");
+        }
+    }
+
+    /**
+     * Returns the number of the organizations.
+     */
+    public int organizations() {
+        return organizations;
+    }
+
+    /**
+     * Returns the number of the repositories of each organization.
+     */
+    public int repositories() {
+        return repositories;
+    }
+
+    /**
+     * Returns the share of the requests to throttle.
+     */
+    double throttleRate() {
+        return throttleRate;
+    }
+
+    /**
+     * Returns the lowest response latency.
+     */
+    Duration minLatency() {
+        return Duration.ofMillis(latency.minMillis);
+    }
+
+    /**
+     * Returns the highest response latency.
+     */
+    Duration maxLatency() {
+        return Duration.ofMillis(latency.maxMillis);
+    }
+
+    /**
+     * Returns the build state transitions.
+     */
+    List<Step> steps() {
+        return steps;
+    }
+
+    /**
+     * The bounds of the response latency.
+     */
+    public static final class Latency extends GenericJson {
+
+        @Key("min_millis")
+        private long minMillis;
+
+        @Key("max_millis")
+        private long maxMillis;
+    }
+
+    /**
+     * A transition of the repository builds to a new state.
+     */
+    public static final class Step extends GenericJson {
+
+        @Key("at_seconds")
+        private long atSeconds;
+
+        @Key
+        private String state;
+
+        @Key
+        private double share = 1;
+
+        /**
+         * Returns the time since the scenario start when the step happens.
+         */
+        Duration at() {
+            return Duration.ofSeconds(atSeconds);
+        }
+
+        /**
+         * Returns the Travis state of the new builds.
+         */
+        String state() {
+            return state;
+        }
+
+        /**
+         * Returns the share of the repositories which get a new build.
+         */
+        double share() {
+            return share;
+        }
+    }
+}